@@ -0,0 +1,75 @@
+package com.zero.account.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zero.account.domain.Account;
+import com.zero.account.domain.AccountUser;
+import com.zero.account.dto.AccountDetail;
+import com.zero.account.type.AccountStatus;
+import com.zero.account.type.BalanceMode;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * GET /account/{id} 응답 직렬화 비교 : Account 엔티티(소유주, 감사 시각 포함) vs AccountDetail
+ * 응답 크기 차이는 할당량(-prof gc 의 gc.alloc.rate.norm)으로 확인
+ * (./gradlew jmh -PjmhInclude=AccountResponseBenchmark -PjmhProfilers=gc)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AccountResponseBenchmark {
+    // Spring MVC 와 같은 설정 (JavaTimeModule, 날짜는 ISO 문자열)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Account account;
+    private AccountDetail accountDetail;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        AccountUser accountUser = AccountUser.builder()
+            .id(1L)
+            .name("Proro")
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+        account = Account.builder()
+            .id(876L)
+            .accountUser(accountUser)
+            .accountNumber("1000000876")
+            .accountStatus(AccountStatus.IN_USE)
+            .balance(10000L)
+            .balanceMode(BalanceMode.STANDARD)
+            .version(3L)
+            .registeredAt(now)
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+        accountDetail = AccountDetail.builder()
+            .userId(1L)
+            .accountNumber("1000000876")
+            .accountStatus(AccountStatus.IN_USE)
+            .balance(10000L)
+            .registeredAt(now)
+            .build();
+    }
+
+    @Benchmark
+    public byte[] entity() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(account);
+    }
+
+    @Benchmark
+    public byte[] detail() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(accountDetail);
+    }
+}
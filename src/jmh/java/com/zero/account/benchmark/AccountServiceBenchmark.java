@@ -0,0 +1,93 @@
+package com.zero.account.benchmark;
+
+import com.zero.account.dto.AccountDto;
+import com.zero.account.service.AccountService;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 계좌 생성 / 사용자별 계좌 조회
+ * 계좌 생성은 사용자당 10 개 제한이 있어 사용자 풀을 돌아가며 쓰고, iteration 마다 비운다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AccountServiceBenchmark {
+    private static final long CREATE_USER_BASE = 2_000_000L;
+    private static final long CREATE_USERS = 200_000L;
+    private static final long READ_USER_BASE = 3_000_000L;
+    private static final int READ_USERS = 64;
+    private static final int ACCOUNTS_PER_READ_USER = 5;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private JdbcTemplate jdbcTemplate;
+    private final AtomicLong created = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        accountService = context.getBean(AccountService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        BenchmarkApplication.insertUsers(context,
+            CREATE_USER_BASE, CREATE_USER_BASE + CREATE_USERS - 1);
+        BenchmarkApplication.insertUsers(context,
+            READ_USER_BASE, READ_USER_BASE + READ_USERS - 1);
+        for (int user = 0; user < READ_USERS; user++) {
+            for (int i = 0; i < ACCOUNTS_PER_READ_USER; i++) {
+                accountService.creatAccount(READ_USER_BASE + user, 10_000L);
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearCreatedAccounts() {
+        jdbcTemplate.update("delete from account where account_user_id between ? and ?",
+            CREATE_USER_BASE, CREATE_USER_BASE + CREATE_USERS - 1);
+        created.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AccountDto creatAccount() {
+        long userId = CREATE_USER_BASE + (created.getAndIncrement() / 10) % CREATE_USERS;
+        return accountService.creatAccount(userId, 10_000L);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public AccountDto creatAccountContended() {
+        return creatAccount();
+    }
+
+    @Benchmark
+    public List<AccountDto> getAccountsbyUserId() {
+        return accountService.getAccountsbyUserId(
+            READ_USER_BASE + ThreadLocalRandom.current().nextInt(READ_USERS));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<AccountDto> getAccountsbyUserIdContended() {
+        return getAccountsbyUserId();
+    }
+}
@@ -0,0 +1,36 @@
+package com.zero.account.benchmark;
+
+import com.zero.account.AccountApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 벤치마크용 애플리케이션 기동 (in-process H2 + embedded Redis)
+ * 웹 서버 없이 서비스/컨트롤러 빈만 띄운다.
+ */
+final class BenchmarkApplication {
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(AccountApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties("logging.level.root=WARN",
+                "spring.jpa.show-sql=false",
+                "spring.h2.console.enabled=false")
+            .properties(properties)
+            .run();
+    }
+
+    /**
+     * id 가 from ~ to 인 사용자를 SQL 로 바로 넣는다.
+     * (사용자당 계좌 10 개 제한이 있어 계좌가 많은 시나리오는 사용자도 많이 필요)
+     */
+    static void insertUsers(ConfigurableApplicationContext context, long from, long to) {
+        context.getBean(JdbcTemplate.class).update(
+            "insert into account_user(id, name, created_at, updated_at)"
+                + " select x, 'bench', now(), now() from system_range(?, ?)", from, to);
+    }
+}
@@ -0,0 +1,123 @@
+package com.zero.account.benchmark;
+
+import com.zero.account.controller.TransactionController;
+import com.zero.account.dto.UseBalance;
+import com.zero.account.service.AccountService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 요청 실행 방식 비교 : platform thread 풀(Tomcat 기본 200) vs 요청마다 virtual thread
+ * 한 번에 hotRequests 건은 한 계좌(락 경합), coldRequests 건은 64 개 계좌로 보내고 모두 끝날 때까지 잰다.
+ * platform 풀은 hot 계좌 락을 기다리는 요청이 스레드를 붙잡아 나머지 요청이 뒤로 밀리고,
+ * virtual thread 는 락 대기 중에 carrier 를 놓으므로 다른 계좌 요청이 함께 진행된다.
+ * 락 대기 시간(account.lock.wait-time-ms)을 넘긴 요청은 failed 로 따로 센다.
+ * ./gradlew jmhSpring -PjmhInclude=ExecutionModeServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExecutionModeServiceBenchmark {
+    private static final long USER_BASE = 1_000_000L;
+    private static final int COLD_ACCOUNTS = 64;
+    private static final int PLATFORM_THREADS = 200;
+    private static final long AMOUNT = 10L;
+
+    public enum ExecutionMode {
+        PLATFORM, VIRTUAL
+    }
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public ExecutionMode mode;
+
+    @Param({"0", "100"})
+    public int hotRequests;
+
+    @Param({"200"})
+    public int coldRequests;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcome {
+        public long succeeded;
+        public long failed;
+    }
+
+    private ConfigurableApplicationContext context;
+    private TransactionController transactionController;
+    private ExecutorService executor;
+
+    private long[] userIds;
+    private String[] accountNumbers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        transactionController = context.getBean(TransactionController.class);
+        AccountService accountService = context.getBean(AccountService.class);
+
+        // 0 번이 hot 계좌
+        int accounts = COLD_ACCOUNTS + 1;
+        BenchmarkApplication.insertUsers(context, USER_BASE, USER_BASE + accounts - 1);
+        userIds = new long[accounts];
+        accountNumbers = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            userIds[i] = USER_BASE + i;
+            accountNumbers[i] = accountService
+                .creatAccount(userIds[i], Long.MAX_VALUE / 2).getAccountNumber();
+        }
+
+        executor = mode == ExecutionMode.VIRTUAL
+            ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bench-vt-", 0).factory())
+            : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public void requests(Outcome outcome) throws InterruptedException {
+        List<Future<UseBalance.Response>> responses = new ArrayList<>(hotRequests + coldRequests);
+        // hot 요청이 먼저 들어와 스레드를 차지한 상황
+        for (int i = 0; i < hotRequests; i++) {
+            responses.add(executor.submit(() -> useBalance(0)));
+        }
+        for (int i = 0; i < coldRequests; i++) {
+            int account = 1 + i % COLD_ACCOUNTS;
+            responses.add(executor.submit(() -> useBalance(account)));
+        }
+        for (Future<UseBalance.Response> response : responses) {
+            try {
+                response.get();
+                outcome.succeeded++;
+            } catch (ExecutionException e) {
+                outcome.failed++;
+            }
+        }
+    }
+
+    private UseBalance.Response useBalance(int account) {
+        return transactionController.useBalance(
+            new UseBalance.Request(userIds[account], accountNumbers[account], AMOUNT));
+    }
+}
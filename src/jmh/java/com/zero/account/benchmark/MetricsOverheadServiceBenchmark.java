@@ -0,0 +1,63 @@
+package com.zero.account.benchmark;
+
+import com.zero.account.dto.AccountDto;
+import com.zero.account.dto.UseBalance;
+import com.zero.account.service.AccountService;
+import com.zero.account.service.TransactionService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 메트릭 수집 비용
+ * metrics = false 면 서비스 타이머(account.service)와 저장소 타이머를 끄고 같은 useBalance 를 잰다.
+ * 기본 워밍업(3 x 10s)으로는 JIT 가 끝나지 않아 두 값 모두 계속 줄어든다. 비교할 때는
+ * org.openjdk.jmh.Main MetricsOverhead -f 2 -wi 12 -w 10s -i 6 -r 10s 처럼 충분히 워밍업한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MetricsOverheadServiceBenchmark {
+    private static final long USER_ID = 1_000_000L;
+    private static final long AMOUNT = 10L;
+
+    @Param({"true", "false"})
+    public boolean metrics;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private String accountNumber;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+            "account.metrics.service.enabled=" + metrics,
+            "management.metrics.data.repository.autotime.enabled=" + metrics);
+        transactionService = context.getBean(TransactionService.class);
+
+        BenchmarkApplication.insertUsers(context, USER_ID, USER_ID);
+        AccountDto account = context.getBean(AccountService.class)
+            .creatAccount(USER_ID, Long.MAX_VALUE / 2);
+        accountNumber = account.getAccountNumber();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UseBalance.Response useBalance() {
+        return UseBalance.Response.from(
+            transactionService.useBalance(USER_ID, accountNumber, AMOUNT));
+    }
+}
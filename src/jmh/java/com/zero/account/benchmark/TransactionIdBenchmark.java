@@ -0,0 +1,46 @@
+package com.zero.account.benchmark;
+
+import com.zero.account.service.TimeOrderedTransactionIdGenerator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * 거래 ID 발급 비교 : 기존 UUID 문자열 치환 vs 시간 순서 ID
+ * 할당량은 -prof gc 로 확인 (./gradlew jmh -PjmhInclude=TransactionIdBenchmark -PjmhProfilers=gc)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransactionIdBenchmark {
+    private final TimeOrderedTransactionIdGenerator generator =
+        new TimeOrderedTransactionIdGenerator(1);
+
+    @Benchmark
+    public String uuidReplace() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    @Benchmark
+    public String timeOrdered() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String uuidReplaceContended() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String timeOrderedContended() {
+        return generator.nextId();
+    }
+}
@@ -0,0 +1,101 @@
+package com.zero.account.benchmark;
+
+import com.zero.account.controller.TransactionController;
+import com.zero.account.dto.AccountDto;
+import com.zero.account.dto.CancelBalance;
+import com.zero.account.dto.UseBalance;
+import com.zero.account.service.AccountService;
+import com.zero.account.service.TransactionService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 잔액 사용/취소
+ * 컨트롤러 빈을 호출하므로 계좌 락(@AccountLock)까지 포함한 경로를 잰다.
+ * accounts = 1 이면 모든 스레드가 한 계좌에 몰리고, 64 면 계좌가 흩어진다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TransactionServiceBenchmark {
+    private static final long USER_BASE = 1_000_000L;
+    private static final long AMOUNT = 10L;
+
+    @Param({"1", "64"})
+    public int accounts;
+
+    private ConfigurableApplicationContext context;
+    private TransactionController transactionController;
+
+    private long[] userIds;
+    private String[] accountNumbers;
+    // 계좌마다 취소할 사용 거래 (취소는 같은 금액을 다시 더하므로 반복해도 잔액이 줄지 않는다)
+    private String[] cancelTransactionIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        transactionController = context.getBean(TransactionController.class);
+        AccountService accountService = context.getBean(AccountService.class);
+        TransactionService transactionService = context.getBean(TransactionService.class);
+
+        BenchmarkApplication.insertUsers(context, USER_BASE, USER_BASE + accounts - 1);
+        userIds = new long[accounts];
+        accountNumbers = new String[accounts];
+        cancelTransactionIds = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            userIds[i] = USER_BASE + i;
+            AccountDto account = accountService.creatAccount(userIds[i], Long.MAX_VALUE / 2);
+            accountNumbers[i] = account.getAccountNumber();
+            cancelTransactionIds[i] = transactionService
+                .useBalance(userIds[i], accountNumbers[i], AMOUNT).getTransactionId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private int pick() {
+        return accounts == 1 ? 0 : ThreadLocalRandom.current().nextInt(accounts);
+    }
+
+    @Benchmark
+    public UseBalance.Response useBalance() {
+        int i = pick();
+        return transactionController.useBalance(
+            new UseBalance.Request(userIds[i], accountNumbers[i], AMOUNT));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UseBalance.Response useBalanceContended() {
+        return useBalance();
+    }
+
+    @Benchmark
+    public CancelBalance.Response cancelBalance() {
+        int i = pick();
+        return transactionController.cancelBalance(
+            new CancelBalance.Request(cancelTransactionIds[i], accountNumbers[i], AMOUNT));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public CancelBalance.Response cancelBalanceContended() {
+        return cancelBalance();
+    }
+}
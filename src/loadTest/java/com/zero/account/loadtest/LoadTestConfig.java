@@ -0,0 +1,41 @@
+package com.zero.account.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * 부하 테스트 설정 (system property 로 지정)
+ * loadtest.mix 는 "endpoint=비중" 목록 (예 : use=60,cancel=10,create=10,list=20)
+ */
+@Getter
+public class LoadTestConfig {
+    private final int rps = Integer.getInteger("loadtest.rps", 200);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 5);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+    private final int accounts = Integer.getInteger("loadtest.accounts", 100);
+    private final int maxInFlight = Integer.getInteger("loadtest.max-in-flight", 2_000);
+    private final String report = System.getProperty("loadtest.report",
+        "build/reports/loadtest/report.json");
+    private final String baseline = System.getProperty("loadtest.baseline", "");
+    private final Map<Endpoint, Integer> mix =
+        parseMix(System.getProperty("loadtest.mix", "use=60,cancel=10,create=10,list=20"));
+
+    public long totalRequests() {
+        return (long) rps * (warmupSeconds + durationSeconds);
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split("=");
+            weights.put(Endpoint.valueOf(pair[0].trim().toUpperCase()),
+                Integer.valueOf(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    public enum Endpoint {
+        CREATE, USE, CANCEL, LIST
+    }
+}
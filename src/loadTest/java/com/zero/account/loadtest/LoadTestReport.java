@@ -0,0 +1,122 @@
+package com.zero.account.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zero.account.loadtest.LoadTestConfig.Endpoint;
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.HdrHistogram.Histogram;
+
+/**
+ * 부하 테스트 결과
+ * JSON 으로 저장하고, 이전 결과(baseline)와 비교할 수 있다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadTestReport {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+        .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private String finishedAt;
+    private int targetRps;
+    private int durationSeconds;
+    private double achievedRps;
+    private Map<String, EndpointResult> endpoints;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EndpointResult {
+        private long count;
+        private long errors;
+        private long dropped;
+        private double throughput;
+        private double p50Ms;
+        private double p99Ms;
+        private double p999Ms;
+        private double maxMs;
+
+        static EndpointResult of(EndpointStats stats, double elapsedSeconds) {
+            Histogram histogram = stats.histogram();
+            return new EndpointResult(
+                histogram.getTotalCount(),
+                stats.errors(),
+                stats.dropped(),
+                histogram.getTotalCount() / elapsedSeconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+        }
+    }
+
+    static LoadTestReport of(
+        LoadTestConfig config,
+        Map<Endpoint, EndpointStats> stats,
+        double elapsedSeconds
+    ) {
+        Map<String, EndpointResult> endpoints = new LinkedHashMap<>();
+        stats.forEach((endpoint, endpointStats) -> endpoints.put(
+            endpoint.name().toLowerCase(), EndpointResult.of(endpointStats, elapsedSeconds)));
+        double achievedRps = endpoints.values().stream()
+            .mapToDouble(EndpointResult::getThroughput).sum();
+        return new LoadTestReport(LocalDateTime.now().toString(), config.getRps(),
+            config.getDurationSeconds(), achievedRps, endpoints);
+    }
+
+    static LoadTestReport read(String path) throws IOException {
+        return OBJECT_MAPPER.readValue(new File(path), LoadTestReport.class);
+    }
+
+    void write(String path) throws IOException {
+        File file = new File(path);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        OBJECT_MAPPER.writeValue(file, this);
+        System.out.println("report : " + file.getAbsolutePath());
+    }
+
+    void print() {
+        System.out.printf("target %d rps, achieved %.1f rps over %d s%n",
+            targetRps, achievedRps, durationSeconds);
+        System.out.printf("%-8s %8s %7s %7s %10s %9s %9s %9s %9s%n",
+            "endpoint", "count", "errors", "dropped", "rps", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        endpoints.forEach((name, result) -> System.out.printf(
+            "%-8s %8d %7d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+            name, result.getCount(), result.getErrors(), result.getDropped(),
+            result.getThroughput(), result.getP50Ms(), result.getP99Ms(),
+            result.getP999Ms(), result.getMaxMs()));
+    }
+
+    /**
+     * baseline 대비 처리량과 p99 변화율
+     */
+    void compare(LoadTestReport baseline) {
+        System.out.printf("compared with baseline (%s)%n", baseline.getFinishedAt());
+        System.out.printf("%-8s %12s %12s%n", "endpoint", "rps", "p99");
+        endpoints.forEach((name, result) -> {
+            EndpointResult before = baseline.getEndpoints().get(name);
+            if (before == null) {
+                return;
+            }
+            System.out.printf("%-8s %+11.1f%% %+11.1f%%%n", name,
+                change(before.getThroughput(), result.getThroughput()),
+                change(before.getP99Ms(), result.getP99Ms()));
+        });
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+}
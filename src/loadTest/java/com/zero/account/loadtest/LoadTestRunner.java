@@ -0,0 +1,238 @@
+package com.zero.account.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zero.account.AccountApplication;
+import com.zero.account.loadtest.LoadTestConfig.Endpoint;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * HTTP 부하 테스트
+ * 1. 임의 포트로 애플리케이션을 띄우고 사용자/계좌를 준비
+ * 2. 목표 RPS 로 요청을 일정 간격에 보냄 (응답을 기다리지 않는 open-loop)
+ * 3. 워밍업 이후 구간의 endpoint 별 지연 시간 분포와 처리량을 리포트 파일로 저장
+ * ./gradlew loadTest [-Dloadtest.rps=500 -Dloadtest.duration-seconds=60 ...]
+ */
+@Slf4j
+public class LoadTestRunner {
+    private static final long AMOUNT = 100L;
+    // 계좌 생성용 사용자는 사용자당 계좌 10 개 제한 때문에 따로 둔다.
+    private static final long ACCOUNT_USER_BASE = 1_000_000L;
+    private static final long CREATE_USER_BASE = 2_000_000L;
+    private static final int ACCOUNTS_PER_USER = 10;
+
+    private final LoadTestConfig config;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final List<String> accountNumbers = new ArrayList<>();
+    // 성공한 사용 거래 : 취소 요청에 쓴다.
+    private final BlockingQueue<String[]> cancelable = new ArrayBlockingQueue<>(10_000);
+    private final AtomicLong created = new AtomicLong();
+    private final Semaphore inFlight;
+
+    LoadTestRunner(LoadTestConfig config, HttpClient httpClient, int port) {
+        this.config = config;
+        this.httpClient = httpClient;
+        this.baseUrl = "http://localhost:" + port;
+        this.inFlight = new Semaphore(config.getMaxInFlight());
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AccountApplication.class)
+            .properties("server.port=0", "logging.level.root=WARN", "spring.jpa.show-sql=false")
+            .run(args);
+        ExecutorService executor = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors() * 2);
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient httpClient = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+
+            LoadTestRunner runner = new LoadTestRunner(config, httpClient, port);
+            runner.seed(context.getBean(JdbcTemplate.class));
+            LoadTestReport report = runner.run();
+            report.print();
+            report.write(config.getReport());
+            if (!config.getBaseline().isEmpty()) {
+                report.compare(LoadTestReport.read(config.getBaseline()));
+            }
+        } finally {
+            executor.shutdownNow();
+            context.close();
+        }
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) throws Exception {
+        long createUsers = config.totalRequests() / ACCOUNTS_PER_USER + 1;
+        jdbcTemplate.update("insert into account_user(id, name, created_at, updated_at)"
+                + " select x, 'loadtest', now(), now() from system_range(?, ?)",
+            ACCOUNT_USER_BASE, ACCOUNT_USER_BASE + config.getAccounts() - 1);
+        jdbcTemplate.update("insert into account_user(id, name, created_at, updated_at)"
+                + " select x, 'loadtest', now(), now() from system_range(?, ?)",
+            CREATE_USER_BASE, CREATE_USER_BASE + createUsers - 1);
+
+        for (int i = 0; i < config.getAccounts(); i++) {
+            HttpResponse<String> response = httpClient.send(
+                createRequest(ACCOUNT_USER_BASE + i, 1_000_000_000_000L),
+                HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("account seed failed : " + response.body());
+            }
+            accountNumbers.add(objectMapper.readTree(response.body())
+                .get("accountNumber").asText());
+        }
+        log.warn("Seeded {} accounts, {} users for create", accountNumbers.size(), createUsers);
+    }
+
+    private LoadTestReport run() {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.getRps();
+        long startedAt = System.nanoTime();
+        long measureFrom = startedAt + TimeUnit.SECONDS.toNanos(config.getWarmupSeconds());
+        long total = config.totalRequests();
+
+        for (long i = 0; i < total; i++) {
+            long intendedStart = startedAt + i * intervalNanos;
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // 워밍업 구간 요청은 보내기만 하고 기록하지 않는다.
+            boolean measured = intendedStart >= measureFrom;
+
+            Endpoint endpoint = pickEndpoint();
+            String[] cancelTarget = null;
+            if (endpoint == Endpoint.CANCEL) {
+                cancelTarget = cancelable.poll();
+                // 취소할 거래가 아직 없으면 사용으로 보내고 사용으로 기록
+                if (cancelTarget == null) {
+                    endpoint = Endpoint.USE;
+                }
+            }
+            EndpointStats endpointStats = stats.get(endpoint);
+            if (!inFlight.tryAcquire()) {
+                // 서버가 따라오지 못해 대기 요청이 쌓인 경우
+                if (measured) {
+                    endpointStats.drop();
+                }
+                if (cancelTarget != null) {
+                    cancelable.offer(cancelTarget);
+                }
+                continue;
+            }
+            Endpoint sent = endpoint;
+            send(endpoint, cancelTarget).whenComplete((response, error) -> {
+                inFlight.release();
+                boolean success = error == null && response.statusCode() == 200;
+                if (measured) {
+                    endpointStats.record(System.nanoTime() - intendedStart, success);
+                }
+                if (success && sent == Endpoint.USE) {
+                    rememberForCancel(response.body());
+                }
+            });
+        }
+        // 남은 요청 완료 대기
+        inFlight.acquireUninterruptibly(config.getMaxInFlight());
+        double elapsedSeconds = (System.nanoTime() - measureFrom) / 1e9;
+        return LoadTestReport.of(config, stats, elapsedSeconds);
+    }
+
+    private Endpoint pickEndpoint() {
+        int totalWeight = config.getMix().values().stream().mapToInt(Integer::intValue).sum();
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Endpoint, Integer> entry : config.getMix().entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("empty mix");
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(Endpoint endpoint, String[] cancelTarget) {
+        int index = ThreadLocalRandom.current().nextInt(accountNumbers.size());
+        HttpRequest request;
+        switch (endpoint) {
+            case CREATE:
+                long userId = CREATE_USER_BASE + created.getAndIncrement() / ACCOUNTS_PER_USER;
+                request = createRequest(userId, 10_000L);
+                break;
+            case CANCEL:
+                request = post("/transaction/cancel", String.format(
+                    "{\"transactionId\":\"%s\",\"accountNumber\":\"%s\",\"amount\":%d}",
+                    cancelTarget[0], cancelTarget[1], AMOUNT));
+                break;
+            case LIST:
+                request = HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/account?user_id=" + (ACCOUNT_USER_BASE + index)))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET().build();
+                break;
+            default:
+                request = useRequest(index);
+        }
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest useRequest(int index) {
+        return post("/transaction/use", String.format(
+            "{\"userId\":%d,\"accountNumber\":\"%s\",\"amount\":%d}",
+            ACCOUNT_USER_BASE + index, accountNumbers.get(index), AMOUNT));
+    }
+
+    private HttpRequest createRequest(long userId, long initialBalance) {
+        return post("/account", String.format(
+            "{\"userId\":%d,\"initialBalance\":%d}", userId, initialBalance));
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private void rememberForCancel(String body) {
+        try {
+            JsonNode node = objectMapper.readTree(body);
+            cancelable.offer(new String[]{
+                node.get("transactionId").asText(), node.get("accountNumber").asText()});
+        } catch (Exception e) {
+            log.warn("Unexpected use response : {}", body);
+        }
+    }
+}
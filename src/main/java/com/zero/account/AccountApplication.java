@@ -2,8 +2,11 @@ package com.zero.account;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+// R2DBC 는 잔액 사용/취소 reactive 경로에서만 쓴다. (ReactiveTransactionConfig)
+// 기본 ConnectionFactory 가 생기면 R2dbcTransactionManager 가 JPA transactionManager 대신 등록된다.
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class AccountApplication {
 
 	public static void main(String[] args) {
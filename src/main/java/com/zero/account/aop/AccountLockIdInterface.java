@@ -0,0 +1,5 @@
+package com.zero.account.aop;
+
+public interface AccountLockIdInterface {
+    String getAccountNumber();
+}
@@ -0,0 +1,54 @@
+package com.zero.account.aop;
+
+import com.zero.account.service.IdempotencyKeyStore;
+import javax.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Idempotency-Key 헤더가 있는 요청의 중복 실행 방지 (IdempotencyKeyStore)
+ * 계좌 락(LockAopAspect, 순서 미지정) 바깥에서 실행 : 중복 요청은 계좌 락을 기다리지 않고
+ * 첫 요청의 결과를 기다리며, 결과는 커밋/락 해제 이후에 저장된다.
+ */
+@Aspect
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class IdempotencyAspect {
+    private final IdempotencyKeyStore idempotencyKeyStore;
+
+    @Around("@annotation(com.zero.account.aop.Idempotent) && args(request)")
+    public Object aroundMethod(
+        ProceedingJoinPoint pjp,
+        AccountLockIdInterface request
+    ) throws Throwable {
+        String idempotencyKey = currentIdempotencyKey();
+        if (idempotencyKey == null) {
+            return pjp.proceed();
+        }
+        MethodSignature signature = (MethodSignature) pjp.getSignature();
+        return idempotencyKeyStore.execute(
+            IdempotencyKeyStore.scopedKey(
+                signature.getName(), request.getAccountNumber(), idempotencyKey),
+            idempotencyKeyStore.fingerprint(request),
+            signature.getReturnType(),
+            pjp::proceed);
+    }
+
+    private static String currentIdempotencyKey() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+        return request.getHeader(IdempotencyKeyStore.HEADER);
+    }
+}
@@ -0,0 +1,19 @@
+package com.zero.account.aop;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Idempotency-Key 헤더가 있으면 같은 키의 요청은 한 번만 실행하고 첫 응답을 돌려준다.
+ * 메서드 인자 중 {@link AccountLockIdInterface} 의 계좌 번호 안에서 키를 구분한다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface Idempotent {
+}
@@ -0,0 +1,107 @@
+package com.zero.account.aop;
+
+import com.zero.account.service.AccountHotnessTracker;
+import com.zero.account.service.BalanceSlotService;
+import com.zero.account.service.LockService;
+import com.zero.account.type.ConcurrencyMode;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * 계좌 단위 동시성 제어
+ * LOCK : 항상 계좌 락을 잡고 실행
+ * OPTIMISTIC : 락 없이 실행하고, 버전 충돌 시 jitter backoff 로 재시도
+ *              충돌이 잦은(hot) 계좌이거나 재시도를 모두 소진하면 락을 잡고 실행
+ * slot 계좌는 slot 단위 조건부 UPDATE 로 정합성을 지키므로 계좌 락을 잡지 않는다.
+ */
+@Slf4j
+@Aspect
+@Component
+public class LockAopAspect {
+    private final LockService lockService;
+    private final AccountHotnessTracker accountHotnessTracker;
+    private final BalanceSlotService balanceSlotService;
+    private final ConcurrencyMode concurrencyMode;
+    private final int maxAttempts;
+    private final long backoffMs;
+
+    public LockAopAspect(
+        LockService lockService,
+        AccountHotnessTracker accountHotnessTracker,
+        BalanceSlotService balanceSlotService,
+        @Value("${account.concurrency.mode:LOCK}") ConcurrencyMode concurrencyMode,
+        @Value("${account.concurrency.optimistic.max-attempts:3}") int maxAttempts,
+        @Value("${account.concurrency.optimistic.backoff-ms:10}") long backoffMs
+    ) {
+        this.lockService = lockService;
+        this.accountHotnessTracker = accountHotnessTracker;
+        this.balanceSlotService = balanceSlotService;
+        this.concurrencyMode = concurrencyMode;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+    }
+
+    @Around("@annotation(com.zero.account.aop.AccountLock) && args(request)")
+    public Object aroundMethod(
+        ProceedingJoinPoint pjp,
+        AccountLockIdInterface request
+    ) throws Throwable {
+        String accountNumber = request.getAccountNumber();
+        if (balanceSlotService.isSlotted(accountNumber)) {
+            return pjp.proceed();
+        }
+        if (concurrencyMode == ConcurrencyMode.OPTIMISTIC
+            && !accountHotnessTracker.isHot(accountNumber)) {
+            return proceedOptimistic(pjp, accountNumber);
+        }
+        return proceedWithLock(pjp, accountNumber);
+    }
+
+    private Object proceedOptimistic(
+        ProceedingJoinPoint pjp,
+        String accountNumber
+    ) throws Throwable {
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            try {
+                Object result = pjp.proceed();
+                accountHotnessTracker.record(accountNumber, attempt);
+                return result;
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                log.debug("optimistic lock conflict : {} (attempt {})", accountNumber, attempt + 1);
+                backoff(attempt);
+            }
+        }
+        // 재시도 소진 : 충돌로 기록하고 마지막 한 번은 락을 잡고 실행
+        accountHotnessTracker.record(accountNumber, maxAttempts);
+        return proceedWithLock(pjp, accountNumber);
+    }
+
+    private Object proceedWithLock(
+        ProceedingJoinPoint pjp,
+        String accountNumber
+    ) throws Throwable {
+        // 락 취득 시도 (트랜잭션 바깥에서 잡고, 커밋 이후에 해제)
+        lockService.lock(accountNumber);
+        try {
+            return pjp.proceed();
+        } finally {
+            // 성공, 실패 상관없이 락 해제
+            lockService.unlock(accountNumber);
+        }
+    }
+
+    private void backoff(int attempt) throws InterruptedException {
+        long ceiling = backoffMs << attempt;
+        if (ceiling > 0) {
+            // full jitter : 같은 계좌에 몰린 재시도가 다시 동시에 부딪히지 않도록 분산
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.zero.account.aop;
+
+import com.zero.account.exception.AccountException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * 서비스 메서드 실행 시간
+ * account.service{class, method, outcome} : outcome 은 SUCCESS, ErrorCode 이름, 또는 예외 클래스 이름
+ * (ErrorCode 별 건수는 outcome 태그의 count 로 본다)
+ * Mono 를 돌려주는 메서드는 구독부터 종료까지를 잰다. (취소는 outcome CANCELLED)
+ * 요청마다 태그를 만들지 않도록 Timer 는 메서드/outcome 별로 캐시한다.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "account.metrics.service.enabled", matchIfMissing = true)
+public class ServiceMetricsAspect {
+    static final String METRIC_NAME = "account.service";
+    private static final String SUCCESS = "SUCCESS";
+    private static final String CANCELLED = "CANCELLED";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<Method, ConcurrentHashMap<String, Timer>> timers =
+        new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * *(..)) && @within(org.springframework.stereotype.Service)")
+    public Object record(ProceedingJoinPoint pjp) throws Throwable {
+        long startedAt = System.nanoTime();
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        Object result;
+        try {
+            result = pjp.proceed();
+        } catch (Throwable e) {
+            timer(method, outcome(e)).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        if (result instanceof Mono) {
+            return recordOnTermination(method, (Mono<?>) result);
+        }
+        timer(method, SUCCESS).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    private Mono<?> recordOnTermination(Method method, Mono<?> mono) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            AtomicReference<String> outcome = new AtomicReference<>(SUCCESS);
+            return mono
+                .doOnError(e -> outcome.set(outcome(e)))
+                .doFinally(signal -> timer(method,
+                    signal == SignalType.CANCEL ? CANCELLED : outcome.get())
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private static String outcome(Throwable e) {
+        if (e instanceof AccountException && ((AccountException) e).getErrorCode() != null) {
+            return ((AccountException) e).getErrorCode().name();
+        }
+        return e.getClass().getSimpleName();
+    }
+
+    private Timer timer(Method method, String outcome) {
+        return timers.computeIfAbsent(method, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(outcome, key -> Timer.builder(METRIC_NAME)
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,69 @@
+package com.zero.account.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Arrays;
+import org.redisson.api.RedissonClient;
+import org.redisson.codec.JsonJacksonCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 캐시
+ * accountUser : 로컬(Caffeine) 캐시
+ * accountsByUser : 로컬 + Redis 2 단 캐시, put/evict 는 커밋 이후에 반영
+ * 캐시마다 크기/TTL 을 따로 두고, hit/miss 는 cache.gets 메트릭으로 본다. (recordStats)
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String ACCOUNT_USER = "accountUser";
+    public static final String ACCOUNTS_BY_USER = "accountsByUser";
+
+    @Bean
+    public CacheManager cacheManager(
+        RedissonClient redissonClient,
+        ObjectMapper objectMapper,
+        @Value("${account.cache.account-user.maximum-size:10000}") long accountUserMaximumSize,
+        @Value("${account.cache.account-user.ttl-seconds:600}") long accountUserTtlSeconds,
+        @Value("${account.cache.accounts-by-user.maximum-size:10000}") long accountsMaximumSize,
+        @Value("${account.cache.accounts-by-user.local-ttl-seconds:10}") long accountsLocalTtlSeconds,
+        @Value("${account.cache.accounts-by-user.remote-ttl-seconds:60}") long accountsRemoteTtlSeconds
+    ) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(Arrays.asList(
+            new CaffeineCache(ACCOUNT_USER, Caffeine.newBuilder()
+                .maximumSize(accountUserMaximumSize)
+                .expireAfterWrite(Duration.ofSeconds(accountUserTtlSeconds))
+                .recordStats()
+                .build()),
+            new TransactionAwareCacheDecorator(new TwoLevelCache(ACCOUNTS_BY_USER,
+                Caffeine.newBuilder()
+                    .maximumSize(accountsMaximumSize)
+                    .expireAfterWrite(Duration.ofSeconds(accountsLocalTtlSeconds))
+                    .recordStats()
+                    .build(),
+                // LocalDateTime 등을 Spring 과 같은 방식으로 직렬화
+                redissonClient, new JsonJacksonCodec(objectMapper), accountsRemoteTtlSeconds))
+        ));
+        return cacheManager;
+    }
+
+    /**
+     * 2 단 캐시의 메트릭은 로컬 캐시 기준 (cache.gets{cache=accountsByUser})
+     */
+    @Bean
+    public CacheMeterBinderProvider<TwoLevelCache> twoLevelCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics(
+            cache.getLocalCache(), cache.getName(), tags);
+    }
+}
@@ -0,0 +1,63 @@
+package com.zero.account.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * primary / replica DataSource 분리 (account.datasource.routing.enabled=true 일 때만)
+ * 1. 커넥션 풀은 route 별로 따로 둔다. (hikaricp.connections{pool=primary|replica})
+ * 2. 트랜잭션 시작 시점에는 readOnly 여부가 아직 정해지지 않았으므로,
+ *    LazyConnectionDataSourceProxy 로 첫 SQL 실행 때 route 를 고르게 한다.
+ * 3. replica 지연은 ReplicaLagMonitor 가 재고, 기준을 넘으면 primary 에서 읽는다.
+ * 지표(route 별 요청 수, replica 지연)는 MeterBinder 로 등록한다.
+ * (MeterRegistry 를 주입받으면 커넥션 풀 지표가 DataSource 를 다시 찾으면서 순환 참조가 된다)
+ */
+@Configuration
+@ConditionalOnProperty(name = "account.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+    @Bean
+    @ConfigurationProperties("account.datasource.primary")
+    public HikariDataSource primaryDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("account.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+        @Value("${account.datasource.routing.max-replica-lag-ms:1000}") long maxReplicaLagMs
+    ) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, maxReplicaLagMs);
+    }
+
+    @Bean
+    public ReadOnlyRoutingDataSource routingDataSource(
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+        ReplicaLagMonitor replicaLagMonitor
+    ) {
+        return new ReadOnlyRoutingDataSource(
+            primaryDataSource, replicaDataSource, replicaLagMonitor::isReplicaUsable);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadOnlyRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
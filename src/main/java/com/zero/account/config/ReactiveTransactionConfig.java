@@ -0,0 +1,133 @@
+package com.zero.account.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zero.account.controller.ReactiveTransactionHandler;
+import com.zero.account.repository.reactive.ReactiveAccountRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * 잔액 사용/취소의 non-blocking 경로 (account.reactive.enabled=true 일 때만)
+ * 1. 앱은 servlet(Tomcat) 으로 뜨므로 Netty 서버를 account.reactive.port 에 따로 띄우고
+ *    /transaction/use, /transaction/cancel 을 적은 수의 event loop 스레드로 처리한다.
+ * 2. R2DBC 는 JDBC 와 같은 DB 를 쓴다. (url 을 비우면 DataSource 의 H2 메모리 DB)
+ * 3. ConnectionFactory, R2dbcTransactionManager 는 bean 으로 등록하지 않는다.
+ *    (bean 이 있으면 JPA transactionManager, SQL 초기화가 R2DBC 쪽으로 바뀐다)
+ */
+@Configuration
+@ConditionalOnProperty(name = "account.reactive.enabled", havingValue = "true")
+@EnableR2dbcRepositories(
+    basePackageClasses = ReactiveAccountRepository.class,
+    entityOperationsRef = "reactiveEntityTemplate")
+public class ReactiveTransactionConfig {
+    private static final String H2_MEM_PREFIX = "jdbc:h2:mem:";
+
+    private final ConnectionPool connectionPool;
+
+    public ReactiveTransactionConfig(
+        DataSource dataSource,
+        @Value("${account.reactive.r2dbc.url:}") String url,
+        @Value("${account.reactive.r2dbc.username:sa}") String username,
+        @Value("${account.reactive.r2dbc.password:}") String password,
+        @Value("${account.reactive.r2dbc.pool-size:20}") int poolSize
+    ) throws SQLException {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions
+            .parse(StringUtils.hasText(url) ? url : h2MemoryUrl(dataSource))
+            .mutate()
+            .option(ConnectionFactoryOptions.USER, username)
+            .option(ConnectionFactoryOptions.PASSWORD, password)
+            .build();
+        this.connectionPool = new ConnectionPool(
+            ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(poolSize)
+                .build());
+    }
+
+    @PreDestroy
+    public void close() {
+        connectionPool.dispose();
+    }
+
+    @Bean
+    public R2dbcEntityTemplate reactiveEntityTemplate() {
+        return new R2dbcEntityTemplate(connectionPool);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+    }
+
+    @Bean
+    public LoopResources reactiveLoopResources(
+        @Value("${account.reactive.event-loop-threads:4}") int eventLoopThreads
+    ) {
+        return LoopResources.create("reactive-http", eventLoopThreads, true);
+    }
+
+    @Bean(destroyMethod = "disposeNow")
+    public DisposableServer reactiveTransactionServer(
+        ReactiveTransactionHandler reactiveTransactionHandler,
+        ObjectMapper objectMapper,
+        LoopResources reactiveLoopResources,
+        @Value("${account.reactive.port:8081}") int port
+    ) {
+        RouterFunction<ServerResponse> router = RouterFunctions.route()
+            .POST("/transaction/use", reactiveTransactionHandler::useBalance)
+            .POST("/transaction/cancel", reactiveTransactionHandler::cancelBalance)
+            .build();
+        // MVC 와 같은 ObjectMapper 로 요청/응답을 변환
+        HandlerStrategies strategies = HandlerStrategies.builder()
+            .codecs(codecs -> {
+                codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+            })
+            .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(router, strategies);
+
+        return HttpServer.create()
+            .runOn(reactiveLoopResources)
+            .port(port)
+            .handle(new ReactorHttpHandlerAdapter(httpHandler))
+            .bindNow();
+    }
+
+    private static String h2MemoryUrl(DataSource dataSource) throws SQLException {
+        String jdbcUrl;
+        try (Connection connection = dataSource.getConnection()) {
+            jdbcUrl = connection.getMetaData().getURL();
+        }
+        if (!jdbcUrl.startsWith(H2_MEM_PREFIX)) {
+            throw new IllegalStateException(
+                "account.reactive.r2dbc.url is required for " + jdbcUrl);
+        }
+        String database = jdbcUrl.substring(H2_MEM_PREFIX.length()).split(";")[0];
+        return "r2dbc:h2:mem:///" + database;
+    }
+}
@@ -0,0 +1,68 @@
+package com.zero.account.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 replica, 나머지는 primary
+ * replica 를 쓸 수 없으면 (지연 초과) 읽기 전용이라도 primary 로 보낸다.
+ * route 별 커넥션 요청 수 : account.datasource.route{route=primary|replica|fallback}
+ */
+public class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder {
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final BooleanSupplier replicaUsable;
+    private final LongAdder primaryCount = new LongAdder();
+    private final LongAdder replicaCount = new LongAdder();
+    private final LongAdder fallbackCount = new LongAdder();
+
+    public ReadOnlyRoutingDataSource(
+        DataSource primary,
+        DataSource replica,
+        BooleanSupplier replicaUsable
+    ) {
+        this.replicaUsable = replicaUsable;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Route.PRIMARY, primary);
+        targets.put(Route.REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        routeCounter(meterRegistry, "primary", primaryCount);
+        routeCounter(meterRegistry, "replica", replicaCount);
+        routeCounter(meterRegistry, "fallback", fallbackCount);
+    }
+
+    private static void routeCounter(MeterRegistry meterRegistry, String route, LongAdder count) {
+        FunctionCounter.builder("account.datasource.route", count, LongAdder::doubleValue)
+            .tag("route", route)
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryCount.increment();
+            return Route.PRIMARY;
+        }
+        if (replicaUsable.getAsBoolean()) {
+            replicaCount.increment();
+            return Route.REPLICA;
+        }
+        fallbackCount.increment();
+        return Route.PRIMARY;
+    }
+}
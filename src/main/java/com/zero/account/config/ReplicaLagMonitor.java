@@ -0,0 +1,84 @@
+package com.zero.account.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * replica 지연 측정 (heartbeat)
+ * primary 의 replica_heartbeat 에 현재 시각을 쓰고, replica 에 복제된 값과의 차이를 지연으로 본다.
+ * replica 를 읽을 수 없으면(테이블 없음, 연결 실패) 지연을 알 수 없는 것으로 보고 사용하지 않는다.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements MeterBinder {
+    static final long UNKNOWN = Long.MAX_VALUE;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMs;
+
+    private volatile long lagMs = UNKNOWN;
+
+    public ReplicaLagMonitor(
+        DataSource primary,
+        DataSource replica,
+        long maxLagMs
+    ) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMs = maxLagMs;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("account.datasource.replica.lag", this,
+                monitor -> monitor.lagMs == UNKNOWN ? Double.NaN : monitor.lagMs)
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        primary.execute("create table if not exists replica_heartbeat"
+            + " (id int primary key, beat_at bigint not null)");
+        beat();
+    }
+
+    @Scheduled(fixedDelayString = "${account.datasource.routing.heartbeat-interval-ms:500}")
+    public void beat() {
+        long now = System.currentTimeMillis();
+        try {
+            if (primary.update("update replica_heartbeat set beat_at = ? where id = 1", now) == 0) {
+                primary.update("insert into replica_heartbeat (id, beat_at) values (1, ?)", now);
+            }
+        } catch (DataAccessException e) {
+            log.warn("replica heartbeat write failed", e);
+        }
+        measure();
+    }
+
+    void measure() {
+        try {
+            Long beatAt = replica.queryForObject(
+                "select beat_at from replica_heartbeat where id = 1", Long.class);
+            lagMs = beatAt == null ? UNKNOWN : Math.max(0, System.currentTimeMillis() - beatAt);
+        } catch (DataAccessException e) {
+            log.debug("replica heartbeat read failed : {}", e.getMessage());
+            lagMs = UNKNOWN;
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return lagMs <= maxLagMs;
+    }
+
+    public long getLagMs() {
+        return lagMs;
+    }
+}
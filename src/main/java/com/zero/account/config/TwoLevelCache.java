@@ -0,0 +1,218 @@
+package com.zero.account.config;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+/**
+ * 로컬(Caffeine) + Redis 2 단 캐시
+ * 1. 로컬에 없으면 Redis, Redis 에도 없으면 원본을 읽어 두 곳에 넣는다.
+ *    로컬 캐시의 compute 로 읽기 때문에 같은 키의 동시 miss 는 한 번만 원본을 읽는다. (single-flight)
+ * 2. 값이 바뀌면(put/evict/clear) Redis topic 으로 알려 다른 노드의 로컬 캐시도 비운다.
+ *    자기 노드가 보낸 알림은 무시한다.
+ * 3. evict/clear 는 Redis 의 키별 버전을 올린다. 원본을 읽는 동안 버전이 바뀌었으면
+ *    (읽은 값이 커밋 전 값일 수 있으므로) 넣었던 값을 다시 지운다.
+ * 4. Redis 장애 시에는 로컬 캐시와 원본만으로 동작한다.
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+    private static final String CLEAR = "__clear__";
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    private final RMapCache<Object, Object> remote;
+    private final RTopic topic;
+    private final RAtomicLong clearVersion;
+    private final RedissonClient redissonClient;
+    private final long remoteTtlSeconds;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public TwoLevelCache(
+        String name,
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> local,
+        RedissonClient redissonClient,
+        Codec codec,
+        long remoteTtlSeconds
+    ) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.remote = redissonClient.getMapCache("account-cache:" + name, codec);
+        this.topic = redissonClient.getTopic("account-cache:" + name + ":evict", codec);
+        this.clearVersion = redissonClient.getAtomicLong("account-cache:" + name + ":version");
+        this.redissonClient = redissonClient;
+        this.remoteTtlSeconds = remoteTtlSeconds;
+        this.topic.addListener(EvictMessage.class, (channel, message) -> {
+            if (nodeId.equals(message.getOrigin())) {
+                return;
+            }
+            if (CLEAR.equals(message.getKey())) {
+                local.invalidateAll();
+            } else {
+                local.invalidate(message.getKey());
+            }
+        });
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getLocalCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = local.getIfPresent(key);
+        if (value == null) {
+            value = remoteGet(key);
+            if (value != null) {
+                local.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] stale = new boolean[1];
+        Object value = local.get(key, k -> {
+            Object remoteValue = remoteGet(k);
+            if (remoteValue != null) {
+                return remoteValue;
+            }
+            String version = version(k);
+            Object loaded;
+            try {
+                loaded = toStoreValue(valueLoader.call());
+            } catch (Exception e) {
+                throw new ValueRetrievalException(k, valueLoader, e);
+            }
+            if (version == null) {
+                return loaded;
+            }
+            // 넣은 뒤에 버전을 확인해야 확인과 put 사이의 evict 도 놓치지 않는다.
+            remotePut(k, loaded);
+            if (!version.equals(version(k))) {
+                stale[0] = true;
+                remoteRemove(k);
+            }
+            return loaded;
+        });
+        if (stale[0]) {
+            local.invalidate(key);
+        }
+        return (T) fromStoreValue(value);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        local.put(key, storeValue);
+        remotePut(key, storeValue);
+        publish(key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.invalidate(key);
+        try {
+            // 버전을 먼저 올려야 이후에 끝나는 로드가 자기 값을 지운다.
+            RAtomicLong keyVersion = keyVersion(key);
+            keyVersion.incrementAndGet();
+            keyVersion.expire(remoteTtlSeconds, TimeUnit.SECONDS);
+        } catch (RuntimeException e) {
+            log.error("remote cache version update failed : {} {}", name, key, e);
+        }
+        remoteRemove(key);
+        publish(key);
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        try {
+            clearVersion.incrementAndGet();
+            remote.clear();
+        } catch (RuntimeException e) {
+            log.error("remote cache clear failed : {}", name, e);
+        }
+        publish(CLEAR);
+    }
+
+    private Object remoteGet(Object key) {
+        try {
+            return remote.get(key);
+        } catch (RuntimeException e) {
+            log.error("remote cache get failed : {} {}", name, key, e);
+            return null;
+        }
+    }
+
+    private void remotePut(Object key, Object value) {
+        try {
+            remote.fastPut(key, value, remoteTtlSeconds, TimeUnit.SECONDS);
+        } catch (RuntimeException e) {
+            log.error("remote cache put failed : {} {}", name, key, e);
+        }
+    }
+
+    private void remoteRemove(Object key) {
+        try {
+            remote.fastRemove(key);
+        } catch (RuntimeException e) {
+            log.error("remote cache evict failed : {} {}", name, key, e);
+        }
+    }
+
+    private RAtomicLong keyVersion(Object key) {
+        return redissonClient.getAtomicLong("account-cache:" + name + ":version:" + key);
+    }
+
+    /**
+     * 키 버전과 clear 버전, 읽지 못하면 null
+     */
+    private String version(Object key) {
+        try {
+            return keyVersion(key).get() + ":" + clearVersion.get();
+        } catch (RuntimeException e) {
+            log.error("remote cache version get failed : {} {}", name, key, e);
+            return null;
+        }
+    }
+
+    private void publish(Object key) {
+        try {
+            topic.publish(new EvictMessage(nodeId, key));
+        } catch (RuntimeException e) {
+            // 다른 노드는 로컬 TTL 이 지나면 새 값을 읽는다.
+            log.error("cache evict publish failed : {} {}", name, key, e);
+        }
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class EvictMessage {
+        private String origin;
+        private Object key;
+    }
+}
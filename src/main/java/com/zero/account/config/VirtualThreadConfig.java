@@ -0,0 +1,31 @@
+package com.zero.account.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * 요청 처리를 virtual thread 로 실행 (account.execution.virtual-threads=true 일 때만)
+ * 1. Tomcat 요청 처리 : 요청마다 virtual thread (server.tomcat.threads.max 풀 대신)
+ * 2. MVC 비동기 응답(거래 내보내기 StreamingResponseBody), @Async : applicationTaskExecutor
+ * 서비스 호출은 요청 스레드에서 그대로 실행되므로 JDBC/Redisson 대기도 virtual thread 에서 일어난다.
+ * 동시 요청 수는 스레드 수가 아니라 server.tomcat.max-connections 와 커넥션 풀이 제한한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "account.execution.virtual-threads", havingValue = "true")
+public class VirtualThreadConfig {
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(
+            new SimpleAsyncTaskExecutor(Thread.ofVirtual().name("http-vt-", 0).factory()));
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new SimpleAsyncTaskExecutor(Thread.ofVirtual().name("task-vt-", 0).factory());
+    }
+}
@@ -0,0 +1,80 @@
+package com.zero.account.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * virtual thread pinning 진단
+ * synchronized 블록이나 native 호출 안에서 virtual thread 가 대기하면 carrier thread 를 붙잡는다. (pinning)
+ * JFR 의 jdk.VirtualThreadPinned 이벤트를 받아
+ * 1. account.virtual-thread.pinned 타이머로 건수와 pinning 시간을 남기고
+ * 2. 어느 코드에서 일어났는지 stack 을 WARN 로그로 남긴다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.execution.virtual-threads", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Timer pinnedTimer;
+    private final Duration threshold;
+    private final int stackDepth;
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(
+        MeterRegistry meterRegistry,
+        @Value("${account.execution.pinning.threshold-ms:20}") long thresholdMs,
+        @Value("${account.execution.pinning.stack-depth:8}") int stackDepth
+    ) {
+        this.pinnedTimer = Timer.builder("account.virtual-thread.pinned")
+            .description("virtual thread 가 carrier thread 에 고정되어 대기한 시간")
+            .register(meterRegistry);
+        this.threshold = Duration.ofMillis(thresholdMs);
+        this.stackDepth = stackDepth;
+    }
+
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+        if (event.getStackTrace() == null) {
+            log.warn("virtual thread pinned for {} ms", event.getDuration().toMillis());
+            return;
+        }
+        log.warn("virtual thread pinned for {} ms\n\tat {}", event.getDuration().toMillis(),
+            event.getStackTrace().getFrames().stream()
+                .limit(stackDepth)
+                .map(VirtualThreadPinningMonitor::frame)
+                .collect(Collectors.joining("\n\tat ")));
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+            + ":" + frame.getLineNumber();
+    }
+}
@@ -1,16 +1,24 @@
 package com.zero.account.controller;
 
-import com.zero.account.domain.Account;
+import com.zero.account.dto.AccountDetail;
 import com.zero.account.dto.AccountDto;
 import com.zero.account.dto.AccountInfo;
 import com.zero.account.dto.CreateAccount;
 import com.zero.account.dto.DeleteAccount;
+import com.zero.account.dto.EnableBalanceSlots;
+import com.zero.account.dto.EnableLedger;
+import com.zero.account.dto.LedgerBalance;
+import com.zero.account.service.AccountLedgerService;
 import com.zero.account.service.AccountService;
+import com.zero.account.service.BalanceSlotService;
 import com.zero.account.service.RedisTestService;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -24,6 +32,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class AccountController {
     private final AccountService accountService;
     private final RedisTestService redisTestService;
+    private final BalanceSlotService balanceSlotService;
+    private final AccountLedgerService accountLedgerService;
 
     @PostMapping("/account")
     public CreateAccount.Response createAccount(
@@ -61,13 +71,57 @@ public class AccountController {
         );
     }
 
+    /**
+     * hot 계좌(가맹점 등)의 잔액을 여러 slot 으로 나눈다.
+     */
+    @PostMapping("/account/balance-slots")
+    public EnableBalanceSlots.Response enableBalanceSlots(
+        @RequestBody @Valid EnableBalanceSlots.Request request
+    ) {
+        return EnableBalanceSlots.Response.from(
+            balanceSlotService.enableSlots(
+                request.getAccountNumber(),
+                request.getSlotCount()
+            )
+        );
+    }
+
+    /**
+     * 계좌 잔액을 원장(추가만 하는 거래 기록) + 주기적인 snapshot 으로 관리한다.
+     */
+    @PostMapping("/account/ledger")
+    public EnableLedger.Response enableLedger(
+        @RequestBody @Valid EnableLedger.Request request
+    ) {
+        return EnableLedger.Response.from(
+            accountLedgerService.enableLedger(request.getAccountNumber())
+        );
+    }
+
+    /**
+     * 원장 계좌의 특정 시점 잔액 (at 이 없으면 현재)
+     */
+    @GetMapping("/account/ledger/balance")
+    public LedgerBalance getLedgerBalance(
+        @RequestParam("account_number") String accountNumber,
+        @RequestParam(value = "at", required = false)
+        @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime at
+    ) {
+        LocalDateTime balanceAt = at == null ? LocalDateTime.now() : at;
+        return LedgerBalance.builder()
+            .accountNumber(accountNumber)
+            .balance(accountLedgerService.getBalanceAt(accountNumber, balanceAt))
+            .at(balanceAt)
+            .build();
+    }
+
     @GetMapping("/get-lock")
     public String getLock() {
        return redisTestService.getLock();
     }
 
     @GetMapping("/account/{id}")
-    public Account getAccount(@PathVariable Long id) {
+    public AccountDetail getAccount(@PathVariable Long id) {
         return accountService.getAccount(id);
     }
 }
@@ -0,0 +1,158 @@
+package com.zero.account.controller;
+
+import com.zero.account.aop.AccountLockIdInterface;
+import com.zero.account.domain.TransactionDto;
+import com.zero.account.dto.CancelBalance;
+import com.zero.account.dto.UseBalance;
+import com.zero.account.exception.AccountException;
+import com.zero.account.service.BalanceSlotService;
+import com.zero.account.service.FailedTransactionJournal;
+import com.zero.account.service.IdempotencyKeyStore;
+import com.zero.account.service.ReactiveLockService;
+import com.zero.account.service.ReactiveTransactionService;
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.TransactionType;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+/**
+ * 잔액 사용/취소 (reactive, ReactiveTransactionConfig 의 Netty 서버)
+ * 요청/응답 형식, Idempotency-Key, 계좌 락, 실패 거래 기록은
+ * TransactionController + IdempotencyAspect + LockAopAspect 와 같다.
+ * 1. 잔액 사용
+ * 2. 잔액 사용 취소
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "account.reactive.enabled", havingValue = "true")
+public class ReactiveTransactionHandler {
+    private final ReactiveTransactionService reactiveTransactionService;
+    private final ReactiveLockService reactiveLockService;
+    private final BalanceSlotService balanceSlotService;
+    private final FailedTransactionJournal failedTransactionJournal;
+    private final IdempotencyKeyStore idempotencyKeyStore;
+    private final Validator validator;
+
+    public Mono<ServerResponse> useBalance(ServerRequest request) {
+        return request.bodyToMono(UseBalance.Request.class)
+            .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Request body is missing")))
+            .flatMap(this::validate)
+            .flatMap(body -> idempotent(request, "useBalance", body, UseBalance.Response.class,
+                withAccountLock(body.getAccountNumber(),
+                    recordFailure(TransactionType.USE, body.getAccountNumber(), body.getAmount(),
+                        reactiveTransactionService.useBalance(
+                            body.getUserId(), body.getAccountNumber(), body.getAmount())))
+                    .map(UseBalance.Response::from)))
+            .flatMap(response -> ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(response))
+            .onErrorResume(this::errorResponse);
+    }
+
+    public Mono<ServerResponse> cancelBalance(ServerRequest request) {
+        return request.bodyToMono(CancelBalance.Request.class)
+            .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Request body is missing")))
+            .flatMap(this::validate)
+            .flatMap(body -> idempotent(request, "cancelBalance", body, CancelBalance.Response.class,
+                withAccountLock(body.getAccountNumber(),
+                    recordFailure(TransactionType.CANCEL, body.getAccountNumber(), body.getAmount(),
+                        reactiveTransactionService.cancelBalance(
+                            body.getTransactionId(), body.getAccountNumber(), body.getAmount())))
+                    .map(CancelBalance.Response::from)))
+            .flatMap(response -> ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(response))
+            .onErrorResume(this::errorResponse);
+    }
+
+    private <T> Mono<T> validate(T body) {
+        if (!validator.validate(body).isEmpty()) {
+            return Mono.error(new ServerWebInputException("Validation failed"));
+        }
+        return Mono.just(body);
+    }
+
+    /**
+     * IdempotencyAspect 와 같은 키 형식 (servlet 으로 보낸 요청의 재시도도 같은 결과)
+     */
+    private <T> Mono<T> idempotent(
+        ServerRequest request,
+        String operation,
+        AccountLockIdInterface body,
+        Class<T> responseType,
+        Mono<T> action
+    ) {
+        String idempotencyKey = request.headers().firstHeader(IdempotencyKeyStore.HEADER);
+        if (idempotencyKey == null) {
+            return action;
+        }
+        return Mono.fromCallable(() -> IdempotencyKeyStore.scopedKey(
+                operation, body.getAccountNumber(), idempotencyKey))
+            .flatMap(key -> idempotencyKeyStore.executeReactive(
+                key, idempotencyKeyStore.fingerprint(body), responseType, action));
+    }
+
+    /**
+     * LockAopAspect 와 같이 slot 계좌는 락 없이, 나머지는 계좌 락 안에서 실행
+     * (락은 트랜잭션 바깥에서 잡고, 커밋 이후에 해제)
+     */
+    private Mono<TransactionDto> withAccountLock(String accountNumber, Mono<TransactionDto> action) {
+        if (balanceSlotService.isSlotted(accountNumber)) {
+            return action;
+        }
+        return reactiveLockService.withLock(accountNumber, action);
+    }
+
+    // 거래 실패 기록 (저장은 journal 이 비동기로 처리)
+    private Mono<TransactionDto> recordFailure(
+        TransactionType transactionType,
+        String accountNumber,
+        Long amount,
+        Mono<TransactionDto> action
+    ) {
+        return action.doOnError(AccountException.class, e -> {
+            log.error("Failed ");
+            failedTransactionJournal.record(transactionType, accountNumber, amount);
+        });
+    }
+
+    /**
+     * 입력 오류는 400, 거래 실패(AccountException)는 servlet 쪽과 같이 500 으로 응답하고
+     * 본문에 에러 코드를 담는다.
+     */
+    private Mono<ServerResponse> errorResponse(Throwable e) {
+        if (e instanceof ServerWebInputException) {
+            return errorBody(HttpStatus.BAD_REQUEST, ErrorCode.INVALID_REQUEST,
+                ErrorCode.INVALID_REQUEST.getDescription());
+        }
+        if (e instanceof AccountException) {
+            AccountException accountException = (AccountException) e;
+            return errorBody(HttpStatus.INTERNAL_SERVER_ERROR, accountException.getErrorCode(),
+                accountException.getErrorMessage());
+        }
+        log.error("Unexpected error", e);
+        return errorBody(HttpStatus.INTERNAL_SERVER_ERROR, ErrorCode.INTERNAL_SERVER_ERROR,
+            ErrorCode.INTERNAL_SERVER_ERROR.getDescription());
+    }
+
+    private Mono<ServerResponse> errorBody(HttpStatus status, ErrorCode errorCode, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("errorCode", errorCode);
+        body.put("errorMessage", message);
+        return ServerResponse.status(status)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(body);
+    }
+}
@@ -1,30 +1,56 @@
 package com.zero.account.controller;
 
-import com.zero.account.domain.TransactionDto;
+import com.zero.account.aop.AccountLock;
+import com.zero.account.aop.Idempotent;
+import com.zero.account.dto.BatchTransaction;
 import com.zero.account.dto.CancelBalance;
+import com.zero.account.dto.TransactionExport;
+import com.zero.account.dto.TransactionHistory;
 import com.zero.account.dto.UseBalance;
 import com.zero.account.exception.AccountException;
+import com.zero.account.service.FailedTransactionJournal;
+import com.zero.account.service.TransactionBatchService;
+import com.zero.account.service.TransactionExportService;
 import com.zero.account.service.TransactionService;
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.TransactionResultType;
+import com.zero.account.type.TransactionType;
+import java.time.LocalDateTime;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * 잔액 사용 컨트롤러
- * 1. 잔액 사용
- * 2. 잔액 사용 취소
+ * 1. 잔액 사용 (Idempotency-Key 헤더가 있으면 같은 키의 재시도는 첫 응답을 돌려줌)
+ * 2. 잔액 사용 취소 (Idempotency-Key 동일)
  * 3. 거래 확인
+ * 4. 잔액 사용/취소 일괄 처리
+ * 5. 계좌 거래 내역 조회
+ * 6. 기간별 거래 내보내기 (대사용, NDJSON/CSV 스트리밍)
  */
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 public class TransactionController {
     private final TransactionService transactionService;
+    private final TransactionBatchService transactionBatchService;
+    private final TransactionExportService transactionExportService;
+    private final FailedTransactionJournal failedTransactionJournal;
 
     @PostMapping("transaction/use")
+    @Idempotent
+    @AccountLock
     public UseBalance.Response useBalance(
         @Valid @RequestBody UseBalance.Request request
     ){
@@ -35,8 +61,9 @@ public class TransactionController {
         }catch (AccountException e) {
             log.error("Failed ");
 
-            // 거래 실패 기록
-            transactionService.saveFailedUseTransaction(
+            // 거래 실패 기록 (저장은 journal 이 비동기로 처리)
+            failedTransactionJournal.record(
+                TransactionType.USE,
                 request.getAccountNumber(),
                 request.getAmount()
             );
@@ -45,6 +72,8 @@ public class TransactionController {
     }
 
     @PostMapping("transaction/cancel")
+    @Idempotent
+    @AccountLock
     public CancelBalance.Response cancelBalance(
         @Valid @RequestBody CancelBalance.Request request
     ){
@@ -55,12 +84,58 @@ public class TransactionController {
         }catch (AccountException e) {
             log.error("Failed ");
 
-            // 거래 실패 기록
-            transactionService.saveFailedCancelTransaction(
+            // 거래 실패 기록 (저장은 journal 이 비동기로 처리)
+            failedTransactionJournal.record(
+                TransactionType.CANCEL,
                 request.getAccountNumber(),
                 request.getAmount()
             );
             throw e; // 에러를 밖으로 던짐
         }
     }
+
+    @PostMapping("transaction/use/batch")
+    public BatchTransaction.Response batchTransaction(
+        @Valid @RequestBody BatchTransaction.Request request
+    ){
+        // 계좌 락은 계좌별로 서비스에서 잡는다
+        return new BatchTransaction.Response(
+            transactionBatchService.process(request.getItems()));
+    }
+
+    @GetMapping("transaction")
+    public TransactionHistory.Response getTransactionHistory(
+        @RequestParam("account_number") String accountNumber,
+        @RequestParam(value = "transaction_type", required = false)
+            TransactionType transactionType,
+        @RequestParam(value = "transaction_result_type", required = false)
+            TransactionResultType transactionResultType,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", defaultValue = "20") int size
+    ){
+        return transactionService.getTransactionHistory(accountNumber,
+            transactionType, transactionResultType, cursor, size);
+    }
+
+    /**
+     * 응답은 요청 스레드 밖(MVC async)에서 쓰고, 다 쓸 때까지 DB 커서를 연다.
+     * 본문을 쓰기 시작하면 200 이 이미 나가므로 기간 검증은 그 전에 한다.
+     */
+    @GetMapping("transaction/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+        @RequestParam("from") @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam("to") @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(value = "format", defaultValue = "NDJSON")
+            TransactionExport.Format format
+    ){
+        if (!from.isBefore(to)) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+        return ResponseEntity.ok()
+            .contentType(format.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=transactions." + format.getExtension())
+            .body(outputStream ->
+                transactionExportService.export(from, to, format, outputStream));
+    }
 }
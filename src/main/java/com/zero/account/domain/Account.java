@@ -2,15 +2,24 @@ package com.zero.account.domain;
 
 import com.zero.account.exception.AccountException;
 import com.zero.account.type.AccountStatus;
+import com.zero.account.type.BalanceMode;
 import com.zero.account.type.ErrorCode;
 import java.time.LocalDateTime;
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EntityListeners;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -27,18 +36,40 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @Builder // 객체 생성하는 목적
 @Entity //설정 클래스
 @EntityListeners(AuditingEntityListener.class)
+@Table(indexes = {
+    @Index(name = "uk_account_number", columnList = "account_number", unique = true),
+    @Index(name = "idx_account_user_status", columnList = "account_user_id, account_status")
+})
 public class Account {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accountSeqGenerator")
+    @SequenceGenerator(name = "accountSeqGenerator", sequenceName = "account_seq",
+        allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    // 필요할 때만 읽음 (id 는 FK 값이라 조회 없이 쓸 수 있음)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_user_id")
     private AccountUser accountUser;
+    @Column(name = "account_number")
     private String accountNumber; // 자동 주입 됨....
     @Enumerated(EnumType.STRING)
+    @Column(name = "account_status")
     private AccountStatus accountStatus;
     private Long balance;
 
+    // SLOTTED 이면 잔액은 AccountBalanceSlot 들의 합 (balance 컬럼은 사용하지 않음)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private BalanceMode balanceMode = BalanceMode.STANDARD;
+    private Integer balanceSlotCount;
+    // LEDGER 이면 balance 는 이 번호의 원장까지 반영한 snapshot 잔액
+    private Long ledgerEntryNo;
+
+    // 낙관적 락 (concurrency mode 가 OPTIMISTIC 일 때 충돌 감지)
+    @Version
+    private Long version;
+
     private LocalDateTime registeredAt;
     private LocalDateTime unRegisteredAt;
 
@@ -54,6 +85,14 @@ public class Account {
         balance -= amount;
     }
 
+    public boolean isSlotted() {
+        return balanceMode == BalanceMode.SLOTTED;
+    }
+
+    public boolean isLedger() {
+        return balanceMode == BalanceMode.LEDGER;
+    }
+
     public void cancelBalance(Long amount) {
         if (amount < 0) {
             throw  new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
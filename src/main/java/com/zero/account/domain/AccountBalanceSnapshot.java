@@ -0,0 +1,56 @@
+package com.zero.account.domain;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+/**
+ * LEDGER 계좌의 잔액 snapshot : entryNo 번 원장까지 반영한 잔액
+ * 특정 시점의 잔액은 그 시점 이전의 마지막 snapshot + 이후 원장 합으로 다시 계산한다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Immutable
+@EntityListeners(AuditingEntityListener.class)
+@Table(indexes = @Index(name = "idx_account_balance_snapshot_account",
+    columnList = "account_id, entry_no"))
+public class AccountBalanceSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accountBalanceSnapshotSeqGenerator")
+    @SequenceGenerator(name = "accountBalanceSnapshotSeqGenerator",
+        sequenceName = "account_balance_snapshot_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id")
+    private Account account;
+    @Column(name = "entry_no")
+    private Long entryNo;
+    private Long balance;
+    // entryNo 번 원장의 거래 시각 (원장이 없으면 LEDGER 로 바꾼 시각)
+    @Column(name = "transacted_at")
+    private LocalDateTime transactedAt;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+}
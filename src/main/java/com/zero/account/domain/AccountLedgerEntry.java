@@ -0,0 +1,63 @@
+package com.zero.account.domain;
+
+import com.zero.account.type.TransactionType;
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+/**
+ * LEDGER 계좌의 잔액 변동 (추가만 하고 수정/삭제하지 않는다)
+ * entryNo 는 계좌별로 1 부터 빈틈없이 증가 (계좌 row 락을 잡고 발급)
+ * id 는 노드별로 미리 받은 구간에서 나오므로 순서 기준으로 쓰지 않는다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Immutable
+@EntityListeners(AuditingEntityListener.class)
+@Table(uniqueConstraints = @UniqueConstraint(
+    name = "uk_account_ledger_entry", columnNames = {"account_id", "entry_no"}))
+public class AccountLedgerEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accountLedgerEntrySeqGenerator")
+    @SequenceGenerator(name = "accountLedgerEntrySeqGenerator",
+        sequenceName = "account_ledger_entry_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id")
+    private Account account;
+    @Column(name = "entry_no")
+    private Long entryNo;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionType entryType;
+    // 사용은 음수, 취소는 양수
+    private Long amount;
+    @Column(name = "transacted_at")
+    private LocalDateTime transactedAt;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+}
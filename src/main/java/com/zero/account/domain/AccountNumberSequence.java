@@ -0,0 +1,44 @@
+package com.zero.account.domain;
+
+import java.time.LocalDateTime;
+import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
+import javax.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+/**
+ * 계좌 번호 발급 high-water mark
+ * 각 노드는 이 값을 블록 단위로 선점하고, 블록 안의 번호는 메모리에서 발급한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+public class AccountNumberSequence {
+    @Id
+    private String name;
+
+    // 다음 블록의 시작 값
+    private Long nextValue;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
+    public long reserve(int blockSize) {
+        long start = nextValue;
+        nextValue = start + blockSize;
+        return start;
+    }
+}
@@ -4,7 +4,9 @@ import java.time.LocalDateTime;
 import javax.persistence.Entity;
 import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -20,10 +22,13 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @NoArgsConstructor
 @Builder
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, AccountUserCacheListener.class})
 public class AccountUser {
     @Id
-    @GeneratedValue
+    // data.sql 의 사용자(id 1~3)와 겹치지 않도록 100 부터 발급
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accountUserSeqGenerator")
+    @SequenceGenerator(name = "accountUserSeqGenerator", sequenceName = "account_user_seq",
+        allocationSize = 50, initialValue = 100)
     private Long id;
 
     private String name;
@@ -0,0 +1,26 @@
+package com.zero.account.domain;
+
+import com.zero.account.service.AccountUserCacheEvictor;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * AccountUser 수정/삭제 시 사용자 캐시 무효화
+ * (Hibernate 가 Spring 으로 생성하는 listener 라 evictor 를 주입 받는다.
+ *  JPA slice 테스트처럼 evictor 빈이 없으면 아무것도 하지 않음)
+ */
+public class AccountUserCacheListener {
+    @Autowired
+    private ObjectProvider<AccountUserCacheEvictor> accountUserCacheEvictor;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(AccountUser accountUser) {
+        if (accountUserCacheEvictor != null) {
+            accountUserCacheEvictor.ifAvailable(
+                evictor -> evictor.evictAfterCommit(accountUser.getId()));
+        }
+    }
+}
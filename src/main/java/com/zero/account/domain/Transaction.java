@@ -4,13 +4,20 @@ import com.zero.account.type.AccountStatus;
 import com.zero.account.type.TransactionResultType;
 import com.zero.account.type.TransactionType;
 import java.time.LocalDateTime;
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EntityListeners;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
 import javax.validation.constraints.Max;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -28,10 +35,20 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @Builder
 @Entity
 @EntityListeners(AuditingEntityListener.class)
+@Table(indexes = {
+    @Index(name = "uk_transaction_id", columnList = "transaction_id", unique = true),
+    // 계좌 거래 내역 keyset 조회 (최신순으로 인덱스를 그대로 읽도록 내림차순)
+    @Index(name = "idx_transaction_account_transacted",
+        columnList = "account_id desc, transacted_at desc, id desc"),
+    // 기간별 내보내기 : 정렬 없이 시간순으로 읽음
+    @Index(name = "idx_transaction_transacted", columnList = "transacted_at, id")
+})
 public class Transaction {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactionSeqGenerator")
+    @SequenceGenerator(name = "transactionSeqGenerator", sequenceName = "transaction_seq",
+        allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -40,12 +57,15 @@ public class Transaction {
     @Enumerated(EnumType.STRING)
     private TransactionResultType transactionResultType;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id")
     private Account account;
     private Long amount;
     private Long balanceSnapshot;
 
+    @Column(name = "transaction_id")
     private String transactionId;
+    @Column(name = "transacted_at")
     private LocalDateTime transactedAt;
 
     @CreatedDate
@@ -20,13 +20,15 @@ public class TransactionDto {
 
     private TransactionResultType transactionResultType;
 
-    private Account account;
     private Long amount;
     private Long balanceSnapshot;
 
     private String transactionId;
     private LocalDateTime transactedAt;
 
+    /**
+     * 계좌는 번호만 옮긴다. (엔티티를 DTO 에 담지 않음)
+     */
     public static TransactionDto fromEntity(Transaction transaction) {
         return TransactionDto.builder()
             .accountNumber(transaction.getAccount().getAccountNumber())
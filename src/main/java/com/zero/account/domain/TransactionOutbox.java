@@ -0,0 +1,61 @@
+package com.zero.account.domain;
+
+import com.zero.account.type.TransactionType;
+import java.time.LocalDateTime;
+import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+/**
+ * 잔액 변경 이벤트 outbox (거래와 같은 트랜잭션에서 저장, relay 가 발행 후 삭제)
+ * id 는 미리 받아 두지 않고(allocationSize 1) 저장 시점에 발급한다.
+ * 같은 계좌의 거래는 계좌 락/row 락 안에서 차례로 커밋되므로 계좌별로는 id 순서가 커밋 순서다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+public class TransactionOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactionOutboxSeqGenerator")
+    @SequenceGenerator(name = "transactionOutboxSeqGenerator",
+        sequenceName = "transaction_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    private Long accountId;
+    private String accountNumber;
+    private String transactionId;
+    @Enumerated(EnumType.STRING)
+    private TransactionType transactionType;
+    private Long amount;
+    private Long balanceSnapshot;
+    private LocalDateTime transactedAt;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    public static TransactionOutbox from(Transaction transaction) {
+        return TransactionOutbox.builder()
+            .accountId(transaction.getAccount().getId())
+            .accountNumber(transaction.getAccount().getAccountNumber())
+            .transactionId(transaction.getTransactionId())
+            .transactionType(transaction.getTransactionType())
+            .amount(transaction.getAmount())
+            .balanceSnapshot(transaction.getBalanceSnapshot())
+            .transactedAt(transaction.getTransactedAt())
+            .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.zero.account.domain.reactive;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC 용 account_balance_slot 테이블 매핑 (스키마는 JPA 엔티티 AccountBalanceSlot 이 만든다)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("account_balance_slot")
+public class AccountBalanceSlotRow {
+    @Id
+    private Long id;
+    private Long accountId;
+    private Integer slotIndex;
+    private Long balance;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,38 @@
+package com.zero.account.domain.reactive;
+
+import com.zero.account.type.TransactionType;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC 용 account_ledger_entry 테이블 매핑 (스키마는 JPA 엔티티 AccountLedgerEntry 가 만든다)
+ * 원장은 추가만 하므로 save 는 항상 INSERT
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("account_ledger_entry")
+public class AccountLedgerEntryRow implements Persistable<Long> {
+    @Id
+    private Long id;
+    private Long accountId;
+    private Long entryNo;
+    private TransactionType entryType;
+    private Long amount;
+    private LocalDateTime transactedAt;
+    private LocalDateTime createdAt;
+
+    @Override
+    @Transient
+    public boolean isNew() {
+        return true;
+    }
+}
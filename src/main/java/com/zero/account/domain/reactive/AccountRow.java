@@ -0,0 +1,48 @@
+package com.zero.account.domain.reactive;
+
+import com.zero.account.type.AccountStatus;
+import com.zero.account.type.BalanceMode;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC 용 account 테이블 매핑 (스키마는 JPA 엔티티 Account 가 만든다)
+ * 잔액/버전은 조건부 UPDATE 로만 바꾸므로 읽기용으로 쓴다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("account")
+public class AccountRow {
+    @Id
+    private Long id;
+    private Long accountUserId;
+    private String accountNumber;
+    private AccountStatus accountStatus;
+    private Long balance;
+    private BalanceMode balanceMode;
+    private Integer balanceSlotCount;
+    private Long ledgerEntryNo;
+    private Long version;
+
+    private LocalDateTime registeredAt;
+    private LocalDateTime unRegisteredAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public boolean isSlotted() {
+        return balanceMode == BalanceMode.SLOTTED;
+    }
+
+    public boolean isLedger() {
+        return balanceMode == BalanceMode.LEDGER;
+    }
+}
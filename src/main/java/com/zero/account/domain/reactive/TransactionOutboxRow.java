@@ -0,0 +1,40 @@
+package com.zero.account.domain.reactive;
+
+import com.zero.account.type.TransactionType;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC 용 transaction_outbox 테이블 매핑 (스키마는 JPA 엔티티 TransactionOutbox 가 만든다)
+ * save 는 항상 INSERT
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("transaction_outbox")
+public class TransactionOutboxRow implements Persistable<Long> {
+    @Id
+    private Long id;
+    private Long accountId;
+    private String accountNumber;
+    private String transactionId;
+    private TransactionType transactionType;
+    private Long amount;
+    private Long balanceSnapshot;
+    private LocalDateTime transactedAt;
+    private LocalDateTime createdAt;
+
+    @Override
+    @Transient
+    public boolean isNew() {
+        return true;
+    }
+}
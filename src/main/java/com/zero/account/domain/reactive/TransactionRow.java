@@ -0,0 +1,44 @@
+package com.zero.account.domain.reactive;
+
+import com.zero.account.type.TransactionResultType;
+import com.zero.account.type.TransactionType;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC 용 transaction 테이블 매핑 (스키마는 JPA 엔티티 Transaction 이 만든다)
+ * id 는 저장 전에 transaction_seq 에서 받아 두고, 거래 기록은 추가만 하므로 save 는 항상 INSERT
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("transaction")
+public class TransactionRow implements Persistable<Long> {
+    @Id
+    private Long id;
+    private TransactionType transactionType;
+    private TransactionResultType transactionResultType;
+    private Long accountId;
+    private Long amount;
+    private Long balanceSnapshot;
+    private String transactionId;
+    private LocalDateTime transactedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @Override
+    @Transient
+    public boolean isNew() {
+        return true;
+    }
+}
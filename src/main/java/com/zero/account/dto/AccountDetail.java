@@ -0,0 +1,27 @@
+package com.zero.account.dto;
+
+import com.zero.account.type.AccountStatus;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 계좌 한 건 조회 응답 (엔티티 대신 필요한 컬럼만)
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountDetail {
+    private Long userId;
+    private String accountNumber;
+    private AccountStatus accountStatus;
+    // slot 계좌는 slot 잔액의 합
+    private Long balance;
+    private LocalDateTime registeredAt;
+    private LocalDateTime unRegisteredAt;
+}
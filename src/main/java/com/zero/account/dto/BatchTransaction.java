@@ -0,0 +1,117 @@
+package com.zero.account.dto;
+
+import com.zero.account.domain.Transaction;
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.TransactionResultType;
+import com.zero.account.type.TransactionType;
+import java.time.LocalDateTime;
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 잔액 사용/취소 일괄 처리
+ */
+public class BatchTransaction {
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Request {
+        @NotEmpty
+        @Size(max = 1000)
+        private List<@Valid @NotNull Item> items;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class Item {
+        @NotNull
+        private TransactionType transactionType;
+
+        // USE 일 때 필수
+        @Min(1)
+        private Long userId;
+
+        // CANCEL 일 때 필수
+        private String transactionId;
+
+        @NotBlank
+        @Size(min = 10, max= 10)
+        private String accountNumber;
+
+        @NotNull
+        @Min(10)
+        @Max(1000_000_000)
+        private Long amount;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ItemResult {
+        // 요청 items 에서의 위치
+        private int index;
+        private TransactionType transactionType;
+        private String accountNumber;
+        private TransactionResultType transactionResult;
+        private String transactionId;
+        private Long amount;
+        private LocalDateTime transactedAt;
+        private ErrorCode errorCode;
+        private String errorMessage;
+
+        public static ItemResult from(int index, Transaction transaction) {
+            return ItemResult.builder()
+                .index(index)
+                .transactionType(transaction.getTransactionType())
+                .accountNumber(transaction.getAccount().getAccountNumber())
+                .transactionResult(transaction.getTransactionResultType())
+                .transactionId(transaction.getTransactionId())
+                .amount(transaction.getAmount())
+                .transactedAt(transaction.getTransactedAt())
+                .build();
+        }
+
+        public static ItemResult failed(int index, Item item, AccountException e) {
+            return ItemResult.builder()
+                .index(index)
+                .transactionType(item.getTransactionType())
+                .accountNumber(item.getAccountNumber())
+                .transactionResult(TransactionResultType.F)
+                .amount(item.getAmount())
+                .errorCode(e.getErrorCode())
+                .errorMessage(e.getErrorMessage())
+                .build();
+        }
+
+        public static ItemResult failed(int index, Transaction transaction, AccountException e) {
+            ItemResult result = from(index, transaction);
+            result.setErrorCode(e.getErrorCode());
+            result.setErrorMessage(e.getErrorMessage());
+            return result;
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Response {
+        private List<ItemResult> results;
+    }
+}
@@ -1,5 +1,6 @@
 package com.zero.account.dto;
 
+import com.zero.account.aop.AccountLockIdInterface;
 import com.zero.account.domain.TransactionDto;
 import com.zero.account.type.TransactionResultType;
 import java.time.LocalDateTime;
@@ -18,7 +19,7 @@ public class CancelBalance {
     @Getter
     @Setter
     @AllArgsConstructor
-    public static class Request {
+    public static class Request implements AccountLockIdInterface {
         @NotBlank
         private String transactionId;
 
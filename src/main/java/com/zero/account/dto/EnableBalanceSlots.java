@@ -0,0 +1,46 @@
+package com.zero.account.dto;
+
+import com.zero.account.domain.Account;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+public class EnableBalanceSlots {
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class Request {
+        @NotBlank
+        @Size(min = 10, max= 10)
+        private String accountNumber;
+
+        @NotNull
+        @Min(2)
+        @Max(64)
+        private Integer slotCount;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private String accountNumber;
+        private Integer slotCount;
+
+        public static Response from(Account account) {
+            return Response.builder()
+                .accountNumber(account.getAccountNumber())
+                .slotCount(account.getBalanceSlotCount())
+                .build();
+        }
+    }
+}
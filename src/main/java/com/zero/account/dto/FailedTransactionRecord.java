@@ -0,0 +1,38 @@
+package com.zero.account.dto;
+
+import com.zero.account.type.TransactionType;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 저장 대기 중인 실패 거래
+ * spill 파일에는 한 줄에 하나씩 "거래종류,계좌번호,금액,거래시각" 형식으로 기록한다.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class FailedTransactionRecord {
+    private TransactionType transactionType;
+    private String accountNumber;
+    private Long amount;
+    private LocalDateTime transactedAt;
+
+    public String toLine() {
+        return transactionType + "," + accountNumber + "," + amount + "," + transactedAt;
+    }
+
+    public static FailedTransactionRecord fromLine(String line) {
+        String[] fields = line.split(",", 4);
+        if (fields.length != 4) {
+            throw new IllegalArgumentException("invalid failed transaction line : " + line);
+        }
+        return FailedTransactionRecord.builder()
+            .transactionType(TransactionType.valueOf(fields[0]))
+            .accountNumber(fields[1])
+            .amount(Long.valueOf(fields[2]))
+            .transactedAt(LocalDateTime.parse(fields[3]))
+            .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.zero.account.dto;
+
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.IdempotencyStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Idempotency-Key 로 저장하는 첫 요청의 처리 상태와 결과 (Redis 에는 JSON 으로 저장)
+ * IN_PROGRESS : 처리 중 (owner 는 요청마다 다르므로 자기 표시만 지울 수 있다)
+ * COMPLETED : 응답 본문(response) 또는 거래 실패 코드(errorCode)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+    private IdempotencyStatus status;
+    // 요청 본문의 해시 (같은 키로 다른 요청을 보냈는지 확인)
+    private String fingerprint;
+    private String owner;
+    private String response;
+    private ErrorCode errorCode;
+}
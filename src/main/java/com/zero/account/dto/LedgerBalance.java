@@ -0,0 +1,19 @@
+package com.zero.account.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerBalance {
+    private String accountNumber;
+    private Long balance;
+    private LocalDateTime at;
+}
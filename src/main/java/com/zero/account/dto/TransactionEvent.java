@@ -0,0 +1,39 @@
+package com.zero.account.dto;
+
+import com.zero.account.domain.TransactionOutbox;
+import com.zero.account.type.TransactionType;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 외부로 발행하는 잔액 변경 이벤트
+ * 같은 이벤트가 두 번 발행될 수 있으므로 받는 쪽은 transactionId 로 중복을 거른다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionEvent {
+    private String transactionId;
+    private String accountNumber;
+    private TransactionType transactionType;
+    private Long amount;
+    private Long balanceSnapshot;
+    private LocalDateTime transactedAt;
+
+    public static TransactionEvent from(TransactionOutbox outbox) {
+        return TransactionEvent.builder()
+            .transactionId(outbox.getTransactionId())
+            .accountNumber(outbox.getAccountNumber())
+            .transactionType(outbox.getTransactionType())
+            .amount(outbox.getAmount())
+            .balanceSnapshot(outbox.getBalanceSnapshot())
+            .transactedAt(outbox.getTransactedAt())
+            .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.zero.account.dto;
+
+import com.zero.account.type.TransactionResultType;
+import com.zero.account.type.TransactionType;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+/**
+ * 대사(reconciliation)용 거래 내보내기
+ */
+public class TransactionExport {
+    /**
+     * 내보내는 거래 한 건 (엔티티 대신 필요한 컬럼만 조회, 영속성 컨텍스트에 쌓이지 않음)
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Row {
+        private String transactionId;
+        private String accountNumber;
+        private TransactionType transactionType;
+        private TransactionResultType transactionResult;
+        private Long amount;
+        private Long balanceSnapshot;
+        private LocalDateTime transactedAt;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public enum Format {
+        // 한 줄에 JSON 하나
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+    }
+}
@@ -0,0 +1,89 @@
+package com.zero.account.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.TransactionResultType;
+import com.zero.account.type.TransactionType;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 계좌 거래 내역 조회 (최신순, keyset 페이지)
+ */
+public class TransactionHistory {
+    /**
+     * 거래 한 건 (엔티티 대신 필요한 컬럼만 조회)
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        // 다음 페이지 기준 (응답에는 cursor 로만 노출)
+        @JsonIgnore
+        private Long id;
+        private String transactionId;
+        private TransactionType transactionType;
+        private TransactionResultType transactionResult;
+        private Long amount;
+        private Long balanceSnapshot;
+        private LocalDateTime transactedAt;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Response {
+        private List<Item> transactions;
+        // 마지막 페이지면 null
+        private String nextCursor;
+    }
+
+    /**
+     * 페이지 경계 (마지막으로 받은 거래의 transacted_at, id)
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Cursor {
+        // 첫 페이지 : 모든 거래보다 뒤
+        public static final Cursor FIRST =
+            new Cursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+        private final LocalDateTime transactedAt;
+        private final Long id;
+
+        public static Cursor from(Item item) {
+            return new Cursor(item.getTransactedAt(), item.getId());
+        }
+
+        public String encode() {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                (transactedAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String cursor) {
+            if (cursor == null || cursor.isEmpty()) {
+                return FIRST;
+            }
+            try {
+                String[] values = new String(Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8).split("\\|");
+                if (values.length != 2) {
+                    throw new AccountException(ErrorCode.INVALID_REQUEST);
+                }
+                return new Cursor(LocalDateTime.parse(values[0]), Long.valueOf(values[1]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new AccountException(ErrorCode.INVALID_REQUEST);
+            }
+        }
+    }
+}
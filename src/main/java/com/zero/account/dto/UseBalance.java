@@ -1,5 +1,6 @@
 package com.zero.account.dto;
 
+import com.zero.account.aop.AccountLockIdInterface;
 import com.zero.account.domain.TransactionDto;
 import com.zero.account.dto.CreateAccount.Response;
 import com.zero.account.type.TransactionResultType;
@@ -19,7 +20,7 @@ public class UseBalance {
     @Getter
     @Setter
     @AllArgsConstructor
-    public static class Request {
+    public static class Request implements AccountLockIdInterface {
         @NotNull
         @Min(1)
         private Long userId;
@@ -0,0 +1,51 @@
+package com.zero.account.repository;
+
+import com.zero.account.domain.Account;
+import com.zero.account.domain.AccountBalanceSlot;
+import java.time.LocalDateTime;
+import java.util.List;
+import javax.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlot, Long> {
+    /**
+     * slot 잔액이 충분할 때만 차감
+     * @return 차감된 row 수 (0 이면 slot 잔액 부족)
+     */
+    @Modifying
+    @Query("update AccountBalanceSlot s"
+        + " set s.balance = s.balance - :amount, s.updatedAt = :now"
+        + " where s.account.id = :accountId"
+        + "   and s.slotIndex = :slotIndex"
+        + "   and s.balance >= :amount")
+    int debit(
+        @Param("accountId") Long accountId,
+        @Param("slotIndex") int slotIndex,
+        @Param("amount") Long amount,
+        @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update AccountBalanceSlot s"
+        + " set s.balance = s.balance + :amount, s.updatedAt = :now"
+        + " where s.account.id = :accountId"
+        + "   and s.slotIndex = :slotIndex")
+    int credit(
+        @Param("accountId") Long accountId,
+        @Param("slotIndex") int slotIndex,
+        @Param("amount") Long amount,
+        @Param("now") LocalDateTime now);
+
+    @Query("select coalesce(sum(s.balance), 0) from AccountBalanceSlot s"
+        + " where s.account.id = :accountId")
+    long sumBalance(@Param("accountId") Long accountId);
+
+    // 여러 slot 을 함께 옮길 때 (재분배, slot 하나로 부족한 결제) slot 전체를 잠근다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<AccountBalanceSlot> findByAccountOrderBySlotIndex(Account account);
+}
@@ -0,0 +1,16 @@
+package com.zero.account.repository;
+
+import com.zero.account.domain.Account;
+import com.zero.account.domain.AccountBalanceSnapshot;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountBalanceSnapshotRepository
+    extends JpaRepository<AccountBalanceSnapshot, Long> {
+    // 주어진 시각 이전의 마지막 snapshot
+    Optional<AccountBalanceSnapshot> findFirstByAccountAndTransactedAtLessThanEqualOrderByEntryNoDesc(
+        Account account, LocalDateTime transactedAt);
+}
@@ -0,0 +1,40 @@
+package com.zero.account.repository;
+
+import com.zero.account.domain.AccountLedgerEntry;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountLedgerEntryRepository extends JpaRepository<AccountLedgerEntry, Long> {
+    @Query("select coalesce(max(e.entryNo), 0) from AccountLedgerEntry e"
+        + " where e.account.id = :accountId")
+    long findLastEntryNo(@Param("accountId") Long accountId);
+
+    /**
+     * snapshot 이후 원장의 합 ((account_id, entry_no) unique 인덱스 범위 조회)
+     */
+    @Query("select coalesce(sum(e.amount), 0) from AccountLedgerEntry e"
+        + " where e.account.id = :accountId"
+        + "   and e.entryNo > :entryNo")
+    long sumAfter(@Param("accountId") Long accountId, @Param("entryNo") Long entryNo);
+
+    @Query("select coalesce(sum(e.amount), 0) from AccountLedgerEntry e"
+        + " where e.account.id = :accountId"
+        + "   and e.entryNo > :entryNo"
+        + "   and e.transactedAt <= :at")
+    long sumAfterUntil(
+        @Param("accountId") Long accountId,
+        @Param("entryNo") Long entryNo,
+        @Param("at") LocalDateTime at);
+
+    @Query("select e.transactedAt from AccountLedgerEntry e"
+        + " where e.account.id = :accountId"
+        + "   and e.entryNo = :entryNo")
+    Optional<LocalDateTime> findTransactedAt(
+        @Param("accountId") Long accountId,
+        @Param("entryNo") Long entryNo);
+}
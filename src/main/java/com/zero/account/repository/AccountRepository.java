@@ -2,8 +2,18 @@ package com.zero.account.repository;
 
 import com.zero.account.domain.Account;
 import com.zero.account.domain.AccountUser;
+import com.zero.account.dto.AccountDetail;
+import com.zero.account.dto.AccountDto;
+import com.zero.account.type.BalanceMode;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import javax.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -17,4 +27,75 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
 
     List<Account> findByAccountUser(AccountUser accountUser);
 
+    /**
+     * 사용자의 계좌 목록을 DTO 로 바로 조회 (엔티티, 사용자를 읽지 않음)
+     * slot 계좌의 잔액은 slot 잔액의 합, 원장 계좌는 snapshot 잔액 + 이후 원장 합을 같은 쿼리에서 구한다.
+     * (계좌는 slot, 원장 중 한 방식만 쓰므로 두 join 이 row 를 불리지 않는다)
+     */
+    @Query("select new com.zero.account.dto.AccountDto("
+        + "     a.accountUser.id, a.accountNumber,"
+        + "     case when a.balanceMode = com.zero.account.type.BalanceMode.SLOTTED"
+        + "          then coalesce(sum(s.balance), 0L)"
+        + "          when a.balanceMode = com.zero.account.type.BalanceMode.LEDGER"
+        + "          then (a.balance + coalesce(sum(e.amount), 0L))"
+        + "          else a.balance end,"
+        + "     a.registeredAt, a.unRegisteredAt)"
+        + " from Account a left join AccountBalanceSlot s on s.account = a"
+        + "     left join AccountLedgerEntry e on e.account = a and e.entryNo > a.ledgerEntryNo"
+        + " where a.accountUser.id = :userId"
+        + " group by a.id, a.accountUser.id, a.accountNumber, a.balanceMode, a.balance,"
+        + "     a.ledgerEntryNo, a.registeredAt, a.unRegisteredAt"
+        + " order by a.id")
+    List<AccountDto> findAccountDtosByUserId(@Param("userId") Long userId);
+
+    /**
+     * 계좌 한 건을 응답 DTO 로 바로 조회 (잔액 계산은 findAccountDtosByUserId 와 같음)
+     */
+    @Query("select new com.zero.account.dto.AccountDetail("
+        + "     a.accountUser.id, a.accountNumber, a.accountStatus,"
+        + "     case when a.balanceMode = com.zero.account.type.BalanceMode.SLOTTED"
+        + "          then coalesce(sum(s.balance), 0L)"
+        + "          when a.balanceMode = com.zero.account.type.BalanceMode.LEDGER"
+        + "          then (a.balance + coalesce(sum(e.amount), 0L))"
+        + "          else a.balance end,"
+        + "     a.registeredAt, a.unRegisteredAt)"
+        + " from Account a left join AccountBalanceSlot s on s.account = a"
+        + "     left join AccountLedgerEntry e on e.account = a and e.entryNo > a.ledgerEntryNo"
+        + " where a.id = :id"
+        + " group by a.id, a.accountUser.id, a.accountNumber, a.accountStatus, a.balanceMode,"
+        + "     a.balance, a.ledgerEntryNo, a.registeredAt, a.unRegisteredAt")
+    Optional<AccountDetail> findDetailById(@Param("id") Long id);
+
+    /**
+     * 계좌 row 락만 잡는다. (원장 계좌의 잔액 확인과 원장 번호 발급을 직렬화)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") Long id);
+
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    @Query("select a.accountNumber from Account a where a.balanceMode = :balanceMode")
+    List<String> findAccountNumbersByBalanceMode(@Param("balanceMode") BalanceMode balanceMode);
+
+    /**
+     * 소유주, 계좌 상태, 잔액 확인과 차감을 한 번의 UPDATE 로 처리
+     * (slot 으로 나뉜 계좌는 대상이 아니다)
+     * @return 차감된 row 수 (0 이면 검증 실패)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a"
+        + " set a.balance = a.balance - :amount,"
+        + "     a.version = a.version + 1,"
+        + "     a.updatedAt = :now"
+        + " where a.accountNumber = :accountNumber"
+        + "   and a.accountUser.id = :userId"
+        + "   and a.accountStatus = com.zero.account.type.AccountStatus.IN_USE"
+        + "   and a.balanceMode = com.zero.account.type.BalanceMode.STANDARD"
+        + "   and a.balance >= :amount")
+    int debitBalance(
+        @Param("accountNumber") String accountNumber,
+        @Param("userId") Long userId,
+        @Param("amount") Long amount,
+        @Param("now") LocalDateTime now);
 }
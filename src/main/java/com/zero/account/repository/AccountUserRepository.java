@@ -1,12 +1,20 @@
 package com.zero.account.repository;
 
-import com.zero.account.domain.Account;
+import com.zero.account.config.CacheConfig;
 import com.zero.account.domain.AccountUser;
 import java.util.Optional;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AccountUserRepository extends JpaRepository<AccountUser, Long> {
-
+    /**
+     * 사용자는 거의 바뀌지 않으므로 로컬 캐시에서 먼저 찾는다. (없는 사용자는 캐시하지 않음)
+     * 캐시된 엔티티는 여러 요청이 같이 쓰는 detached 객체라 직접 수정하지 않는다.
+     * 수정/삭제 시 캐시는 AccountUserCacheEvictor 가 커밋 이후에 비운다.
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.ACCOUNT_USER, unless = "#result == null")
+    Optional<AccountUser> findById(Long id);
 }
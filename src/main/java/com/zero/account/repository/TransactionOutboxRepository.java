@@ -0,0 +1,20 @@
+package com.zero.account.repository;
+
+import com.zero.account.domain.TransactionOutbox;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface TransactionOutboxRepository extends JpaRepository<TransactionOutbox, Long> {
+    /**
+     * 발행 대기 중인 이벤트를 오래된 순으로
+     * 이미 삭제한 이벤트를 다시 읽지 않도록 replica 가 아닌 primary 에서 읽는다. (readOnly 아님)
+     */
+    @Transactional
+    @Query("select o from TransactionOutbox o order by o.id")
+    List<TransactionOutbox> findOldest(Pageable pageable);
+}
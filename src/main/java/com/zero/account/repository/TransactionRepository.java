@@ -1,11 +1,79 @@
 package com.zero.account.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 import com.zero.account.domain.Transaction;
+import com.zero.account.dto.TransactionExport;
+import com.zero.account.dto.TransactionHistory;
+import com.zero.account.type.TransactionResultType;
+import com.zero.account.type.TransactionType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+    String EXPORT_FETCH_SIZE = "1000";
+
     Optional<Transaction> findByTransactionId(String transactionId);
+
+    List<Transaction> findByTransactionIdIn(Collection<String> transactionIds);
+
+    /**
+     * 계좌 거래 내역 (최신순) : (transactedAt, id) 가 기준보다 앞선 거래부터 조회
+     * OFFSET 없이 (account_id, transacted_at, id) 인덱스를 기준 위치부터 읽으므로
+     * 뒤 페이지도 첫 페이지와 같은 비용이 든다.
+     * transactedAt <= 조건은 인덱스 범위를 좁히기 위한 것 (OR 조건만으로는 범위를 못 잡음)
+     * 정렬에 account.id 를 앞에 두어야 H2 가 정렬 없이 인덱스 순서대로 읽고 LIMIT 에서 멈춘다.
+     */
+    @Query("select new com.zero.account.dto.TransactionHistory$Item("
+        + "     t.id, t.transactionId, t.transactionType, t.transactionResultType,"
+        + "     t.amount, t.balanceSnapshot, t.transactedAt)"
+        + " from Transaction t"
+        + " where t.account.id = :accountId"
+        + "   and t.transactedAt <= :transactedAt"
+        + "   and (t.transactedAt < :transactedAt or t.id < :id)"
+        + "   and (:transactionType is null or t.transactionType = :transactionType)"
+        + "   and (:resultType is null or t.transactionResultType = :resultType)"
+        + " order by t.account.id desc, t.transactedAt desc, t.id desc")
+    List<TransactionHistory.Item> findHistory(
+        @Param("accountId") Long accountId,
+        @Param("transactedAt") LocalDateTime transactedAt,
+        @Param("id") Long id,
+        @Param("transactionType") TransactionType transactionType,
+        @Param("resultType") TransactionResultType resultType,
+        Pageable pageable);
+
+    /**
+     * 기간 내 모든 거래 (대사용 내보내기) : [from, to)
+     * 결과를 List 로 모으지 않고 forward-only 커서로 fetch size 만큼씩 읽는다.
+     * 계좌 번호를 join 으로 가져오면 H2 가 account 부터 읽고 기간 전체를 정렬하므로
+     * 계좌별 PK 조회(서브쿼리)로 가져와 transacted_at 인덱스 순서대로 읽게 한다.
+     * 트랜잭션 안에서 사용하고, 다 읽으면 Stream 을 닫아야 한다.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select new com.zero.account.dto.TransactionExport$Row("
+        + "     t.transactionId,"
+        + "     (select a.accountNumber from Account a where a.id = t.account.id),"
+        + "     t.transactionType, t.transactionResultType, t.amount, t.balanceSnapshot,"
+        + "     t.transactedAt)"
+        + " from Transaction t"
+        + " where t.transactedAt >= :from and t.transactedAt < :to"
+        + " order by t.transactedAt, t.id")
+    Stream<TransactionExport.Row> streamForExport(
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to);
 }
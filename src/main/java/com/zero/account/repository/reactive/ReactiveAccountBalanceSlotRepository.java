@@ -0,0 +1,63 @@
+package com.zero.account.repository.reactive;
+
+import com.zero.account.domain.reactive.AccountBalanceSlotRow;
+import java.time.LocalDateTime;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * AccountBalanceSlotRepository 의 쿼리를 R2DBC 로 옮긴 것
+ */
+public interface ReactiveAccountBalanceSlotRepository
+    extends R2dbcRepository<AccountBalanceSlotRow, Long> {
+    /**
+     * slot 잔액이 충분할 때만 차감
+     * @return 차감된 row 수 (0 이면 slot 잔액 부족)
+     */
+    @Modifying
+    @Query("update account_balance_slot"
+        + " set balance = balance - :amount, updated_at = :now"
+        + " where account_id = :accountId"
+        + "   and slot_index = :slotIndex"
+        + "   and balance >= :amount")
+    Mono<Integer> debit(
+        @Param("accountId") Long accountId,
+        @Param("slotIndex") int slotIndex,
+        @Param("amount") Long amount,
+        @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update account_balance_slot"
+        + " set balance = balance + :amount, updated_at = :now"
+        + " where account_id = :accountId"
+        + "   and slot_index = :slotIndex")
+    Mono<Integer> credit(
+        @Param("accountId") Long accountId,
+        @Param("slotIndex") int slotIndex,
+        @Param("amount") Long amount,
+        @Param("now") LocalDateTime now);
+
+    @Query("select coalesce(sum(balance), 0) from account_balance_slot"
+        + " where account_id = :accountId")
+    Mono<Long> sumBalance(@Param("accountId") Long accountId);
+
+    // 여러 slot 을 함께 옮길 때 slot 전체를 잠근다.
+    @Query("select * from account_balance_slot"
+        + " where account_id = :accountId"
+        + " order by slot_index"
+        + " for update")
+    Flux<AccountBalanceSlotRow> findByAccountIdForUpdate(@Param("accountId") Long accountId);
+
+    @Modifying
+    @Query("update account_balance_slot"
+        + " set balance = :balance, updated_at = :now"
+        + " where id = :id")
+    Mono<Integer> updateBalance(
+        @Param("id") Long id,
+        @Param("balance") Long balance,
+        @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,26 @@
+package com.zero.account.repository.reactive;
+
+import com.zero.account.domain.reactive.AccountLedgerEntryRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Mono;
+
+/**
+ * AccountLedgerEntryRepository 의 쿼리를 R2DBC 로 옮긴 것
+ */
+public interface ReactiveAccountLedgerEntryRepository
+    extends R2dbcRepository<AccountLedgerEntryRow, Long> {
+    @Query("select coalesce(max(entry_no), 0) from account_ledger_entry"
+        + " where account_id = :accountId")
+    Mono<Long> findLastEntryNo(@Param("accountId") Long accountId);
+
+    @Query("select coalesce(sum(amount), 0) from account_ledger_entry"
+        + " where account_id = :accountId"
+        + "   and entry_no > :entryNo")
+    Mono<Long> sumAfter(@Param("accountId") Long accountId, @Param("entryNo") Long entryNo);
+
+    // JPA 와 같은 sequence (pooled-lo : 값 v 가 [v, v + allocationSize) 구간을 뜻한다)
+    @Query("select next value for account_ledger_entry_seq")
+    Mono<Long> nextSequenceValue();
+}
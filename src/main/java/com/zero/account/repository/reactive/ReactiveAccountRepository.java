@@ -0,0 +1,60 @@
+package com.zero.account.repository.reactive;
+
+import com.zero.account.domain.reactive.AccountRow;
+import java.time.LocalDateTime;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Mono;
+
+/**
+ * AccountRepository 의 잔액 사용/취소에 쓰는 쿼리를 R2DBC 로 옮긴 것
+ */
+public interface ReactiveAccountRepository extends R2dbcRepository<AccountRow, Long> {
+    Mono<AccountRow> findByAccountNumber(String accountNumber);
+
+    @Query("select count(*) > 0 from account_user where id = :userId")
+    Mono<Boolean> existsAccountUser(@Param("userId") Long userId);
+
+    /**
+     * AccountRepository.debitBalance 와 같은 조건의 UPDATE
+     * @return 차감된 row 수 (0 이면 검증 실패)
+     */
+    @Modifying
+    @Query("update account"
+        + " set balance = balance - :amount,"
+        + "     version = version + 1,"
+        + "     updated_at = :now"
+        + " where account_number = :accountNumber"
+        + "   and account_user_id = :userId"
+        + "   and account_status = 'IN_USE'"
+        + "   and balance_mode = 'STANDARD'"
+        + "   and balance >= :amount")
+    Mono<Integer> debitBalance(
+        @Param("accountNumber") String accountNumber,
+        @Param("userId") Long userId,
+        @Param("amount") Long amount,
+        @Param("now") LocalDateTime now);
+
+    /**
+     * 취소 금액 가산 (JPA 쪽 엔티티 변경과 같이 version 을 올려 낙관적 락 충돌을 알린다)
+     */
+    @Modifying
+    @Query("update account"
+        + " set balance = balance + :amount,"
+        + "     version = version + 1,"
+        + "     updated_at = :now"
+        + " where id = :id")
+    Mono<Integer> creditBalance(
+        @Param("id") Long id,
+        @Param("amount") Long amount,
+        @Param("now") LocalDateTime now);
+
+    // 계좌 row 락만 잡는다. (AccountRepository.findByIdForUpdate)
+    @Query("select id from account where id = :id for update")
+    Mono<Long> lockById(@Param("id") Long id);
+
+    @Query("select balance from account where id = :id")
+    Mono<Long> findBalanceById(@Param("id") Long id);
+}
@@ -0,0 +1,13 @@
+package com.zero.account.repository.reactive;
+
+import com.zero.account.domain.reactive.TransactionOutboxRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTransactionOutboxRepository
+    extends R2dbcRepository<TransactionOutboxRow, Long> {
+    // JPA 와 같은 sequence (allocationSize 1 이므로 값이 곧 id)
+    @Query("select next value for transaction_outbox_seq")
+    Mono<Long> nextSequenceValue();
+}
@@ -0,0 +1,16 @@
+package com.zero.account.repository.reactive;
+
+import com.zero.account.domain.reactive.TransactionRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTransactionRepository extends R2dbcRepository<TransactionRow, Long> {
+    Mono<TransactionRow> findByTransactionId(String transactionId);
+
+    /**
+     * JPA 와 같은 sequence (pooled-lo : 값 v 가 [v, v + allocationSize) 구간을 뜻한다)
+     */
+    @Query("select next value for transaction_seq")
+    Mono<Long> nextSequenceValue();
+}
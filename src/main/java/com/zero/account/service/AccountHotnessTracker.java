@@ -0,0 +1,85 @@
+package com.zero.account.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 계좌별 낙관적 락 충돌 비율 추적
+ * 일정 시간(window) 동안 충돌 비율이 기준을 넘으면 그 계좌는 hot 으로 보고,
+ * 다음 window 동안은 재시도 대신 락을 잡도록 한다.
+ */
+@Component
+public class AccountHotnessTracker {
+    private final long windowMs;
+    private final double hotConflictRatio;
+    private final int minAttempts;
+    private final int maxTracked;
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    public AccountHotnessTracker(
+        @Value("${account.concurrency.hot.window-ms:10000}") long windowMs,
+        @Value("${account.concurrency.hot.conflict-ratio:0.2}") double hotConflictRatio,
+        @Value("${account.concurrency.hot.min-attempts:20}") int minAttempts,
+        @Value("${account.concurrency.hot.max-tracked:100000}") int maxTracked
+    ) {
+        this.windowMs = windowMs;
+        this.hotConflictRatio = hotConflictRatio;
+        this.minAttempts = minAttempts;
+        this.maxTracked = maxTracked;
+    }
+
+    public boolean isHot(String accountNumber) {
+        Window window = windows.get(accountNumber);
+        return window != null && window.hotUntil > System.currentTimeMillis();
+    }
+
+    /**
+     * @param accountNumber 계좌 번호
+     * @param conflicts 한 번의 요청에서 발생한 충돌(재시도) 횟수
+     */
+    public void record(String accountNumber, int conflicts) {
+        long now = System.currentTimeMillis();
+        if (conflicts == 0 && !windows.containsKey(accountNumber)) {
+            // 충돌이 없는 계좌는 추적하지 않는다.
+            return;
+        }
+        if (windows.size() >= maxTracked) {
+            windows.values().removeIf(window -> window.isIdle(now));
+        }
+
+        Window window = windows.computeIfAbsent(accountNumber, key -> new Window(now));
+        window.rotateIfExpired(now);
+        long attempts = window.attempts.addAndGet(conflicts + 1);
+        long conflicted = window.conflicts.addAndGet(conflicts);
+        if (attempts >= minAttempts && conflicted >= attempts * hotConflictRatio) {
+            window.hotUntil = now + windowMs;
+        }
+    }
+
+    private final class Window {
+        private final AtomicLong attempts = new AtomicLong();
+        private final AtomicLong conflicts = new AtomicLong();
+        private volatile long startedAt;
+        private volatile long hotUntil;
+
+        Window(long now) {
+            this.startedAt = now;
+        }
+
+        void rotateIfExpired(long now) {
+            if (now - startedAt > windowMs) {
+                // 통계용이므로 동시에 초기화되어도 무방
+                startedAt = now;
+                attempts.set(0);
+                conflicts.set(0);
+            }
+        }
+
+        boolean isIdle(long now) {
+            return hotUntil < now && now - startedAt > windowMs;
+        }
+    }
+}
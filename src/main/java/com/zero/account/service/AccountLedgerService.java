@@ -0,0 +1,167 @@
+package com.zero.account.service;
+
+import com.zero.account.domain.Account;
+import com.zero.account.domain.AccountBalanceSnapshot;
+import com.zero.account.domain.AccountLedgerEntry;
+import com.zero.account.exception.AccountException;
+import com.zero.account.repository.AccountBalanceSnapshotRepository;
+import com.zero.account.repository.AccountLedgerEntryRepository;
+import com.zero.account.repository.AccountRepository;
+import com.zero.account.type.AccountStatus;
+import com.zero.account.type.BalanceMode;
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.TransactionType;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 원장(LEDGER) 계좌의 잔액 관리
+ * 1. 결제/취소 : 계좌 row 를 잠그고 원장에 한 건 추가 (Account row 는 갱신하지 않음)
+ * 2. 잔액 : Account.balance(마지막 snapshot) + 이후 원장의 합
+ * 3. snapshot : 쌓인 원장이 snapshot-min-entries 이상이면 잔액을 접어 둔다. (주기 작업)
+ *    이후 잔액 계산은 snapshot 뒤의 원장만 읽는다.
+ * 4. 특정 시점의 잔액 : 그 시점 이전의 마지막 snapshot + 그 시점까지의 원장
+ */
+@Slf4j
+@Service
+public class AccountLedgerService {
+    private final AccountRepository accountRepository;
+    private final AccountLedgerEntryRepository accountLedgerEntryRepository;
+    private final AccountBalanceSnapshotRepository accountBalanceSnapshotRepository;
+    private final long snapshotMinEntries;
+
+    public AccountLedgerService(
+        AccountRepository accountRepository,
+        AccountLedgerEntryRepository accountLedgerEntryRepository,
+        AccountBalanceSnapshotRepository accountBalanceSnapshotRepository,
+        @Value("${account.ledger.snapshot-min-entries:1000}") long snapshotMinEntries
+    ) {
+        this.accountRepository = accountRepository;
+        this.accountLedgerEntryRepository = accountLedgerEntryRepository;
+        this.accountBalanceSnapshotRepository = accountBalanceSnapshotRepository;
+        this.snapshotMinEntries = snapshotMinEntries;
+    }
+
+    /**
+     * 계좌를 원장 방식으로 바꾼다. 현재 잔액이 첫 snapshot 이 된다.
+     */
+    @Transactional
+    public Account enableLedger(String accountNumber) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+            .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        if (account.getAccountStatus() != AccountStatus.IN_USE) {
+            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        }
+        if (account.getBalanceMode() != BalanceMode.STANDARD) {
+            throw new AccountException(ErrorCode.BALANCE_MODE_ALREADY_CHANGED);
+        }
+
+        account.setBalanceMode(BalanceMode.LEDGER);
+        account.setLedgerEntryNo(0L);
+        accountBalanceSnapshotRepository.save(AccountBalanceSnapshot.builder()
+            .account(account)
+            .entryNo(0L)
+            .balance(account.getBalance())
+            .transactedAt(LocalDateTime.now())
+            .build());
+        return account;
+    }
+
+    public List<String> getLedgerAccountNumbers() {
+        return accountRepository.findAccountNumbersByBalanceMode(BalanceMode.LEDGER);
+    }
+
+    public long getBalance(Account account) {
+        return account.getBalance()
+            + accountLedgerEntryRepository.sumAfter(account.getId(), account.getLedgerEntryNo());
+    }
+
+    /**
+     * 호출하는 쪽 트랜잭션에서 실행
+     * @return 차감 후 계좌 잔액
+     */
+    public long debit(Account account, long amount) {
+        long balance = lockAndGetBalance(account);
+        if (balance < amount) {
+            throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+        }
+        append(account, TransactionType.USE, -amount);
+        return balance - amount;
+    }
+
+    /**
+     * 호출하는 쪽 트랜잭션에서 실행
+     * @return 가산 후 계좌 잔액
+     */
+    public long credit(Account account, long amount) {
+        long balance = lockAndGetBalance(account);
+        append(account, TransactionType.CANCEL, amount);
+        return balance + amount;
+    }
+
+    /**
+     * 계좌 row 는 잠그기만 한다.
+     * 먼저 읽은 Account 가 다른 snapshot 이전 값이어도 그 뒤의 원장을 모두 더하므로 잔액은 같다.
+     */
+    private long lockAndGetBalance(Account account) {
+        accountRepository.findByIdForUpdate(account.getId());
+        return getBalance(account);
+    }
+
+    private void append(Account account, TransactionType entryType, long amount) {
+        accountLedgerEntryRepository.save(AccountLedgerEntry.builder()
+            .account(account)
+            .entryNo(accountLedgerEntryRepository.findLastEntryNo(account.getId()) + 1)
+            .entryType(entryType)
+            .amount(amount)
+            .transactedAt(LocalDateTime.now())
+            .build());
+    }
+
+    @Transactional
+    public void snapshot(String accountNumber) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+            .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        if (!account.isLedger()) {
+            return;
+        }
+
+        long balance = lockAndGetBalance(account);
+        long lastEntryNo = accountLedgerEntryRepository.findLastEntryNo(account.getId());
+        if (lastEntryNo - account.getLedgerEntryNo() < snapshotMinEntries) {
+            return;
+        }
+        accountBalanceSnapshotRepository.save(AccountBalanceSnapshot.builder()
+            .account(account)
+            .entryNo(lastEntryNo)
+            .balance(balance)
+            .transactedAt(accountLedgerEntryRepository
+                .findTransactedAt(account.getId(), lastEntryNo)
+                .orElseGet(LocalDateTime::now))
+            .build());
+        account.setBalance(balance);
+        account.setLedgerEntryNo(lastEntryNo);
+        log.debug("ledger snapshot at entry {} : {}", lastEntryNo, accountNumber);
+    }
+
+    /**
+     * 특정 시점의 잔액 (원장 방식으로 바꾼 이후만)
+     */
+    @Transactional(readOnly = true)
+    public long getBalanceAt(String accountNumber, LocalDateTime at) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+            .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        if (!account.isLedger()) {
+            throw new AccountException(ErrorCode.BALANCE_NOT_LEDGER);
+        }
+        AccountBalanceSnapshot snapshot = accountBalanceSnapshotRepository
+            .findFirstByAccountAndTransactedAtLessThanEqualOrderByEntryNoDesc(account, at)
+            .orElseThrow(() -> new AccountException(ErrorCode.INVALID_REQUEST));
+        return snapshot.getBalance() + accountLedgerEntryRepository.sumAfterUntil(
+            account.getId(), snapshot.getEntryNo(), at);
+    }
+}
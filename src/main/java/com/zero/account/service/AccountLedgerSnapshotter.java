@@ -0,0 +1,31 @@
+package com.zero.account.service;
+
+import com.zero.account.exception.AccountException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 원장 계좌 주기 작업 : snapshot 을 남겨 잔액 계산 시 읽는 원장 수를 제한
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountLedgerSnapshotter {
+    private final AccountLedgerService accountLedgerService;
+
+    @Scheduled(fixedDelayString = "${account.ledger.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        for (String accountNumber : accountLedgerService.getLedgerAccountNumbers()) {
+            try {
+                // 계좌마다 짧은 트랜잭션
+                accountLedgerService.snapshot(accountNumber);
+            } catch (AccountException | DataAccessException e) {
+                // 다른 노드가 먼저 snapshot 을 남긴 경우 등은 다음 주기에 다시 시도
+                log.error("ledger snapshot failed : {}", accountNumber, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.zero.account.service;
+
+import com.zero.account.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * 잔액이 바뀐 사용자의 계좌 목록 캐시 무효화
+ * (캐시가 트랜잭션 인지형이라 실제 삭제는 커밋 이후에 일어난다)
+ */
+@Component
+public class AccountListCacheEvictor {
+    private final Cache cache;
+
+    public AccountListCacheEvictor(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfig.ACCOUNTS_BY_USER);
+    }
+
+    public void evict(Long userId) {
+        if (cache != null && userId != null) {
+            cache.evict(userId);
+        }
+    }
+}
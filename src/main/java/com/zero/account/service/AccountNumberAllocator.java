@@ -0,0 +1,135 @@
+package com.zero.account.service;
+
+import com.zero.account.repository.AccountRepository;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * 계좌 번호 발급기
+ * 1. DB 의 high-water mark 에서 블록 단위로 번호 범위를 선점
+ * 2. 블록 안의 번호는 메모리의 atomic cursor 로 발급 (계좌 생성 시 추가 조회 없음)
+ * 3. 옵션: 9자리 본문 + Luhn 체크 디지트 1자리
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountNumberAllocator {
+    static final String SEQUENCE_NAME = "account_number";
+
+    private static final long FIRST_NUMBER = 1_000_000_000L;
+    private static final long LAST_NUMBER = 9_999_999_999L;
+
+    private final AccountNumberBlockReserver accountNumberBlockReserver;
+    private final AccountRepository accountRepository;
+
+    @Value("${account.number.block-size:100}")
+    private int blockSize;
+
+    @Value("${account.number.check-digit:false}")
+    private boolean checkDigitEnabled;
+
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private volatile Block block = Block.EMPTY;
+
+    public String nextAccountNumber() {
+        while (true) {
+            Block current = block;
+            long body = current.next();
+            if (body >= 0) {
+                return format(body);
+            }
+            refill(current);
+        }
+    }
+
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            // 다른 스레드가 먼저 채웠으면 그 블록을 사용
+            if (block == exhausted) {
+                long start = reserveBlock();
+                if (start + blockSize - 1 > lastBody()) {
+                    throw new IllegalStateException("account number space exhausted");
+                }
+                block = new Block(start, start + blockSize);
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    /**
+     * 시퀀스 row 가 아직 없을 때 두 노드가 동시에 만들면 한쪽은 PK 충돌로 커밋에 실패한다.
+     * 그 사이 row 가 생겼으므로 새 트랜잭션에서 한 번 더 잠그고 선점한다.
+     */
+    private long reserveBlock() {
+        try {
+            return accountNumberBlockReserver.reserve(SEQUENCE_NAME, blockSize, this::initialBody);
+        } catch (DataIntegrityViolationException e) {
+            return accountNumberBlockReserver.reserve(SEQUENCE_NAME, blockSize, this::initialBody);
+        }
+    }
+
+    /**
+     * 시퀀스가 처음 만들어질 때만 호출된다.
+     * 기존 계좌가 있다면 가장 최근 계좌 번호 다음부터 발급한다.
+     */
+    private long initialBody() {
+        return accountRepository.findFirstByOrderByIdDesc()
+            .map(account -> Long.parseLong(account.getAccountNumber()))
+            .map(lastNumber -> checkDigitEnabled ? lastNumber / 10 + 1 : lastNumber + 1)
+            .orElse(firstBody());
+    }
+
+    private long firstBody() {
+        return checkDigitEnabled ? FIRST_NUMBER / 10 : FIRST_NUMBER;
+    }
+
+    private long lastBody() {
+        return checkDigitEnabled ? LAST_NUMBER / 10 : LAST_NUMBER;
+    }
+
+    private String format(long body) {
+        if (!checkDigitEnabled) {
+            return Long.toString(body);
+        }
+        return Long.toString(body) + luhnCheckDigit(body);
+    }
+
+    static int luhnCheckDigit(long body) {
+        int sum = 0;
+        boolean doubleDigit = true; // 체크 디지트 바로 앞자리부터 2배
+        for (long n = body; n > 0; n /= 10) {
+            int digit = (int) (n % 10);
+            if (doubleDigit) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleDigit = !doubleDigit;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private static final class Block {
+        static final Block EMPTY = new Block(0, 0);
+
+        private final AtomicLong cursor;
+        private final long end;
+
+        Block(long start, long end) {
+            this.cursor = new AtomicLong(start);
+            this.end = end;
+        }
+
+        long next() {
+            long value = cursor.getAndIncrement();
+            return value < end ? value : -1;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.zero.account.service;
+
+import com.zero.account.domain.AccountNumberSequence;
+import com.zero.account.repository.AccountNumberSequenceRepository;
+import java.util.function.LongSupplier;
+import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * 계좌 번호 블록 선점
+ * 계좌 생성 트랜잭션과 분리된 짧은 트랜잭션에서 high-water mark 를 블록 크기만큼 올린다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountNumberBlockReserver {
+    private final AccountNumberSequenceRepository accountNumberSequenceRepository;
+
+    /**
+     * @param name 시퀀스 이름
+     * @param blockSize 선점할 번호 개수
+     * @param initialValue 시퀀스가 아직 없을 때 시작 값 (최초 1회만 호출)
+     * @return 선점한 블록의 시작 값
+     * @throws DataIntegrityViolationException 다른 노드가 같은 시퀀스를 먼저 만든 경우 (커밋 시)
+     */
+    @Transactional(TxType.REQUIRES_NEW)
+    public long reserve(String name, int blockSize, LongSupplier initialValue) {
+        AccountNumberSequence sequence = accountNumberSequenceRepository.findByNameForUpdate(name)
+            .orElseGet(() -> AccountNumberSequence.builder()
+                .name(name)
+                .nextValue(initialValue.getAsLong())
+                .build());
+
+        long start = sequence.reserve(blockSize);
+        accountNumberSequenceRepository.save(sequence);
+        return start;
+    }
+}
@@ -2,27 +2,34 @@ package com.zero.account.service;
 
 import static com.zero.account.type.ErrorCode.*;
 
+import com.zero.account.config.CacheConfig;
 import com.zero.account.domain.Account;
 import com.zero.account.domain.AccountUser;
+import com.zero.account.dto.AccountDetail;
 import com.zero.account.dto.AccountDto;
 import com.zero.account.exception.AccountException;
 import com.zero.account.repository.AccountRepository;
 import com.zero.account.repository.AccountUserRepository;
 import com.zero.account.type.AccountStatus;
+import com.zero.account.type.BalanceMode;
 import com.zero.account.type.ErrorCode;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
-import javax.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor // 꼭 필요한 요소를 (private 타입) 삽입
 public class AccountService {
     private final AccountRepository accountRepository;
     private final AccountUserRepository accountUserRepository;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final BalanceSlotService balanceSlotService;
+    private final AccountLedgerService accountLedgerService;
     /**
      * 사용자가 있는지 확인
      * 계좌의 번호 생성
@@ -31,6 +38,7 @@ public class AccountService {
      * @param initialBalance
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ACCOUNTS_BY_USER, key = "#p0")
     public AccountDto creatAccount(Long userId, Long initialBalance) {
         // 유저가 없으면 에러 발생
         AccountUser accountUser = accountUserRepository.findById(userId)
@@ -39,31 +47,36 @@ public class AccountService {
         if(accountRepository.countByAccountUser(accountUser) == 10) {
             throw new AccountException(MAX_ACCOUNT_PER_USER_10);
         }
-        // 새 계정 생성 시, 최근 계좌 번호 + 1의 값으로 계좌 번호 생성
-        String newAccountNumber = accountRepository.findFirstByOrderByIdDesc()
-            .map(account -> (Integer.parseInt(account.getAccountNumber())) + 1 + "")
-            .orElse("1000000000");
+        // 새 계정 생성 시, 노드가 선점한 번호 블록에서 계좌 번호 발급
+        String newAccountNumber = accountNumberAllocator.nextAccountNumber();
 
         return AccountDto.fromEntity(
             accountRepository.save(
                 Account.builder()
                     .accountUser(accountUser)
                     .accountStatus(AccountStatus.IN_USE)
+                    .balanceMode(BalanceMode.STANDARD)
                     .accountNumber(newAccountNumber)
                     .balance(initialBalance)
                     .registeredAt(LocalDateTime.now())
                     .build())
         );
     }
-    @Transactional
-    public Account getAccount(Long id) {
-        if (id < 0) {
-            throw new RuntimeException("Minus");
+    /**
+     * 계좌 한 건 (응답에 필요한 컬럼만 조회)
+     * 읽기 전용 : replica 라우팅이 켜져 있으면 replica 에서 읽는다.
+     */
+    @Transactional(readOnly = true)
+    public AccountDetail getAccount(Long id) {
+        if (id == null || id < 1) {
+            throw new AccountException(INVALID_REQUEST);
         }
-        return accountRepository.findById(id).get();
+        return accountRepository.findDetailById(id)
+            .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ACCOUNTS_BY_USER, key = "#p0")
     public AccountDto deleteAccount(Long userId, String accountNumber) {
         AccountUser accountUser = accountUserRepository.findById(userId)
             .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
@@ -87,20 +100,28 @@ public class AccountService {
         if (account.getAccountStatus() == AccountStatus.UNREGISTERED) {
             throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
         }
-        if (account.getBalance() > 0) {
+        long balance = account.isSlotted() ? balanceSlotService.getBalance(account)
+            : account.isLedger() ? accountLedgerService.getBalance(account)
+            : account.getBalance();
+        if (balance > 0) {
             throw new AccountException(BALANCE_NOT_EMPTY);
         }
     }
 
+    /**
+     * 사용자의 계좌 목록 (잔액 포함)
+     * 로컬 + Redis 캐시에서 먼저 찾고, 같은 사용자의 동시 miss 는 한 번만 조회한다. (sync)
+     * 잔액/계좌가 바뀌면 커밋 이후에 캐시를 비운다.
+     * 캐시를 채우는 조회라 replica 가 아닌 primary 에서 읽는다.
+     * (비운 직후 replica 의 지연된 잔액이 캐시되면 remote-ttl 동안 남는다)
+     */
     @Transactional
+    @Cacheable(cacheNames = CacheConfig.ACCOUNTS_BY_USER, key = "#p0", sync = true)
     public List<AccountDto> getAccountsbyUserId(Long userId) {
-        AccountUser accountUser = accountUserRepository.findById(userId)
-            .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
-        List<Account> accounts = accountRepository
-            .findByAccountUser(accountUser);
-
-        return accounts.stream()
-            .map(AccountDto::fromEntity)
-            .collect(Collectors.toList());
+        if (!accountUserRepository.findById(userId).isPresent()) {
+            throw new AccountException(USER_NOT_FOUND);
+        }
+        // slot 계좌의 잔액(slot 잔액의 합)까지 한 번의 조회로 DTO 를 만든다.
+        return accountRepository.findAccountDtosByUserId(userId);
     }
 }
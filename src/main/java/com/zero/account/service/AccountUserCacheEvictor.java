@@ -0,0 +1,84 @@
+package com.zero.account.service;
+
+import com.zero.account.config.CacheConfig;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 사용자 캐시 무효화
+ * 1. 사용자가 수정/삭제되면 커밋 이후에 이 노드의 캐시를 비운다.
+ *    (커밋 전에 비우면 그 사이 다른 요청이 이전 값을 다시 캐시할 수 있다)
+ * 2. fan-out 이 켜져 있으면 Redis topic 으로 다른 노드에도 알린다.
+ */
+@Slf4j
+@Component
+public class AccountUserCacheEvictor {
+    static final String TOPIC = "account-user-cache:evict";
+
+    private final Cache cache;
+    private final RTopic topic;
+    private int listenerId = -1;
+
+    public AccountUserCacheEvictor(
+        CacheManager cacheManager,
+        RedissonClient redissonClient,
+        @Value("${account.cache.account-user.fan-out:false}") boolean fanOut
+    ) {
+        this.cache = cacheManager.getCache(CacheConfig.ACCOUNT_USER);
+        this.topic = fanOut ? redissonClient.getTopic(TOPIC) : null;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        if (topic != null) {
+            listenerId = topic.addListener(Long.class, (channel, userId) -> evictLocal(userId));
+        }
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (topic != null && listenerId >= 0) {
+            topic.removeListener(listenerId);
+        }
+    }
+
+    public void evictAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(userId);
+            }
+        });
+    }
+
+    private void evict(Long userId) {
+        evictLocal(userId);
+        if (topic != null) {
+            try {
+                topic.publish(userId);
+            } catch (RuntimeException e) {
+                // 다른 노드는 TTL 이 지나면 새 값을 읽는다.
+                log.error("account user cache evict publish failed : {}", userId, e);
+            }
+        }
+    }
+
+    private void evictLocal(Long userId) {
+        if (cache != null) {
+            cache.evict(userId);
+        }
+    }
+}
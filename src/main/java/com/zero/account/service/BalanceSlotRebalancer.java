@@ -0,0 +1,31 @@
+package com.zero.account.service;
+
+import com.zero.account.exception.AccountException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * slot 계좌 주기 작업
+ * 1. slot 계좌 목록 갱신 (기동 직후 포함)
+ * 2. 한쪽 slot 만 소진되면 결제가 여러 slot 을 잠그는 경로로 빠지므로 고르게 재분배
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BalanceSlotRebalancer {
+    private final BalanceSlotService balanceSlotService;
+
+    @Scheduled(fixedDelayString = "${account.balance-slot.rebalance-interval-ms:60000}")
+    public void rebalance() {
+        for (String accountNumber : balanceSlotService.refreshSlottedAccounts()) {
+            try {
+                // 계좌마다 짧은 트랜잭션
+                balanceSlotService.rebalance(accountNumber);
+            } catch (AccountException e) {
+                log.error("rebalance failed : {}", accountNumber, e);
+            }
+        }
+    }
+}
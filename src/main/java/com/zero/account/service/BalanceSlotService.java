@@ -0,0 +1,171 @@
+package com.zero.account.service;
+
+import com.zero.account.domain.Account;
+import com.zero.account.domain.AccountBalanceSlot;
+import com.zero.account.exception.AccountException;
+import com.zero.account.repository.AccountBalanceSlotRepository;
+import com.zero.account.repository.AccountRepository;
+import com.zero.account.type.AccountStatus;
+import com.zero.account.type.BalanceMode;
+import com.zero.account.type.ErrorCode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * hot 계좌의 잔액을 여러 slot 에 나누어 관리
+ * 1. 결제 : 임의의 slot 부터 잔액이 충분한 slot 하나를 조건부 UPDATE 로 차감
+ * 2. 취소 : 임의의 slot 하나에 가산
+ * 3. 조회 : slot 잔액의 합
+ * 4. 재분배 : slot 전체를 잠그고 고르게 나눈다. (주기 작업)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BalanceSlotService {
+    private final AccountRepository accountRepository;
+    private final AccountBalanceSlotRepository accountBalanceSlotRepository;
+
+    // slot 계좌 번호 (계좌 락 생략 판단용, 재분배 주기마다 갱신)
+    private final Set<String> slottedAccountNumbers = ConcurrentHashMap.newKeySet();
+
+    public boolean isSlotted(String accountNumber) {
+        return slottedAccountNumbers.contains(accountNumber);
+    }
+
+    public List<String> refreshSlottedAccounts() {
+        List<String> accountNumbers =
+            accountRepository.findAccountNumbersByBalanceMode(BalanceMode.SLOTTED);
+        slottedAccountNumbers.addAll(accountNumbers);
+        slottedAccountNumbers.retainAll(accountNumbers);
+        return accountNumbers;
+    }
+
+    /**
+     * 계좌 잔액을 slot 으로 나눈다.
+     */
+    @Transactional
+    public Account enableSlots(String accountNumber, int slotCount) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+            .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        if (account.getAccountStatus() != AccountStatus.IN_USE) {
+            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        }
+        if (account.isSlotted()) {
+            throw new AccountException(ErrorCode.BALANCE_ALREADY_SLOTTED);
+        }
+        if (account.getBalanceMode() != BalanceMode.STANDARD) {
+            throw new AccountException(ErrorCode.BALANCE_MODE_ALREADY_CHANGED);
+        }
+
+        long[] balances = distribute(account.getBalance(), slotCount);
+        List<AccountBalanceSlot> slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(AccountBalanceSlot.builder()
+                .account(account)
+                .slotIndex(i)
+                .balance(balances[i])
+                .build());
+        }
+        accountBalanceSlotRepository.saveAll(slots);
+
+        account.setBalanceMode(BalanceMode.SLOTTED);
+        account.setBalanceSlotCount(slotCount);
+        account.setBalance(0L);
+        slottedAccountNumbers.add(accountNumber);
+        return account;
+    }
+
+    public long getBalance(Account account) {
+        if (!account.isSlotted()) {
+            return account.getBalance();
+        }
+        return accountBalanceSlotRepository.sumBalance(account.getId());
+    }
+
+    /**
+     * 호출하는 쪽 트랜잭션에서 실행
+     * @return 차감 후 계좌 전체 잔액
+     */
+    public long debit(Account account, long amount) {
+        int slotCount = account.getBalanceSlotCount();
+        int start = ThreadLocalRandom.current().nextInt(slotCount);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < slotCount; i++) {
+            int slotIndex = (start + i) % slotCount;
+            if (accountBalanceSlotRepository.debit(account.getId(), slotIndex, amount, now) == 1) {
+                return accountBalanceSlotRepository.sumBalance(account.getId());
+            }
+        }
+        // slot 하나로는 부족 : slot 전체를 잠그고 여러 slot 에서 차감
+        return debitAcrossSlots(account, amount);
+    }
+
+    private long debitAcrossSlots(Account account, long amount) {
+        List<AccountBalanceSlot> slots =
+            accountBalanceSlotRepository.findByAccountOrderBySlotIndex(account);
+        long total = slots.stream().mapToLong(AccountBalanceSlot::getBalance).sum();
+        if (total < amount) {
+            throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+        }
+
+        long remaining = amount;
+        List<AccountBalanceSlot> richestFirst = new ArrayList<>(slots);
+        richestFirst.sort(Comparator.comparing(AccountBalanceSlot::getBalance).reversed());
+        for (AccountBalanceSlot slot : richestFirst) {
+            long taken = Math.min(slot.getBalance(), remaining);
+            slot.setBalance(slot.getBalance() - taken);
+            remaining -= taken;
+            if (remaining == 0) {
+                break;
+            }
+        }
+        return total - amount;
+    }
+
+    /**
+     * 호출하는 쪽 트랜잭션에서 실행
+     * @return 가산 후 계좌 전체 잔액
+     */
+    public long credit(Account account, long amount) {
+        int slotIndex = ThreadLocalRandom.current().nextInt(account.getBalanceSlotCount());
+        accountBalanceSlotRepository.credit(account.getId(), slotIndex, amount, LocalDateTime.now());
+        return accountBalanceSlotRepository.sumBalance(account.getId());
+    }
+
+    @Transactional
+    public void rebalance(String accountNumber) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+            .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        if (!account.isSlotted()) {
+            return;
+        }
+
+        List<AccountBalanceSlot> slots =
+            accountBalanceSlotRepository.findByAccountOrderBySlotIndex(account);
+        long total = slots.stream().mapToLong(AccountBalanceSlot::getBalance).sum();
+        long[] balances = distribute(total, slots.size());
+        for (int i = 0; i < slots.size(); i++) {
+            slots.get(i).setBalance(balances[i]);
+        }
+        log.debug("rebalanced {} slots : {}", slots.size(), accountNumber);
+    }
+
+    private long[] distribute(long total, int slotCount) {
+        long[] balances = new long[slotCount];
+        long share = total / slotCount;
+        long remainder = total % slotCount;
+        for (int i = 0; i < slotCount; i++) {
+            balances[i] = share + (i < remainder ? 1 : 0);
+        }
+        return balances;
+    }
+}
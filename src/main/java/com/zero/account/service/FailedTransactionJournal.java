@@ -0,0 +1,289 @@
+package com.zero.account.service;
+
+import com.zero.account.dto.FailedTransactionRecord;
+import com.zero.account.type.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * 실패 거래 기록을 요청 스레드 밖에서 모아서 저장
+ * 1. 요청 스레드는 메모리 큐에 넣기만 한다. (큐가 가득 차면 spill 파일에 기록)
+ * 2. 백그라운드 writer 가 batch-size 만큼 모아 saveAll 로 저장
+ * 3. 저장에 실패했거나 종료 시 남은 기록은 spill 파일에 남기고, 다음 기동 시 다시 저장
+ *    batch 저장이 실패하면 한 건씩 다시 저장해 DB 가 거부한 기록만 spill 한다.
+ */
+@Slf4j
+@Component
+public class FailedTransactionJournal {
+    private final TransactionService transactionService;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long shutdownTimeoutMs;
+    private final Path spillFile;
+
+    private final BlockingQueue<FailedTransactionRecord> queue;
+    private final ReentrantLock spillLock = new ReentrantLock();
+    private final Timer flushTimer;
+    private final Counter spilledCounter;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public FailedTransactionJournal(
+        TransactionService transactionService,
+        MeterRegistry meterRegistry,
+        @Value("${account.failed-journal.capacity:10000}") int capacity,
+        @Value("${account.failed-journal.batch-size:100}") int batchSize,
+        @Value("${account.failed-journal.flush-interval-ms:200}") long flushIntervalMs,
+        @Value("${account.failed-journal.shutdown-timeout-ms:5000}") long shutdownTimeoutMs,
+        @Value("${account.failed-journal.spill-file:failed-transactions.spill}") String spillFile
+    ) {
+        this.transactionService = transactionService;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.spillFile = Paths.get(spillFile);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        Gauge.builder("account.failed-transaction.queue", queue, Collection::size)
+            .register(meterRegistry);
+        this.flushTimer = Timer.builder("account.failed-transaction.flush")
+            .register(meterRegistry);
+        this.spilledCounter = Counter.builder("account.failed-transaction.spilled")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::run, "failed-transaction-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        try {
+            writer.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 제한 시간 안에 저장하지 못한 기록은 파일로
+        spillQueued();
+    }
+
+    public void record(TransactionType transactionType, String accountNumber, Long amount) {
+        FailedTransactionRecord record = FailedTransactionRecord.builder()
+            .transactionType(transactionType)
+            .accountNumber(accountNumber)
+            .amount(amount)
+            .transactedAt(LocalDateTime.now())
+            .build();
+        if (!running || !queue.offer(record)) {
+            spill(Collections.singletonList(record));
+            return;
+        }
+        // 확인과 offer 사이에 stop() 이 큐를 비웠으면 writer 가 가져가지 않는다.
+        if (!running) {
+            spillQueued();
+        }
+    }
+
+    private void spillQueued() {
+        List<FailedTransactionRecord> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            spill(remaining);
+        }
+    }
+
+    private void run() {
+        replaySpill();
+
+        List<FailedTransactionRecord> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                FailedTransactionRecord first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<FailedTransactionRecord> batch) {
+        long startedAt = System.nanoTime();
+        try {
+            transactionService.saveFailedTransactions(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                log.error("Failed transaction flush failed, spilling {}", batch.get(0).toLine(), e);
+                spill(batch);
+            } else {
+                log.warn("Failed transaction batch flush failed, retry one by one", e);
+                flushEach(batch);
+            }
+        } finally {
+            flushTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * DB 가 거부한 기록만 spill 하고 나머지는 저장
+     * 거부가 아닌 실패(연결 등)면 남은 기록을 더 시도하지 않고 모두 spill
+     */
+    private void flushEach(List<FailedTransactionRecord> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            FailedTransactionRecord record = batch.get(i);
+            try {
+                transactionService.saveFailedTransactions(Collections.singletonList(record));
+            } catch (DataIntegrityViolationException e) {
+                log.error("Failed transaction rejected, spilling {}", record.toLine(), e);
+                spill(Collections.singletonList(record));
+            } catch (RuntimeException e) {
+                log.error("Failed transaction flush failed, spilling {} records",
+                    batch.size() - i, e);
+                spill(batch.subList(i, batch.size()));
+                return;
+            }
+        }
+    }
+
+    /**
+     * 이전 실행에서 남은 spill 파일을 옮겨 두고 저장
+     * 1. 지난 replay 가 중간에 멈춰 남은 .replaying 파일을 먼저 끝낸다. (새 spill 파일로 덮지 않도록)
+     * 2. 그 다음 spill 파일을 .replaying 으로 옮겨 저장
+     * batch 를 저장할 때마다 .replaying 을 남은 기록으로 다시 써서, 재기동 시 저장한 기록을 다시 저장하지 않는다.
+     * (저장 중 다시 spill 되는 기록은 새 spill 파일에 쌓인다)
+     */
+    private void replaySpill() {
+        Path replaying = spillFile.resolveSibling(spillFile.getFileName() + ".replaying");
+        if (Files.exists(replaying) && !replay(replaying)) {
+            return;
+        }
+        spillLock.lock();
+        try {
+            if (!Files.exists(spillFile)) {
+                return;
+            }
+            Files.move(spillFile, replaying);
+        } catch (IOException e) {
+            log.error("Failed transaction spill replay failed : {}", spillFile, e);
+            return;
+        } finally {
+            spillLock.unlock();
+        }
+        replay(replaying);
+    }
+
+    /**
+     * @return 끝까지 저장하고 파일을 지웠으면 true
+     */
+    private boolean replay(Path replaying) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(replaying, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.error("Failed transaction spill replay failed : {}", replaying, e);
+            return false;
+        }
+
+        List<FailedTransactionRecord> records = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            try {
+                records.add(FailedTransactionRecord.fromLine(line));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                log.error("Skip broken spill line : {}", line);
+            }
+        }
+        log.info("Replaying {} failed transactions from {}", records.size(), replaying);
+        for (int from = 0; from < records.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, records.size());
+            flush(records.subList(from, to));
+            if (to < records.size() && !rewrite(replaying, records.subList(to, records.size()))) {
+                return false;
+            }
+        }
+
+        try {
+            Files.deleteIfExists(replaying);
+            return true;
+        } catch (IOException e) {
+            log.error("Failed to delete replayed spill file : {}", replaying, e);
+            return false;
+        }
+    }
+
+    // 남은 기록만으로 교체 (임시 파일에 쓰고 옮겨서, 중간에 멈춰도 파일이 깨지지 않게)
+    private boolean rewrite(Path replaying, List<FailedTransactionRecord> remaining) {
+        Path rewriting = replaying.resolveSibling(replaying.getFileName() + ".tmp");
+        try {
+            Files.write(rewriting, remaining.stream()
+                    .map(FailedTransactionRecord::toLine)
+                    .collect(Collectors.toList()),
+                StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.DSYNC);
+            Files.move(rewriting, replaying,
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            log.error("Failed to record spill replay progress : {}", replaying, e);
+            return false;
+        }
+    }
+
+    private void spill(List<FailedTransactionRecord> records) {
+        List<String> lines = records.stream()
+            .map(FailedTransactionRecord::toLine)
+            .collect(Collectors.toList());
+        spillLock.lock();
+        try {
+            Files.write(spillFile, lines, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+            spilledCounter.increment(records.size());
+        } catch (IOException e) {
+            // 여기까지 실패하면 남길 곳이 없다 : 로그로라도 남긴다.
+            log.error("Failed transaction spill failed : {}", lines, e);
+        } finally {
+            spillLock.unlock();
+        }
+    }
+}
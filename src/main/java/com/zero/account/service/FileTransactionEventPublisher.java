@@ -0,0 +1,50 @@
+package com.zero.account.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zero.account.dto.TransactionEvent;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기본 publisher : 이벤트를 한 줄에 하나씩 JSON 으로 파일에 추가
+ * (브로커를 붙이기 전까지 다른 프로세스가 tail 로 읽는 용도)
+ */
+@Component
+public class FileTransactionEventPublisher implements TransactionEventPublisher {
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    public FileTransactionEventPublisher(
+        ObjectMapper objectMapper,
+        @Value("${account.outbox.publisher.file:transaction-events.log}") String file
+    ) {
+        this.objectMapper = objectMapper;
+        this.file = Paths.get(file);
+    }
+
+    @Override
+    public void publish(List<TransactionEvent> events) {
+        List<String> lines = new ArrayList<>(events.size());
+        try {
+            for (TransactionEvent event : events) {
+                lines.add(objectMapper.writeValueAsString(event));
+            }
+            Files.write(file, lines, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("transaction event serialization failed", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package com.zero.account.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zero.account.dto.IdempotencyRecord;
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.IdempotencyStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Idempotency-Key 로 잔액 사용/취소를 한 번만 실행
+ * 1. 첫 요청이 Redis 에 처리 중 표시를 남기고(SETNX) 실행한 뒤, 응답(또는 거래 실패 코드)을 ttl 동안 저장
+ * 2. 같은 키의 중복 요청은 새로 실행하지 않고 첫 요청의 결과를 돌려준다.
+ *    같은 노드 : 실행 중인 요청의 결과(future)를 기다림
+ *    다른 노드 : Redis 의 결과가 저장될 때까지 poll (wait-time-ms 를 넘기면 IDEMPOTENCY_REQUEST_IN_PROGRESS)
+ * 3. 저장된 결과는 로컬 캐시에도 두어 재시도가 몰려도 Redis 를 다시 읽지 않는다.
+ * 4. 같은 키로 본문이 다른 요청은 IDEMPOTENCY_KEY_REUSED
+ * 계좌 락 대기 실패처럼 다시 시도하면 성공할 수 있는 실패는 저장하지 않고 처리 중 표시만 지운다.
+ * 처리 중 표시는 실행이 끝날 때까지 in-progress-ttl-ms / 3 마다 연장하고 (계좌 락 대기가 길어도
+ * 다른 노드가 다시 실행하지 않도록), 결과를 저장하지 못하면 ttl 동안 남겨 재실행을 막는다.
+ */
+@Slf4j
+@Component
+public class IdempotencyKeyStore {
+    public static final String HEADER = "Idempotency-Key";
+    static final String KEY_PREFIX = "IDEM:";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<ErrorCode> RETRYABLE_ERRORS = EnumSet.of(
+        ErrorCode.ACCOUNT_TRANSACTION_LOCK,
+        ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS,
+        ErrorCode.INTERNAL_SERVER_ERROR);
+    // 아직 이 요청의 처리 중 표시일 때만 만료 연장 (결과가 저장되었거나 지워졌으면 그대로)
+    private static final String EXTEND_MARKER_SCRIPT =
+        "if redis.call('get', KEYS[1]) == ARGV[1] then "
+            + "return redis.call('pexpire', KEYS[1], ARGV[2]) end return 0";
+
+    /**
+     * 한 번만 실행할 요청 처리 (컨트롤러 메서드)
+     */
+    @FunctionalInterface
+    public interface Execution {
+        Object proceed() throws Throwable;
+    }
+
+    private final RedissonClient redissonClient;
+    private final ObjectMapper objectMapper;
+    private final long ttlSeconds;
+    private final long inProgressTtlMs;
+    private final long waitTimeMs;
+    private final long pollIntervalMs;
+
+    private final Cache<String, IdempotencyRecord> completed;
+    private final ConcurrentHashMap<String, CompletableFuture<IdempotencyRecord>> inFlight =
+        new ConcurrentHashMap<>();
+    private final Counter executedCounter;
+    private final Counter replayedCounter;
+    private final Counter conflictCounter;
+    private final ScheduledExecutorService watchdog =
+        Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    public IdempotencyKeyStore(
+        RedissonClient redissonClient,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry,
+        @Value("${account.idempotency.ttl-seconds:86400}") long ttlSeconds,
+        @Value("${account.idempotency.in-progress-ttl-ms:15000}") long inProgressTtlMs,
+        @Value("${account.idempotency.wait-time-ms:5000}") long waitTimeMs,
+        @Value("${account.idempotency.poll-interval-ms:20}") long pollIntervalMs,
+        @Value("${account.idempotency.local.maximum-size:10000}") long localMaximumSize,
+        @Value("${account.idempotency.local.ttl-seconds:60}") long localTtlSeconds
+    ) {
+        this.redissonClient = redissonClient;
+        this.objectMapper = objectMapper;
+        this.ttlSeconds = ttlSeconds;
+        this.inProgressTtlMs = inProgressTtlMs;
+        this.waitTimeMs = waitTimeMs;
+        this.pollIntervalMs = pollIntervalMs;
+        this.completed = Caffeine.newBuilder()
+            .maximumSize(localMaximumSize)
+            .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+            .build();
+
+        this.executedCounter = Counter.builder("account.idempotency")
+            .tag("result", "executed")
+            .register(meterRegistry);
+        this.replayedCounter = Counter.builder("account.idempotency")
+            .tag("result", "replayed")
+            .register(meterRegistry);
+        this.conflictCounter = Counter.builder("account.idempotency")
+            .tag("result", "conflict")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        watchdog.shutdownNow();
+    }
+
+    /**
+     * 키는 요청 종류와 계좌 번호 안에서 구분한다. (servlet, reactive 가 같은 키를 쓰도록 같은 형식)
+     */
+    public static String scopedKey(String operation, String accountNumber, String idempotencyKey) {
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+        return operation + ":" + accountNumber + ":" + idempotencyKey;
+    }
+
+    public String fingerprint(Object request) {
+        try {
+            return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("idempotency fingerprint failed", e);
+        }
+    }
+
+    public Object execute(
+        String key,
+        String fingerprint,
+        Class<?> responseType,
+        Execution execution
+    ) throws Throwable {
+        CompletableFuture<IdempotencyRecord> mine = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return replay(await(running), fingerprint, responseType);
+        }
+
+        String marker = inProgressMarker(fingerprint);
+        try {
+            IdempotencyRecord record = begin(key, fingerprint, marker);
+            if (record != null) {
+                mine.complete(record);
+                return replay(record, fingerprint, responseType);
+            }
+            ScheduledFuture<?> keepAlive = keepAlive(key, marker);
+            try {
+                Object response = execution.proceed();
+                mine.complete(succeed(key, fingerprint, marker, response));
+                return response;
+            } catch (Throwable e) {
+                fail(key, fingerprint, marker, e).ifPresent(mine::complete);
+                throw e;
+            } finally {
+                keepAlive.cancel(false);
+            }
+        } catch (Throwable e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * reactive 경로용 (Redis 대기는 boundedElastic 에서)
+     */
+    public <T> Mono<T> executeReactive(
+        String key,
+        String fingerprint,
+        Class<T> responseType,
+        Mono<T> execution
+    ) {
+        String marker = inProgressMarker(fingerprint);
+        return Mono.fromCallable(() -> Optional.ofNullable(begin(key, fingerprint, marker)))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(record -> record.isPresent()
+                ? Mono.fromCallable(() -> responseType.cast(
+                    replay(record.get(), fingerprint, responseType)))
+                : Mono.using(() -> keepAlive(key, marker), keepAlive -> execution,
+                        keepAlive -> keepAlive.cancel(false))
+                    .flatMap(response -> Mono.fromCallable(() -> {
+                            succeed(key, fingerprint, marker, response);
+                            return response;
+                        })
+                        .subscribeOn(Schedulers.boundedElastic()))
+                    .onErrorResume(e -> Mono.fromRunnable(() -> fail(key, fingerprint, marker, e))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .then(Mono.error(e))));
+    }
+
+    /**
+     * @return 이미 처리된 결과, 처리 중 표시를 남겼으면(이번 요청이 실행) null
+     */
+    private IdempotencyRecord begin(String key, String fingerprint, String marker)
+        throws InterruptedException {
+        IdempotencyRecord cached = completed.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        RBucket<String> bucket = bucket(key);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeMs);
+        while (true) {
+            if (bucket.trySet(marker, inProgressTtlMs, TimeUnit.MILLISECONDS)) {
+                return null;
+            }
+            IdempotencyRecord existing = read(bucket.get());
+            if (existing != null) {
+                checkFingerprint(existing, fingerprint);
+                if (existing.getStatus() == IdempotencyStatus.COMPLETED) {
+                    completed.put(key, existing);
+                    return existing;
+                }
+            }
+            // existing 이 없으면 그 사이 만료된 것 : 다시 SETNX
+            if (System.nanoTime() > deadline) {
+                throw new AccountException(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+            }
+            Thread.sleep(pollIntervalMs);
+        }
+    }
+
+    /**
+     * 처리 중 표시의 만료를 실행이 끝날 때까지 연장
+     * (연장이 실행 종료와 겹쳐도 스크립트가 표시를 확인하므로 저장된 결과는 건드리지 않는다)
+     */
+    private ScheduledFuture<?> keepAlive(String key, String marker) {
+        long periodMs = Math.max(inProgressTtlMs / 3, 1);
+        return watchdog.scheduleAtFixedRate(() -> {
+            try {
+                extendMarker(key, marker, inProgressTtlMs);
+            } catch (RuntimeException e) {
+                log.warn("idempotency keep-alive failed : {}", key, e);
+            }
+        }, periodMs, periodMs, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean extendMarker(String key, String marker, long ttlMs) {
+        Long extended = redissonClient.getScript(StringCodec.INSTANCE).eval(
+            RScript.Mode.READ_WRITE, EXTEND_MARKER_SCRIPT, RScript.ReturnType.INTEGER,
+            Collections.singletonList(KEY_PREFIX + key), marker, String.valueOf(ttlMs));
+        return extended != null && extended == 1L;
+    }
+
+    private IdempotencyRecord succeed(
+        String key,
+        String fingerprint,
+        String marker,
+        Object response
+    ) {
+        IdempotencyRecord record = IdempotencyRecord.builder()
+            .status(IdempotencyStatus.COMPLETED)
+            .fingerprint(fingerprint)
+            .response(toJson(response))
+            .build();
+        store(key, marker, record);
+        return record;
+    }
+
+    /**
+     * 거래 실패는 결과로 저장하고, 다시 시도할 수 있는 실패는 처리 중 표시만 지운다.
+     */
+    private Optional<IdempotencyRecord> fail(
+        String key,
+        String fingerprint,
+        String marker,
+        Throwable e
+    ) {
+        if (e instanceof AccountException
+            && !RETRYABLE_ERRORS.contains(((AccountException) e).getErrorCode())) {
+            IdempotencyRecord record = IdempotencyRecord.builder()
+                .status(IdempotencyStatus.COMPLETED)
+                .fingerprint(fingerprint)
+                .errorCode(((AccountException) e).getErrorCode())
+                .build();
+            store(key, marker, record);
+            return Optional.of(record);
+        }
+        try {
+            bucket(key).compareAndSet(marker, null);
+        } catch (RuntimeException re) {
+            // 처리 중 표시는 in-progress-ttl-ms 가 지나면 사라진다.
+            log.error("idempotency release failed : {}", key, re);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 결과를 Redis 에 저장하지 못하면 처리 중 표시를 ttl 동안 남긴다.
+     * 다른 노드의 재시도는 다시 실행하지 않고 IDEMPOTENCY_REQUEST_IN_PROGRESS 로 실패한다.
+     */
+    private void store(String key, String marker, IdempotencyRecord record) {
+        executedCounter.increment();
+        completed.put(key, record);
+        try {
+            bucket(key).set(toJson(record), ttlSeconds, TimeUnit.SECONDS);
+        } catch (RuntimeException e) {
+            log.error("idempotency store failed, keep in-progress marker : {}", key, e);
+            try {
+                if (!extendMarker(key, marker, TimeUnit.SECONDS.toMillis(ttlSeconds))) {
+                    log.error("idempotency marker already gone : {}", key);
+                }
+            } catch (RuntimeException re) {
+                log.error("idempotency marker keep failed : {}", key, re);
+            }
+        }
+    }
+
+    private IdempotencyRecord await(CompletableFuture<IdempotencyRecord> running)
+        throws Throwable {
+        try {
+            return running.get(waitTimeMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new AccountException(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+        } catch (ExecutionException e) {
+            // 첫 요청의 결과가 저장되지 않은 실패는 같이 실패
+            throw e.getCause();
+        }
+    }
+
+    private Object replay(IdempotencyRecord record, String fingerprint, Class<?> responseType)
+        throws IOException {
+        checkFingerprint(record, fingerprint);
+        replayedCounter.increment();
+        if (record.getErrorCode() != null) {
+            throw new AccountException(record.getErrorCode());
+        }
+        return objectMapper.readValue(record.getResponse(), responseType);
+    }
+
+    private void checkFingerprint(IdempotencyRecord record, String fingerprint) {
+        if (!record.getFingerprint().equals(fingerprint)) {
+            conflictCounter.increment();
+            throw new AccountException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        }
+    }
+
+    private String inProgressMarker(String fingerprint) {
+        return toJson(IdempotencyRecord.builder()
+            .status(IdempotencyStatus.IN_PROGRESS)
+            .fingerprint(fingerprint)
+            .owner(UUID.randomUUID().toString())
+            .build());
+    }
+
+    private RBucket<String> bucket(String key) {
+        return redissonClient.getBucket(KEY_PREFIX + key, StringCodec.INSTANCE);
+    }
+
+    private IdempotencyRecord read(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("invalid idempotency record : " + json, e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("idempotency serialization failed", e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.zero.account.service;
+
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 계좌 단위 락
+ * 1. 노드 내부: 계좌 번호로 고른 striped ReentrantLock (같은 노드의 경합은 Redis 까지 가지 않음)
+ * 2. 노드 간: 계좌 번호 키의 Redisson RLock
+ */
+@Slf4j
+@Service
+public class LockService {
+    static final String LOCK_KEY_PREFIX = "ACLK:";
+
+    private final RedissonClient redissonClient;
+    private final ReentrantLock[] stripes;
+    private final long waitTimeMs;
+    private final long leaseTimeMs;
+
+    private final Timer waitTimer;
+    private final Timer holdTimer;
+    private final Counter timeoutCounter;
+    private final Counter errorCounter;
+    // 계좌별 락 취득 시각 (hold 시간 측정)
+    private final ConcurrentHashMap<String, Long> lockedAt = new ConcurrentHashMap<>();
+
+    public LockService(
+        RedissonClient redissonClient,
+        MeterRegistry meterRegistry,
+        @Value("${account.lock.stripes:1024}") int stripeCount,
+        @Value("${account.lock.wait-time-ms:5000}") long waitTimeMs,
+        @Value("${account.lock.lease-time-ms:15000}") long leaseTimeMs
+    ) {
+        this.redissonClient = redissonClient;
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, stripeCount))];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.waitTimeMs = waitTimeMs;
+        this.leaseTimeMs = leaseTimeMs;
+
+        this.waitTimer = Timer.builder("account.lock.wait")
+            .description("계좌 락 취득 대기 시간")
+            .register(meterRegistry);
+        this.holdTimer = Timer.builder("account.lock.hold")
+            .description("계좌 락 보유 시간")
+            .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("account.lock.failures")
+            .tag("reason", "timeout")
+            .register(meterRegistry);
+        this.errorCounter = Counter.builder("account.lock.failures")
+            .tag("reason", "error")
+            .register(meterRegistry);
+    }
+
+    public void lock(String accountNumber) {
+        ReentrantLock localLock = stripe(accountNumber);
+        long startedAt = System.nanoTime();
+        boolean localLocked = false;
+        try {
+            localLocked = localLock.tryLock(waitTimeMs, TimeUnit.MILLISECONDS);
+            if (!localLocked) {
+                throw lockFailed(accountNumber, timeoutCounter);
+            }
+
+            // 로컬 대기에 쓴 시간을 뺀 나머지만 Redis 에서 대기
+            long remainingMs = Math.max(0,
+                waitTimeMs - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            if (!getLock(accountNumber).tryLock(remainingMs, leaseTimeMs, TimeUnit.MILLISECONDS)) {
+                throw lockFailed(accountNumber, timeoutCounter);
+            }
+            lockedAt.put(accountNumber, System.nanoTime());
+            log.debug("lock acquired : {}", accountNumber);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            releaseOnFailure(localLock, localLocked);
+            throw lockFailed(accountNumber, errorCounter);
+        } catch (AccountException e) {
+            releaseOnFailure(localLock, localLocked);
+            throw e;
+        } catch (RuntimeException e) {
+            log.error("Redis lock failed", e);
+            releaseOnFailure(localLock, localLocked);
+            throw lockFailed(accountNumber, errorCounter);
+        } finally {
+            waitTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void unlock(String accountNumber) {
+        Long acquiredAt = lockedAt.remove(accountNumber);
+        if (acquiredAt != null) {
+            holdTimer.record(System.nanoTime() - acquiredAt, TimeUnit.NANOSECONDS);
+        }
+        try {
+            RLock lock = getLock(accountNumber);
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        } catch (RuntimeException e) {
+            // lease 만료 후 해제 시도 등은 로그만 남긴다.
+            log.error("Redis unlock failed : {}", accountNumber, e);
+        } finally {
+            ReentrantLock localLock = stripe(accountNumber);
+            if (localLock.isHeldByCurrentThread()) {
+                localLock.unlock();
+            }
+        }
+    }
+
+    private RLock getLock(String accountNumber) {
+        return redissonClient.getLock(LOCK_KEY_PREFIX + accountNumber);
+    }
+
+    private ReentrantLock stripe(String accountNumber) {
+        int hash = accountNumber.hashCode();
+        hash ^= (hash >>> 16);
+        return stripes[hash & (stripes.length - 1)];
+    }
+
+    private void releaseOnFailure(ReentrantLock localLock, boolean localLocked) {
+        if (localLocked) {
+            localLock.unlock();
+        }
+    }
+
+    private AccountException lockFailed(String accountNumber, Counter counter) {
+        counter.increment();
+        log.error("lock acquisition failed : {}", accountNumber);
+        return new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    }
+}
@@ -0,0 +1,54 @@
+package com.zero.account.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hibernate pooled-lo optimizer 와 같은 방식으로 sequence 에서 id 구간을 받아 나눠 준다.
+ * sequence 값 v 하나가 [v, v + allocationSize) 구간을 뜻하므로
+ * JPA 와 같은 sequence 를 써도 서로 다른 구간을 받아 id 가 겹치지 않는다.
+ * (pooled 는 첫 값을 받은 뒤 한 번 더 받아 그 사이를 모두 쓰므로 섞어 쓰면 겹친다.
+ *  application.yml 의 hibernate.id.optimizer.pooled.preferred 참고)
+ * 구간을 다 쓴 요청들이 동시에 새 구간을 받을 수 있다. (남는 구간은 버림)
+ */
+class PooledSequence {
+    private final Supplier<Mono<Long>> nextValue;
+    private final int allocationSize;
+    private final AtomicReference<Block> current =
+        new AtomicReference<>(new Block(1, 0));
+
+    PooledSequence(Supplier<Mono<Long>> nextValue, int allocationSize) {
+        this.nextValue = nextValue;
+        this.allocationSize = allocationSize;
+    }
+
+    Mono<Long> next() {
+        return Mono.defer(() -> {
+            Block block = current.get();
+            long id = block.next.getAndIncrement();
+            if (id <= block.hi) {
+                return Mono.just(id);
+            }
+            return nextBlock().map(received -> {
+                current.set(received);
+                return received.next.getAndIncrement();
+            });
+        });
+    }
+
+    private Mono<Block> nextBlock() {
+        return nextValue.get().map(lo -> new Block(lo, lo + allocationSize - 1));
+    }
+
+    private static class Block {
+        private final AtomicLong next;
+        private final long hi;
+
+        private Block(long lo, long hi) {
+            this.next = new AtomicLong(lo);
+            this.hi = hi;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.zero.account.service;
+
+import com.zero.account.domain.reactive.AccountLedgerEntryRow;
+import com.zero.account.domain.reactive.AccountRow;
+import com.zero.account.exception.AccountException;
+import com.zero.account.repository.reactive.ReactiveAccountLedgerEntryRepository;
+import com.zero.account.repository.reactive.ReactiveAccountRepository;
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.TransactionType;
+import java.time.LocalDateTime;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * AccountLedgerService 의 결제/취소를 R2DBC 로 옮긴 것 (계좌 row 락, 원장 번호 발급 방식은 같다)
+ * 호출하는 쪽 트랜잭션에서 실행
+ */
+@Service
+@ConditionalOnProperty(name = "account.reactive.enabled", havingValue = "true")
+public class ReactiveAccountLedgerService {
+    // AccountLedgerEntry 엔티티의 @SequenceGenerator allocationSize 와 같아야 한다.
+    static final int LEDGER_ENTRY_ALLOCATION_SIZE = 50;
+
+    private final ReactiveAccountRepository accountRepository;
+    private final ReactiveAccountLedgerEntryRepository ledgerEntryRepository;
+    private final PooledSequence ledgerEntrySequence;
+
+    public ReactiveAccountLedgerService(
+        ReactiveAccountRepository accountRepository,
+        ReactiveAccountLedgerEntryRepository ledgerEntryRepository
+    ) {
+        this.accountRepository = accountRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.ledgerEntrySequence = new PooledSequence(
+            ledgerEntryRepository::nextSequenceValue, LEDGER_ENTRY_ALLOCATION_SIZE);
+    }
+
+    /**
+     * @return 차감 후 계좌 잔액
+     */
+    public Mono<Long> debit(AccountRow account, long amount) {
+        return lockAndGetBalance(account).flatMap(balance -> balance < amount
+            ? Mono.error(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE))
+            : append(account, TransactionType.USE, -amount).thenReturn(balance - amount));
+    }
+
+    /**
+     * @return 가산 후 계좌 잔액
+     */
+    public Mono<Long> credit(AccountRow account, long amount) {
+        return lockAndGetBalance(account).flatMap(balance ->
+            append(account, TransactionType.CANCEL, amount).thenReturn(balance + amount));
+    }
+
+    private Mono<Long> lockAndGetBalance(AccountRow account) {
+        return accountRepository.lockById(account.getId())
+            .then(ledgerEntryRepository.sumAfter(account.getId(), account.getLedgerEntryNo()))
+            .map(tail -> account.getBalance() + tail);
+    }
+
+    private Mono<AccountLedgerEntryRow> append(
+        AccountRow account,
+        TransactionType entryType,
+        long amount
+    ) {
+        return Mono.zip(ledgerEntryRepository.findLastEntryNo(account.getId()),
+                ledgerEntrySequence.next())
+            .flatMap(lastEntryAndId -> {
+                LocalDateTime now = LocalDateTime.now();
+                return ledgerEntryRepository.save(AccountLedgerEntryRow.builder()
+                    .id(lastEntryAndId.getT2())
+                    .accountId(account.getId())
+                    .entryNo(lastEntryAndId.getT1() + 1)
+                    .entryType(entryType)
+                    .amount(amount)
+                    .transactedAt(now)
+                    .createdAt(now)
+                    .build());
+            });
+    }
+}
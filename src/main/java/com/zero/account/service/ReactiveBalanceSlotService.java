@@ -0,0 +1,85 @@
+package com.zero.account.service;
+
+import com.zero.account.domain.reactive.AccountBalanceSlotRow;
+import com.zero.account.domain.reactive.AccountRow;
+import com.zero.account.exception.AccountException;
+import com.zero.account.repository.reactive.ReactiveAccountBalanceSlotRepository;
+import com.zero.account.type.ErrorCode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * BalanceSlotService 의 결제/취소를 R2DBC 로 옮긴 것 (slot 을 고르는 방식은 같다)
+ * 호출하는 쪽 트랜잭션에서 실행
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "account.reactive.enabled", havingValue = "true")
+public class ReactiveBalanceSlotService {
+    private final ReactiveAccountBalanceSlotRepository slotRepository;
+
+    /**
+     * @return 차감 후 계좌 전체 잔액
+     */
+    public Mono<Long> debit(AccountRow account, long amount) {
+        int slotCount = account.getBalanceSlotCount();
+        int start = ThreadLocalRandom.current().nextInt(slotCount);
+        LocalDateTime now = LocalDateTime.now();
+        // 한 slot 씩 차례로 시도하고, 차감되면 나머지 slot 은 시도하지 않는다.
+        return Flux.range(0, slotCount)
+            .concatMap(i -> slotRepository.debit(
+                account.getId(), (start + i) % slotCount, amount, now))
+            .filter(debited -> debited == 1)
+            .next()
+            .flatMap(debited -> slotRepository.sumBalance(account.getId()))
+            // slot 하나로는 부족 : slot 전체를 잠그고 여러 slot 에서 차감
+            .switchIfEmpty(Mono.defer(() -> debitAcrossSlots(account, amount, now)));
+    }
+
+    private Mono<Long> debitAcrossSlots(AccountRow account, long amount, LocalDateTime now) {
+        return slotRepository.findByAccountIdForUpdate(account.getId())
+            .collectList()
+            .flatMap(slots -> {
+                long total = slots.stream().mapToLong(AccountBalanceSlotRow::getBalance).sum();
+                if (total < amount) {
+                    return Mono.error(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+                }
+
+                long remaining = amount;
+                List<AccountBalanceSlotRow> richestFirst = new ArrayList<>(slots);
+                richestFirst.sort(
+                    Comparator.comparing(AccountBalanceSlotRow::getBalance).reversed());
+                List<AccountBalanceSlotRow> changed = new ArrayList<>();
+                for (AccountBalanceSlotRow slot : richestFirst) {
+                    long taken = Math.min(slot.getBalance(), remaining);
+                    slot.setBalance(slot.getBalance() - taken);
+                    changed.add(slot);
+                    remaining -= taken;
+                    if (remaining == 0) {
+                        break;
+                    }
+                }
+                return Flux.fromIterable(changed)
+                    .concatMap(slot ->
+                        slotRepository.updateBalance(slot.getId(), slot.getBalance(), now))
+                    .then(Mono.just(total - amount));
+            });
+    }
+
+    /**
+     * @return 가산 후 계좌 전체 잔액
+     */
+    public Mono<Long> credit(AccountRow account, long amount) {
+        int slotIndex = ThreadLocalRandom.current().nextInt(account.getBalanceSlotCount());
+        return slotRepository.credit(account.getId(), slotIndex, amount, LocalDateTime.now())
+            .then(slotRepository.sumBalance(account.getId()));
+    }
+}
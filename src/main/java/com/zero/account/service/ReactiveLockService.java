@@ -0,0 +1,113 @@
+package com.zero.account.service;
+
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLockReactive;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.RedissonReactiveClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * 계좌 단위 락 (Redisson reactive API)
+ * LockService 와 같은 키의 RLock 을 쓰므로 두 스택의 요청이 서로 배제된다.
+ * 락 대기는 스레드를 붙잡지 않고, 락의 소유자는 스레드 대신 요청마다 정한 id 로 구분한다.
+ * (노드 내부 striped 락은 스레드 단위라 쓰지 않는다)
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "account.reactive.enabled", havingValue = "true")
+public class ReactiveLockService {
+    private final RedissonReactiveClient redissonReactiveClient;
+    private final long waitTimeMs;
+    private final long leaseTimeMs;
+
+    private final Timer waitTimer;
+    private final Timer holdTimer;
+    private final Counter timeoutCounter;
+    private final Counter errorCounter;
+
+    public ReactiveLockService(
+        RedissonClient redissonClient,
+        MeterRegistry meterRegistry,
+        @Value("${account.lock.wait-time-ms:5000}") long waitTimeMs,
+        @Value("${account.lock.lease-time-ms:15000}") long leaseTimeMs
+    ) {
+        this.redissonReactiveClient = redissonClient.reactive();
+        this.waitTimeMs = waitTimeMs;
+        this.leaseTimeMs = leaseTimeMs;
+
+        // LockService 와 같은 meter 에 함께 기록
+        this.waitTimer = Timer.builder("account.lock.wait")
+            .description("계좌 락 취득 대기 시간")
+            .register(meterRegistry);
+        this.holdTimer = Timer.builder("account.lock.hold")
+            .description("계좌 락 보유 시간")
+            .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("account.lock.failures")
+            .tag("reason", "timeout")
+            .register(meterRegistry);
+        this.errorCounter = Counter.builder("account.lock.failures")
+            .tag("reason", "error")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 락을 잡고 action 을 구독하고, 성공/실패 상관없이 끝나면 해제
+     */
+    public <T> Mono<T> withLock(String accountNumber, Mono<T> action) {
+        RLockReactive lock = redissonReactiveClient.getLock(
+            LockService.LOCK_KEY_PREFIX + accountNumber);
+        // 스레드 id 는 양수이므로 음수를 쓰면 LockService 의 소유자와 겹치지 않는다.
+        long ownerId = ThreadLocalRandom.current().nextLong(Long.MIN_VALUE, 0);
+        return Mono.usingWhen(
+            acquire(lock, ownerId, accountNumber),
+            lockedAt -> action,
+            lockedAt -> release(lock, ownerId, accountNumber, lockedAt));
+    }
+
+    private Mono<Long> acquire(RLockReactive lock, long ownerId, String accountNumber) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return lock.tryLock(waitTimeMs, leaseTimeMs, TimeUnit.MILLISECONDS, ownerId)
+                .onErrorMap(e -> !(e instanceof AccountException), e -> {
+                    log.error("Redis lock failed", e);
+                    return lockFailed(accountNumber, errorCounter);
+                })
+                .flatMap(locked -> locked
+                    ? Mono.just(System.nanoTime())
+                    : Mono.error(lockFailed(accountNumber, timeoutCounter)))
+                .doFinally(signal ->
+                    waitTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private Mono<Void> release(
+        RLockReactive lock,
+        long ownerId,
+        String accountNumber,
+        long lockedAt
+    ) {
+        holdTimer.record(System.nanoTime() - lockedAt, TimeUnit.NANOSECONDS);
+        return lock.unlock(ownerId)
+            .onErrorResume(e -> {
+                // lease 만료 후 해제 시도 등은 로그만 남긴다.
+                log.error("Redis unlock failed : {}", accountNumber, e);
+                return Mono.empty();
+            });
+    }
+
+    private AccountException lockFailed(String accountNumber, Counter counter) {
+        counter.increment();
+        log.error("lock acquisition failed : {}", accountNumber);
+        return new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    }
+}
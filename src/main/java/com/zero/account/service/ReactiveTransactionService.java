@@ -0,0 +1,213 @@
+package com.zero.account.service;
+
+import com.zero.account.domain.TransactionDto;
+import com.zero.account.domain.reactive.AccountRow;
+import com.zero.account.domain.reactive.TransactionOutboxRow;
+import com.zero.account.domain.reactive.TransactionRow;
+import com.zero.account.exception.AccountException;
+import com.zero.account.repository.reactive.ReactiveAccountRepository;
+import com.zero.account.repository.reactive.ReactiveTransactionOutboxRepository;
+import com.zero.account.repository.reactive.ReactiveTransactionRepository;
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.TransactionResultType;
+import com.zero.account.type.TransactionType;
+import java.time.LocalDateTime;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * TransactionService 의 잔액 사용/취소를 R2DBC 로 옮긴 것
+ * 조회/갱신 순서와 검증(TransactionRules)은 TransactionService 와 같고,
+ * 요청 스레드를 막지 않도록 모든 단계를 Mono 로 잇는다.
+ */
+@Service
+@ConditionalOnProperty(name = "account.reactive.enabled", havingValue = "true")
+public class ReactiveTransactionService {
+    // Transaction 엔티티의 @SequenceGenerator allocationSize 와 같아야 한다.
+    static final int TRANSACTION_ALLOCATION_SIZE = 50;
+
+    private final ReactiveAccountRepository accountRepository;
+    private final ReactiveTransactionRepository transactionRepository;
+    private final ReactiveTransactionOutboxRepository transactionOutboxRepository;
+    private final BalanceSlotService slottedAccounts;
+    private final ReactiveBalanceSlotService balanceSlotService;
+    private final ReactiveAccountLedgerService accountLedgerService;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final AccountListCacheEvictor accountListCacheEvictor;
+    private final TransactionalOperator transactionalOperator;
+    private final PooledSequence transactionSequence;
+
+    public ReactiveTransactionService(
+        ReactiveAccountRepository accountRepository,
+        ReactiveTransactionRepository transactionRepository,
+        ReactiveTransactionOutboxRepository transactionOutboxRepository,
+        BalanceSlotService slottedAccounts,
+        ReactiveBalanceSlotService balanceSlotService,
+        ReactiveAccountLedgerService accountLedgerService,
+        TransactionIdGenerator transactionIdGenerator,
+        AccountListCacheEvictor accountListCacheEvictor,
+        TransactionalOperator transactionalOperator
+    ) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionOutboxRepository = transactionOutboxRepository;
+        this.slottedAccounts = slottedAccounts;
+        this.balanceSlotService = balanceSlotService;
+        this.accountLedgerService = accountLedgerService;
+        this.transactionIdGenerator = transactionIdGenerator;
+        this.accountListCacheEvictor = accountListCacheEvictor;
+        this.transactionalOperator = transactionalOperator;
+        this.transactionSequence = new PooledSequence(
+            transactionRepository::nextSequenceValue, TRANSACTION_ALLOCATION_SIZE);
+    }
+
+    /**
+     * 잔액 확인과 차감을 조건부 UPDATE 한 번으로 처리하고,
+     * 차감에 실패했거나 slot, 원장 계좌인 경우에만 사용자/계좌를 조회해 검증한다.
+     * slot 계좌는 TransactionService 와 같이 UPDATE 없이 바로 slot 에서 차감
+     */
+    public Mono<TransactionDto> useBalance(Long userId, String accountNumber, Long amount) {
+        if (slottedAccounts.isSlotted(accountNumber)) {
+            return transactionalOperator.transactional(
+                Mono.defer(() -> validateAndDebitSlots(userId, accountNumber, amount)));
+        }
+        return transactionalOperator.transactional(
+            Mono.defer(() -> accountRepository.debitBalance(
+                    accountNumber, userId, amount, LocalDateTime.now()))
+                .flatMap(debited -> debited == 1
+                    ? findAccount(accountNumber).flatMap(account ->
+                        saveTransaction(TransactionType.USE, account, amount, account.getBalance()))
+                    : validateAndDebitSlots(userId, accountNumber, amount)));
+    }
+
+    private Mono<TransactionDto> validateAndDebitSlots(
+        Long userId,
+        String accountNumber,
+        Long amount
+    ) {
+        return accountRepository.existsAccountUser(userId)
+            .flatMap(exists -> exists
+                ? findAccount(accountNumber)
+                : Mono.error(new AccountException(ErrorCode.USER_NOT_FOUND)))
+            .flatMap(account -> {
+                TransactionRules.validateUse(userId, account.getAccountUserId(),
+                    account.getAccountStatus(), account.getBalanceMode(), account.getBalance(),
+                    amount);
+                Mono<Long> balanceSnapshot;
+                if (account.isSlotted()) {
+                    balanceSnapshot = balanceSlotService.debit(account, amount);
+                } else if (account.isLedger()) {
+                    balanceSnapshot = accountLedgerService.debit(account, amount);
+                } else {
+                    // 검증은 통과했지만 UPDATE 시점에는 잔액이 부족했던 경우
+                    return Mono.error(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+                }
+                return balanceSnapshot.flatMap(balance ->
+                    saveTransaction(TransactionType.USE, account, amount, balance));
+            });
+    }
+
+    public Mono<TransactionDto> cancelBalance(
+        String transactionId,
+        String accountNumber,
+        Long amount
+    ) {
+        return transactionalOperator.transactional(
+            transactionRepository.findByTransactionId(transactionId)
+                .switchIfEmpty(Mono.error(
+                    () -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND)))
+                .flatMap(transaction -> findAccount(accountNumber).flatMap(account -> {
+                    TransactionRules.validateCancel(transaction.getAccountId(), account.getId(),
+                        transaction.getAmount(), amount, transaction.getTransactedAt());
+
+                    Mono<Long> balanceSnapshot = account.isSlotted()
+                        ? balanceSlotService.credit(account, amount)
+                        : account.isLedger()
+                        ? accountLedgerService.credit(account, amount)
+                        : accountRepository.creditBalance(account.getId(), amount, LocalDateTime.now())
+                            .then(accountRepository.findBalanceById(account.getId()));
+                    return balanceSnapshot.flatMap(balance ->
+                        saveTransaction(TransactionType.CANCEL, account, amount, balance));
+                })));
+    }
+
+    private Mono<AccountRow> findAccount(String accountNumber) {
+        return accountRepository.findByAccountNumber(accountNumber)
+            .switchIfEmpty(Mono.error(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND)));
+    }
+
+    private Mono<TransactionDto> saveTransaction(
+        TransactionType transactionType,
+        AccountRow account,
+        Long amount,
+        Long balanceSnapshot
+    ) {
+        return evictAccountListAfterCommit(account.getAccountUserId())
+            .then(transactionSequence.next())
+            .flatMap(id -> {
+                LocalDateTime now = LocalDateTime.now();
+                return transactionRepository.save(TransactionRow.builder()
+                    .id(id)
+                    .transactionType(transactionType)
+                    .transactionResultType(TransactionResultType.S)
+                    .accountId(account.getId())
+                    .amount(amount)
+                    .balanceSnapshot(balanceSnapshot)
+                    .transactionId(transactionIdGenerator.nextId())
+                    .transactedAt(now)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+            })
+            .flatMap(transaction -> saveOutbox(account, transaction).thenReturn(transaction))
+            .map(transaction -> TransactionDto.builder()
+                .accountNumber(account.getAccountNumber())
+                .transactionType(transaction.getTransactionType())
+                .transactionResultType(transaction.getTransactionResultType())
+                .amount(transaction.getAmount())
+                .balanceSnapshot(transaction.getBalanceSnapshot())
+                .transactionId(transaction.getTransactionId())
+                .transactedAt(transaction.getTransactedAt())
+                .build());
+    }
+
+    /**
+     * 잔액 변경 이벤트 (TransactionService 와 같이 거래와 같은 트랜잭션에 저장)
+     */
+    private Mono<TransactionOutboxRow> saveOutbox(AccountRow account, TransactionRow transaction) {
+        return transactionOutboxRepository.nextSequenceValue()
+            .flatMap(id -> transactionOutboxRepository.save(TransactionOutboxRow.builder()
+                .id(id)
+                .accountId(account.getId())
+                .accountNumber(account.getAccountNumber())
+                .transactionId(transaction.getTransactionId())
+                .transactionType(transaction.getTransactionType())
+                .amount(transaction.getAmount())
+                .balanceSnapshot(transaction.getBalanceSnapshot())
+                .transactedAt(transaction.getTransactedAt())
+                .createdAt(LocalDateTime.now())
+                .build()));
+    }
+
+    /**
+     * 계좌 목록 캐시는 커밋 이후에 비운다. (TransactionService 와 같은 시점)
+     * 캐시 삭제는 Redis 를 기다리므로 요청 스레드가 아닌 boundedElastic 에서 실행
+     */
+    private Mono<Void> evictAccountListAfterCommit(Long userId) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+            .doOnNext(manager -> manager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public Mono<Void> afterCommit() {
+                    return Mono.fromRunnable(() -> accountListCacheEvictor.evict(userId))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .then();
+                }
+            }))
+            .then();
+    }
+}
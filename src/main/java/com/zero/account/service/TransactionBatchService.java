@@ -0,0 +1,90 @@
+package com.zero.account.service;
+
+import com.zero.account.dto.BatchTransaction;
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ErrorCode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * 잔액 사용/취소 일괄 처리
+ * 1. 요청 항목을 계좌별로 묶음
+ * 2. 계좌마다 락은 한 번만 잡고, 한 트랜잭션에서 처리
+ * 3. 항목별 결과를 요청 순서대로 반환 (일부 실패 허용)
+ * 4. 락 획득 실패 등으로 계좌 전체가 실패하면 항목마다 실패 거래를 기록 (단건 API 와 같이 journal 로)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionBatchService {
+    private final TransactionService transactionService;
+    private final LockService lockService;
+    private final BalanceSlotService balanceSlotService;
+    private final FailedTransactionJournal failedTransactionJournal;
+
+    public List<BatchTransaction.ItemResult> process(List<BatchTransaction.Item> items) {
+        Map<String, Map<Integer, BatchTransaction.Item>> itemsByAccount = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            BatchTransaction.Item item = items.get(i);
+            itemsByAccount
+                .computeIfAbsent(item.getAccountNumber(), key -> new LinkedHashMap<>())
+                .put(i, item);
+        }
+
+        List<BatchTransaction.ItemResult> results = new ArrayList<>(items.size());
+        itemsByAccount.forEach((accountNumber, accountItems) ->
+            results.addAll(processAccount(accountNumber, accountItems)));
+        results.sort(Comparator.comparingInt(BatchTransaction.ItemResult::getIndex));
+        return results;
+    }
+
+    private List<BatchTransaction.ItemResult> processAccount(
+        String accountNumber,
+        Map<Integer, BatchTransaction.Item> items
+    ) {
+        // slot 계좌는 slot 단위 조건부 UPDATE 로 처리하므로 계좌 락을 잡지 않는다.
+        boolean locking = !balanceSlotService.isSlotted(accountNumber);
+        try {
+            if (locking) {
+                lockService.lock(accountNumber);
+            }
+            try {
+                return transactionService.applyBatch(accountNumber, items);
+            } finally {
+                if (locking) {
+                    lockService.unlock(accountNumber);
+                }
+            }
+        } catch (AccountException e) {
+            return failAll(accountNumber, items, e);
+        } catch (RuntimeException e) {
+            log.error("Batch failed : {}", accountNumber, e);
+            return failAll(accountNumber, items,
+                new AccountException(ErrorCode.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    /**
+     * 계좌가 없으면 applyBatch 가 이미 결과를 돌려주므로 여기서는 락/예상 못한 실패만 온다.
+     * (journal 은 저장 시점에 없는 계좌의 기록을 건너뛴다)
+     */
+    private List<BatchTransaction.ItemResult> failAll(
+        String accountNumber,
+        Map<Integer, BatchTransaction.Item> items,
+        AccountException e
+    ) {
+        List<BatchTransaction.ItemResult> results = new ArrayList<>(items.size());
+        items.forEach((index, item) -> {
+            failedTransactionJournal.record(
+                item.getTransactionType(), accountNumber, item.getAmount());
+            results.add(BatchTransaction.ItemResult.failed(index, item, e));
+        });
+        return results;
+    }
+}
@@ -0,0 +1,13 @@
+package com.zero.account.service;
+
+import com.zero.account.dto.TransactionEvent;
+import java.util.List;
+
+/**
+ * outbox relay 가 이벤트를 내보내는 곳 (메시지 브로커 등으로 교체)
+ * 반환하면 batch 전체가 발행된 것으로 보고 outbox 에서 지운다.
+ * 실패하면 예외를 던지고, relay 는 같은 batch 를 다시 발행한다.
+ */
+public interface TransactionEventPublisher {
+    void publish(List<TransactionEvent> events);
+}
@@ -0,0 +1,127 @@
+package com.zero.account.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zero.account.dto.TransactionExport;
+import com.zero.account.exception.AccountException;
+import com.zero.account.repository.TransactionRepository;
+import com.zero.account.type.ErrorCode;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 기간 내 거래를 NDJSON/CSV 로 내보내기 (대사용)
+ * 1. 거래는 forward-only 커서로 읽고, 한 건씩 바로 출력 스트림에 쓴다.
+ * 2. flush-rows 건마다 flush 해서 응답을 클라이언트로 내보낸다.
+ * 메모리에는 커서의 fetch size 와 출력 버퍼만큼만 남으므로 건수와 관계없이 heap 사용량이 같다.
+ */
+@Slf4j
+@Service
+public class TransactionExportService {
+    static final String CSV_HEADER = "transaction_id,account_number,transaction_type,"
+        + "transaction_result_type,amount,balance_snapshot,transacted_at";
+
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+    private final int flushRows;
+    private final int bufferSize;
+
+    public TransactionExportService(
+        TransactionRepository transactionRepository,
+        ObjectMapper objectMapper,
+        @Value("${account.export.flush-rows:1000}") int flushRows,
+        @Value("${account.export.buffer-size:65536}") int bufferSize
+    ) {
+        this.transactionRepository = transactionRepository;
+        this.objectMapper = objectMapper;
+        this.flushRows = flushRows;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * [from, to) 기간의 거래를 거래 시각 순으로 출력
+     * 읽기 전용 : replica 라우팅이 켜져 있으면 replica 에서 읽는다.
+     * @return 내보낸 거래 수
+     */
+    @Transactional(readOnly = true)
+    public long export(
+        LocalDateTime from,
+        LocalDateTime to,
+        TransactionExport.Format format,
+        OutputStream outputStream
+    ) throws IOException {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+
+        Writer writer = new BufferedWriter(
+            new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), bufferSize);
+        JsonGenerator generator = null;
+        if (format == TransactionExport.Format.NDJSON) {
+            generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                // 줄 구분은 직접 쓴다
+                .setRootValueSeparator(null);
+        } else {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        try (Stream<TransactionExport.Row> rows =
+                 transactionRepository.streamForExport(from, to)) {
+            Iterator<TransactionExport.Row> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                TransactionExport.Row row = iterator.next();
+                if (generator != null) {
+                    generator.writeObject(row);
+                    generator.writeRaw('\n');
+                } else {
+                    writeCsv(writer, row);
+                }
+                if (++count % flushRows == 0) {
+                    flush(generator, writer);
+                }
+            }
+        }
+        flush(generator, writer);
+        log.info("Exported {} transactions [{}, {}) as {}", count, from, to, format);
+        return count;
+    }
+
+    /**
+     * 거래 번호, 계좌 번호, 타입, 숫자, 시각에는 쉼표/따옴표가 없으므로 그대로 쓴다. (null 은 빈 값)
+     */
+    private void writeCsv(Writer writer, TransactionExport.Row row) throws IOException {
+        Object[] values = {row.getTransactionId(), row.getAccountNumber(),
+            row.getTransactionType(), row.getTransactionResult(), row.getAmount(),
+            row.getBalanceSnapshot(), row.getTransactedAt()};
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(values[i].toString());
+            }
+        }
+        writer.write('\n');
+    }
+
+    private void flush(JsonGenerator generator, Writer writer) throws IOException {
+        if (generator != null) {
+            generator.flush();
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,9 @@
+package com.zero.account.service;
+
+/**
+ * 거래 ID 발급
+ * 거래 ID 는 32 자리 16진수 문자열이다.
+ */
+public interface TransactionIdGenerator {
+    String nextId();
+}
@@ -0,0 +1,171 @@
+package com.zero.account.service;
+
+import com.zero.account.domain.TransactionOutbox;
+import com.zero.account.dto.TransactionEvent;
+import com.zero.account.repository.TransactionOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * outbox 의 잔액 변경 이벤트를 요청 스레드 밖에서 발행
+ * 1. Redis 락을 잡은 노드 하나만 발행한다. (노드마다 발행하면 계좌별 순서가 섞인다)
+ * 2. 오래된 순으로 batch-size 만큼 읽어 발행하고, 발행이 끝난 batch 만 삭제
+ *    batch 가 덜 찼으면 linger-ms 동안 더 모은 뒤 다음 batch 를 읽는다.
+ * 3. 발행이 끝나야 다음 batch 를 읽으므로 publisher 가 느리면 메모리가 아닌 outbox 테이블에 쌓인다.
+ *    실패하면 같은 batch 를 backoff 후 다시 발행 (at-least-once)
+ * 4. account.outbox.lag : 마지막으로 읽은 가장 오래된 이벤트의 대기 시간
+ *    account.outbox.delivery : 이벤트별 저장 ~ 발행 시간
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.outbox.relay.enabled", havingValue = "true",
+    matchIfMissing = true)
+public class TransactionOutboxRelay {
+    static final String LEADER_LOCK_KEY = "transaction-outbox-relay";
+
+    private final TransactionOutboxRepository transactionOutboxRepository;
+    private final TransactionEventPublisher transactionEventPublisher;
+    private final RedissonClient redissonClient;
+    private final int batchSize;
+    private final long lingerMs;
+    private final long maxBackoffMs;
+
+    private final AtomicLong lagMs = new AtomicLong();
+    private final Timer publishTimer;
+    private final Timer deliveryTimer;
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+
+    // 대기 중인 relay 스레드를 종료 시 바로 깨운다. (DB/Redis 호출 중에 interrupt 하지 않도록)
+    private final CountDownLatch stopping = new CountDownLatch(1);
+    private Thread relay;
+
+    public TransactionOutboxRelay(
+        TransactionOutboxRepository transactionOutboxRepository,
+        TransactionEventPublisher transactionEventPublisher,
+        RedissonClient redissonClient,
+        MeterRegistry meterRegistry,
+        @Value("${account.outbox.relay.batch-size:500}") int batchSize,
+        @Value("${account.outbox.relay.linger-ms:100}") long lingerMs,
+        @Value("${account.outbox.relay.max-backoff-ms:5000}") long maxBackoffMs
+    ) {
+        this.transactionOutboxRepository = transactionOutboxRepository;
+        this.transactionEventPublisher = transactionEventPublisher;
+        this.redissonClient = redissonClient;
+        this.batchSize = batchSize;
+        this.lingerMs = lingerMs;
+        this.maxBackoffMs = maxBackoffMs;
+
+        TimeGauge.builder("account.outbox.lag", lagMs, TimeUnit.MILLISECONDS, AtomicLong::get)
+            .register(meterRegistry);
+        this.publishTimer = Timer.builder("account.outbox.publish")
+            .register(meterRegistry);
+        this.deliveryTimer = Timer.builder("account.outbox.delivery")
+            .register(meterRegistry);
+        this.publishedCounter = Counter.builder("account.outbox.published")
+            .register(meterRegistry);
+        this.failureCounter = Counter.builder("account.outbox.failures")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        relay = new Thread(this::run, "transaction-outbox-relay");
+        relay.setDaemon(true);
+        relay.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping.countDown();
+        try {
+            relay.join(maxBackoffMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        // 락은 잡은 스레드만 풀 수 있으므로 relay 스레드에서 잡고 푼다. (watchdog 이 만료를 연장)
+        RLock leaderLock = redissonClient.getLock(LEADER_LOCK_KEY);
+        long backoffMs = lingerMs;
+        try {
+            while (stopping.getCount() > 0) {
+                try {
+                    if (!leaderLock.isHeldByCurrentThread() && !leaderLock.tryLock()) {
+                        pause(maxBackoffMs);
+                        continue;
+                    }
+                    if (relayOnce() < batchSize) {
+                        pause(lingerMs);
+                    }
+                    backoffMs = lingerMs;
+                } catch (RuntimeException e) {
+                    failureCounter.increment();
+                    log.error("Transaction outbox relay failed, retry in {} ms", backoffMs, e);
+                    pause(backoffMs);
+                    backoffMs = Math.min(Math.max(backoffMs, 1) * 2, maxBackoffMs);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                if (leaderLock.isHeldByCurrentThread()) {
+                    leaderLock.unlock();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to release transaction outbox relay lock", e);
+            }
+        }
+    }
+
+    private void pause(long ms) throws InterruptedException {
+        stopping.await(ms, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return 발행한 이벤트 수
+     */
+    int relayOnce() {
+        List<TransactionOutbox> batch =
+            transactionOutboxRepository.findOldest(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            lagMs.set(0);
+            return 0;
+        }
+        lagMs.set(Duration.between(batch.get(0).getCreatedAt(), LocalDateTime.now()).toMillis());
+
+        publishTimer.record(() -> transactionEventPublisher.publish(batch.stream()
+            .map(TransactionEvent::from)
+            .collect(Collectors.toList())));
+        transactionOutboxRepository.deleteAllByIdInBatch(batch.stream()
+            .map(TransactionOutbox::getId)
+            .collect(Collectors.toList()));
+
+        LocalDateTime publishedAt = LocalDateTime.now();
+        for (TransactionOutbox outbox : batch) {
+            deliveryTimer.record(Duration.between(outbox.getCreatedAt(), publishedAt));
+        }
+        publishedCounter.increment(batch.size());
+        return batch.size();
+    }
+}
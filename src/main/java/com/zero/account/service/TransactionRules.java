@@ -0,0 +1,56 @@
+package com.zero.account.service;
+
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.AccountStatus;
+import com.zero.account.type.BalanceMode;
+import com.zero.account.type.ErrorCode;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 잔액 사용/취소 검증 규칙
+ * JPA 서비스(TransactionService)와 R2DBC 서비스(ReactiveTransactionService)가
+ * 엔티티 대신 값만 넘겨 같은 규칙, 같은 순서로 검증한다.
+ */
+final class TransactionRules {
+    private TransactionRules() {
+    }
+
+    static void validateUse(
+        Long userId,
+        Long ownerId,
+        AccountStatus accountStatus,
+        BalanceMode balanceMode,
+        Long balance,
+        Long amount
+    ) {
+        if (!Objects.equals(userId, ownerId)) {
+            throw new AccountException(ErrorCode.USER_ACCOUNT_UN_MATCH);
+        }
+        if (accountStatus != AccountStatus.IN_USE) {
+            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        }
+        // slot, 원장 계좌의 잔액은 차감 시점에 확인
+        if (balanceMode == BalanceMode.STANDARD && balance < amount) {
+            throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+        }
+    }
+
+    static void validateCancel(
+        Long transactionAccountId,
+        Long accountId,
+        Long transactionAmount,
+        Long amount,
+        LocalDateTime transactedAt
+    ) {
+        if (!Objects.equals(transactionAccountId, accountId)) {
+            throw new AccountException(ErrorCode.TRANSACTION_ACCOUNT_UN_MATCH);
+        }
+        if (!Objects.equals(transactionAmount, amount)) {
+            throw new AccountException(ErrorCode.CANCEL_MUST_FULLY);
+        }
+        if (transactedAt.isBefore(LocalDateTime.now().minusYears(1))) {
+            throw new AccountException(ErrorCode.TOO_OLD_ORDER_TO_CANCEL);
+        }
+    }
+}
@@ -4,32 +4,67 @@ import com.zero.account.domain.Account;
 import com.zero.account.domain.AccountUser;
 import com.zero.account.domain.Transaction;
 import com.zero.account.domain.TransactionDto;
+import com.zero.account.domain.TransactionOutbox;
+import com.zero.account.dto.BatchTransaction;
+import com.zero.account.dto.FailedTransactionRecord;
+import com.zero.account.dto.TransactionHistory;
 import com.zero.account.exception.AccountException;
 import com.zero.account.repository.AccountRepository;
 import com.zero.account.repository.AccountUserRepository;
+import com.zero.account.repository.TransactionOutboxRepository;
 import com.zero.account.repository.TransactionRepository;
-import com.zero.account.type.AccountStatus;
 import com.zero.account.type.ErrorCode;
 import com.zero.account.type.TransactionResultType;
 import com.zero.account.type.TransactionType;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import javax.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
+    static final int MAX_HISTORY_SIZE = 100;
+
     private final TransactionRepository transactionRepository;
+    private final TransactionOutboxRepository transactionOutboxRepository;
     private final AccountUserRepository accountUserRepository;
     private final AccountRepository accountRepository;
+    private final BalanceSlotService balanceSlotService;
+    private final AccountLedgerService accountLedgerService;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final AccountListCacheEvictor accountListCacheEvictor;
 
+    /**
+     * 잔액 확인과 차감을 조건부 UPDATE 한 번으로 처리하고,
+     * 차감된 계좌를 같은 트랜잭션에서 읽어 거래 기록을 남긴다.
+     * 차감에 실패했거나 slot, 원장 계좌인 경우에만 사용자/계좌를 조회해 검증한다.
+     * slot 계좌는 계좌 row 를 건드리지 않도록 UPDATE 없이 바로 slot 에서 차감
+     */
     @Transactional
     public TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
+        if (!balanceSlotService.isSlotted(accountNumber)) {
+            int debited = accountRepository.debitBalance(
+                accountNumber, userId, amount, LocalDateTime.now());
+            if (debited == 1) {
+                // UPDATE 로 row 락을 잡은 상태라 차감 직후의 잔액이 읽힌다.
+                Account account = accountRepository.findByAccountNumber(accountNumber)
+                    .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+                return getTransactionDto(amount, account, account.getBalance());
+            }
+        }
+
         AccountUser user = accountUserRepository.findById(userId)
             .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
         Account account = accountRepository.findByAccountNumber(accountNumber)
@@ -37,54 +72,70 @@ public class TransactionService {
 
         validateUseBalance(user, account, amount);
 
-        account.useBalance(amount);
-
-        return getTransactionDto(amount, account);
+        if (account.isSlotted()) {
+            return getTransactionDto(amount, account, balanceSlotService.debit(account, amount));
+        }
+        if (account.isLedger()) {
+            return getTransactionDto(amount, account, accountLedgerService.debit(account, amount));
+        }
+        // 검증은 통과했지만 UPDATE 시점에는 잔액이 부족했던 경우
+        throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
     }
 
-    private TransactionDto getTransactionDto(Long amount, Account account) {
+    private TransactionDto getTransactionDto(Long amount, Account account, Long balanceSnapshot) {
+        accountListCacheEvictor.evict(account.getAccountUser().getId());
         return TransactionDto.fromEntity(
-            getTransaction(TransactionType.USE,TransactionResultType.S, account,amount)
+            getTransaction(TransactionType.USE,TransactionResultType.S, account,amount, balanceSnapshot)
         );
     }
 
     private void validateUseBalance(AccountUser user, Account account, Long amount) {
-        if (!Objects.equals(user.getId(), account.getAccountUser().getId())) {
-            throw new AccountException(ErrorCode.USER_ACCOUNT_UN_MATCH);
-        }
-        if (account.getAccountStatus() != AccountStatus.IN_USE) {
-            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
-        }
-        if (account.getBalance() < amount) {
-            throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
-        }
-
+        TransactionRules.validateUse(user.getId(), account.getAccountUser().getId(),
+            account.getAccountStatus(), account.getBalanceMode(), account.getBalance(), amount);
     }
 
-    @Transactional
-    public Transaction saveFailedUseTransaction(String accountNumber, Long amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-            .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
-        
-        return getTransaction(TransactionType.USE,TransactionResultType.F, account,amount);
+    private Long currentBalance(Account account) {
+        if (account.isSlotted()) {
+            return balanceSlotService.getBalance(account);
+        }
+        if (account.isLedger()) {
+            return accountLedgerService.getBalance(account);
+        }
+        return account.getBalance();
     }
 
     private Transaction getTransaction(
         TransactionType transactionType,
         TransactionResultType transactionResultType,
         Account account,
-        Long amount) {
-        return transactionRepository.save(
-            Transaction.builder()
-                .transactionType(transactionType)
-                .transactionResultType(transactionResultType)
-                .account(account)
-                .amount(amount)
-                .balanceSnapshot(account.getBalance())
-                .transactionId(UUID.randomUUID().toString().replace("-", ""))
-                .transactedAt(LocalDateTime.now())
-                .build()
+        Long amount,
+        Long balanceSnapshot) {
+        Transaction transaction = transactionRepository.save(
+            buildTransaction(transactionType, transactionResultType, account, amount,
+                balanceSnapshot)
         );
+        if (transactionResultType == TransactionResultType.S) {
+            // 잔액 변경 이벤트는 거래와 같은 트랜잭션에 남기고 TransactionOutboxRelay 가 발행
+            transactionOutboxRepository.save(TransactionOutbox.from(transaction));
+        }
+        return transaction;
+    }
+
+    private Transaction buildTransaction(
+        TransactionType transactionType,
+        TransactionResultType transactionResultType,
+        Account account,
+        Long amount,
+        Long balanceSnapshot) {
+        return Transaction.builder()
+            .transactionType(transactionType)
+            .transactionResultType(transactionResultType)
+            .account(account)
+            .amount(amount)
+            .balanceSnapshot(balanceSnapshot)
+            .transactionId(transactionIdGenerator.nextId())
+            .transactedAt(LocalDateTime.now())
+            .build();
     }
 
     @Transactional
@@ -101,29 +152,201 @@ public class TransactionService {
 
         validateCancelBalance(transaction, account,amount);
 
-        account.cancelBalance(amount);
+        Long balanceSnapshot;
+        if (account.isSlotted()) {
+            balanceSnapshot = balanceSlotService.credit(account, amount);
+        } else if (account.isLedger()) {
+            balanceSnapshot = accountLedgerService.credit(account, amount);
+        } else {
+            account.cancelBalance(amount);
+            balanceSnapshot = account.getBalance();
+        }
+        accountListCacheEvictor.evict(account.getAccountUser().getId());
         return TransactionDto.fromEntity(
-            getTransaction(TransactionType.CANCEL,TransactionResultType.S, account,amount)
+            getTransaction(TransactionType.CANCEL,TransactionResultType.S, account,amount,
+                balanceSnapshot)
         );
     }
 
     private void validateCancelBalance(Transaction transaction, Account account, Long amount) {
-        if (!Objects.equals(transaction.getAccount().getId(), account.getId())) {
-            throw new AccountException(ErrorCode.TRANSACTION_ACCOUNT_UN_MATCH);
+        TransactionRules.validateCancel(transaction.getAccount().getId(), account.getId(),
+            transaction.getAmount(), amount, transaction.getTransactedAt());
+    }
+
+    /**
+     * 계좌 거래 내역 (최신순)
+     * size + 1 건을 읽어 다음 페이지가 있는지 확인하고, 마지막 거래를 다음 cursor 로 넘긴다.
+     * @param cursor 이전 응답의 nextCursor (첫 페이지면 null)
+     */
+    @Transactional
+    public TransactionHistory.Response getTransactionHistory(
+        String accountNumber,
+        TransactionType transactionType,
+        TransactionResultType transactionResultType,
+        String cursor,
+        int size
+    ) {
+        if (size < 1 || size > MAX_HISTORY_SIZE) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
         }
-        if (!Objects.equals(transaction.getAmount(), amount)) {
-            throw new AccountException(ErrorCode.CANCEL_MUST_FULLY);
+        TransactionHistory.Cursor from = TransactionHistory.Cursor.decode(cursor);
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+            .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        List<TransactionHistory.Item> items = transactionRepository.findHistory(
+            account.getId(), from.getTransactedAt(), from.getId(),
+            transactionType, transactionResultType, PageRequest.of(0, size + 1));
+        if (items.size() <= size) {
+            return new TransactionHistory.Response(items, null);
         }
-        if (transaction.getTransactedAt().isBefore(LocalDateTime.now().minusYears(1))) {
-            throw new AccountException(ErrorCode.TOO_OLD_ORDER_TO_CANCEL);
+        List<TransactionHistory.Item> page = items.subList(0, size);
+        return new TransactionHistory.Response(page,
+            TransactionHistory.Cursor.from(page.get(size - 1)).encode());
+    }
+
+    /**
+     * 실패 거래 journal 에서 모은 기록을 한 번에 저장
+     * 계좌는 한 번의 IN 조회로 읽고, 없는 계좌의 기록은 로그만 남기고 버린다.
+     * @return 저장된 거래 수
+     */
+    @Transactional
+    public int saveFailedTransactions(List<FailedTransactionRecord> records) {
+        Map<String, Account> accounts = accountRepository.findByAccountNumberIn(
+                records.stream()
+                    .map(FailedTransactionRecord::getAccountNumber)
+                    .collect(Collectors.toSet()))
+            .stream()
+            .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+
+        Map<String, Long> balances = new HashMap<>();
+        List<Transaction> transactions = new ArrayList<>(records.size());
+        for (FailedTransactionRecord record : records) {
+            Account account = accounts.get(record.getAccountNumber());
+            if (account == null) {
+                log.warn("Failed transaction for unknown account : {}", record.getAccountNumber());
+                continue;
+            }
+            Transaction transaction = buildTransaction(record.getTransactionType(),
+                TransactionResultType.F, account, record.getAmount(),
+                balances.computeIfAbsent(account.getAccountNumber(), key -> currentBalance(account)));
+            // 저장 시각이 아닌 실패 시각으로 기록
+            transaction.setTransactedAt(record.getTransactedAt());
+            transactions.add(transaction);
         }
+        transactionRepository.saveAll(transactions);
+        return transactions.size();
     }
 
+    /**
+     * 한 계좌에 대한 잔액 사용/취소를 한 트랜잭션에서 처리
+     * 1. 계좌, 사용자, 취소 대상 거래는 한 번씩만 조회
+     * 2. 항목별로 검증하고, 실패한 항목은 실패 거래(F)로 기록
+     * 3. 거래 기록은 saveAll 로 한 번에 저장 (JDBC batch insert)
+     * @param items 요청 내 위치 -> 항목 (모두 같은 계좌)
+     */
     @Transactional
-    public void saveFailedCancelTransaction(String accountNumber, Long amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-            .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+    public List<BatchTransaction.ItemResult> applyBatch(
+        String accountNumber,
+        Map<Integer, BatchTransaction.Item> items
+    ) {
+        Optional<Account> optionalAccount = accountRepository.findByAccountNumber(accountNumber);
+        if (!optionalAccount.isPresent()) {
+            // 계좌가 없으면 실패 거래도 남길 수 없다.
+            AccountException e = new AccountException(ErrorCode.ACCOUNT_NOT_FOUND);
+            return items.entrySet().stream()
+                .map(entry -> BatchTransaction.ItemResult.failed(entry.getKey(), entry.getValue(), e))
+                .collect(Collectors.toList());
+        }
+        Account account = optionalAccount.get();
+
+        Map<Long, AccountUser> users = accountUserRepository.findAllById(
+                items.values().stream()
+                    .filter(item -> item.getTransactionType() == TransactionType.USE)
+                    .map(BatchTransaction.Item::getUserId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet()))
+            .stream()
+            .collect(Collectors.toMap(AccountUser::getId, Function.identity()));
+
+        Map<String, Transaction> cancelTargets = transactionRepository.findByTransactionIdIn(
+                items.values().stream()
+                    .filter(item -> item.getTransactionType() == TransactionType.CANCEL)
+                    .map(BatchTransaction.Item::getTransactionId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet()))
+            .stream()
+            .collect(Collectors.toMap(Transaction::getTransactionId, Function.identity()));
+
+        List<Transaction> transactions = new ArrayList<>(items.size());
+        List<BatchTransaction.ItemResult> results = new ArrayList<>(items.size());
+        for (Map.Entry<Integer, BatchTransaction.Item> entry : items.entrySet()) {
+            BatchTransaction.Item item = entry.getValue();
+            Transaction transaction;
+            try {
+                transaction = applyBatchItem(account, item, users, cancelTargets);
+                // 같은 요청 안에서 앞선 사용 건을 취소할 수 있도록
+                cancelTargets.put(transaction.getTransactionId(), transaction);
+                results.add(BatchTransaction.ItemResult.from(entry.getKey(), transaction));
+            } catch (AccountException e) {
+                transaction = buildTransaction(item.getTransactionType(), TransactionResultType.F,
+                    account, item.getAmount(), currentBalance(account));
+                results.add(BatchTransaction.ItemResult.failed(entry.getKey(), transaction, e));
+            }
+            transactions.add(transaction);
+        }
+        transactionRepository.saveAll(transactions);
+        transactionOutboxRepository.saveAll(transactions.stream()
+            .filter(transaction ->
+                transaction.getTransactionResultType() == TransactionResultType.S)
+            .map(TransactionOutbox::from)
+            .collect(Collectors.toList()));
+        accountListCacheEvictor.evict(account.getAccountUser().getId());
+        return results;
+    }
+
+    private Transaction applyBatchItem(
+        Account account,
+        BatchTransaction.Item item,
+        Map<Long, AccountUser> users,
+        Map<String, Transaction> cancelTargets
+    ) {
+        Long amount = item.getAmount();
+        Long balanceSnapshot;
+        if (item.getTransactionType() == TransactionType.USE) {
+            if (item.getUserId() == null) {
+                throw new AccountException(ErrorCode.INVALID_REQUEST);
+            }
+            AccountUser user = Optional.ofNullable(users.get(item.getUserId()))
+                .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+            validateUseBalance(user, account, amount);
+
+            if (account.isSlotted()) {
+                balanceSnapshot = balanceSlotService.debit(account, amount);
+            } else if (account.isLedger()) {
+                balanceSnapshot = accountLedgerService.debit(account, amount);
+            } else {
+                // 계좌 락 안에서 실행되므로 메모리에서 차감하고 커밋 시 한 번만 UPDATE
+                account.useBalance(amount);
+                balanceSnapshot = account.getBalance();
+            }
+        } else {
+            if (item.getTransactionId() == null) {
+                throw new AccountException(ErrorCode.INVALID_REQUEST);
+            }
+            Transaction target = Optional.ofNullable(cancelTargets.get(item.getTransactionId()))
+                .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
+            validateCancelBalance(target, account, amount);
 
-        getTransaction(TransactionType.CANCEL,TransactionResultType.F, account,amount);
+            if (account.isSlotted()) {
+                balanceSnapshot = balanceSlotService.credit(account, amount);
+            } else if (account.isLedger()) {
+                balanceSnapshot = accountLedgerService.credit(account, amount);
+            } else {
+                account.cancelBalance(amount);
+                balanceSnapshot = account.getBalance();
+            }
+        }
+        return buildTransaction(item.getTransactionType(), TransactionResultType.S,
+            account, amount, balanceSnapshot);
     }
 }
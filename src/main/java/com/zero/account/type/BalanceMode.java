@@ -0,0 +1,10 @@
+package com.zero.account.type;
+
+public enum BalanceMode {
+    // Account.balance 에 잔액 보관
+    STANDARD,
+    // 잔액을 여러 sub-balance slot 에 나누어 보관 (hot 계좌용)
+    SLOTTED,
+    // 사용/취소를 원장(AccountLedgerEntry)에 추가만 하고, 잔액은 마지막 snapshot + 이후 원장 합
+    LEDGER
+}
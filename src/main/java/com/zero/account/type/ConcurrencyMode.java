@@ -0,0 +1,6 @@
+package com.zero.account.type;
+
+public enum ConcurrencyMode {
+    LOCK,
+    OPTIMISTIC
+}
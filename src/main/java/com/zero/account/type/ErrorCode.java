@@ -17,7 +17,14 @@ public enum ErrorCode {
     USER_ACCOUNT_UN_MATCH("사용자가 계좌의 소유주가 다릅니다."),
     ACCOUNT_ALREADY_UNREGISTERED("계좌가 이미 해지 되었습니다"),
     BALANCE_NOT_EMPTY("잔액이 있는 계좌는 해지할 수 없습니다."),
-    MAX_ACCOUNT_PER_USER_10("사용자 최대 계좌는 10개 입니다.");
+    MAX_ACCOUNT_PER_USER_10("사용자 최대 계좌는 10개 입니다."),
+    ACCOUNT_TRANSACTION_LOCK("해당 계좌는 사용 중입니다."),
+    BALANCE_ALREADY_SLOTTED("이미 잔액이 slot 으로 나뉜 계좌입니다."),
+    BALANCE_MODE_ALREADY_CHANGED("이미 잔액 관리 방식이 바뀐 계좌입니다."),
+    BALANCE_NOT_LEDGER("원장으로 잔액을 관리하는 계좌가 아닙니다."),
+    IDEMPOTENCY_KEY_REUSED("같은 Idempotency-Key 로 다른 요청을 보냈습니다."),
+    IDEMPOTENCY_REQUEST_IN_PROGRESS("같은 Idempotency-Key 의 요청을 처리 중입니다."),
+    INTERNAL_SERVER_ERROR("내부 서버 오류가 발생했습니다.");
 
     private final String description;
 
@@ -0,0 +1,127 @@
+package com.zero.account.aop;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.zero.account.dto.UseBalance;
+import com.zero.account.service.AccountHotnessTracker;
+import com.zero.account.service.BalanceSlotService;
+import com.zero.account.service.LockService;
+import com.zero.account.type.ConcurrencyMode;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+@ExtendWith(MockitoExtension.class)
+class LockAopAspectTest {
+    @Mock
+    private LockService lockService;
+
+    @Mock
+    private AccountHotnessTracker accountHotnessTracker;
+
+    @Mock
+    private BalanceSlotService balanceSlotService;
+
+    @Mock
+    private ProceedingJoinPoint pjp;
+
+    private final UseBalance.Request request =
+        new UseBalance.Request(1L, "1000000000", 1000L);
+
+    private LockAopAspect aspect(ConcurrencyMode mode) {
+        return new LockAopAspect(lockService, accountHotnessTracker, balanceSlotService, mode, 3, 0);
+    }
+
+    @Test
+    void lockModeAlwaysLocks() throws Throwable {
+        //given
+        given(pjp.proceed()).willReturn("result");
+
+        //when
+        Object result = aspect(ConcurrencyMode.LOCK).aroundMethod(pjp, request);
+
+        //then
+        assertEquals("result", result);
+        verify(lockService, times(1)).lock("1000000000");
+        verify(lockService, times(1)).unlock("1000000000");
+    }
+
+    @Test
+    @DisplayName("낙관적 모드 - 충돌 시 락 없이 재시도")
+    void optimisticRetryOnConflict() throws Throwable {
+        //given
+        given(accountHotnessTracker.isHot(anyString())).willReturn(false);
+        given(pjp.proceed())
+            .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L))
+            .willReturn("result");
+
+        //when
+        Object result = aspect(ConcurrencyMode.OPTIMISTIC).aroundMethod(pjp, request);
+
+        //then
+        assertEquals("result", result);
+        verify(pjp, times(2)).proceed();
+        verify(accountHotnessTracker, times(1)).record("1000000000", 1);
+        verify(lockService, never()).lock(anyString());
+    }
+
+    @Test
+    @DisplayName("낙관적 모드 - 재시도 소진 시 락을 잡고 실행")
+    void optimisticFallbackToLock() throws Throwable {
+        //given
+        given(accountHotnessTracker.isHot(anyString())).willReturn(false);
+        given(pjp.proceed())
+            .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L))
+            .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L))
+            .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L))
+            .willReturn("result");
+
+        //when
+        Object result = aspect(ConcurrencyMode.OPTIMISTIC).aroundMethod(pjp, request);
+
+        //then
+        assertEquals("result", result);
+        verify(accountHotnessTracker, times(1)).record("1000000000", 3);
+        verify(lockService, times(1)).lock("1000000000");
+        verify(lockService, times(1)).unlock("1000000000");
+    }
+
+    @Test
+    @DisplayName("낙관적 모드 - hot 계좌는 바로 락")
+    void optimisticHotAccountLocks() throws Throwable {
+        //given
+        given(accountHotnessTracker.isHot(anyString())).willReturn(true);
+        given(pjp.proceed()).willReturn("result");
+
+        //when
+        aspect(ConcurrencyMode.OPTIMISTIC).aroundMethod(pjp, request);
+
+        //then
+        verify(lockService, times(1)).lock("1000000000");
+        verify(accountHotnessTracker, never()).record(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("slot 계좌는 계좌 락 없이 실행")
+    void slottedAccountSkipsLock() throws Throwable {
+        //given
+        given(balanceSlotService.isSlotted(anyString())).willReturn(true);
+        given(pjp.proceed()).willReturn("result");
+
+        //when
+        aspect(ConcurrencyMode.LOCK).aroundMethod(pjp, request);
+
+        //then
+        verify(lockService, never()).lock(anyString());
+    }
+}
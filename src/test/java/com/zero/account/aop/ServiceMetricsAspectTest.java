@@ -0,0 +1,121 @@
+package com.zero.account.aop;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+
+import com.zero.account.exception.AccountException;
+import com.zero.account.service.AccountService;
+import com.zero.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+    @Mock
+    private ProceedingJoinPoint pjp;
+
+    @Mock
+    private MethodSignature signature;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ServiceMetricsAspect aspect = new ServiceMetricsAspect(meterRegistry);
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        given(pjp.getSignature()).willReturn(signature);
+        given(signature.getMethod()).willReturn(
+            AccountService.class.getMethod("getAccountsbyUserId", Long.class));
+    }
+
+    @Test
+    void recordSuccess() throws Throwable {
+        //given
+        given(pjp.proceed()).willReturn("result");
+
+        //when
+        Object result = aspect.record(pjp);
+        aspect.record(pjp);
+
+        //then
+        assertEquals("result", result);
+        assertEquals(2, meterRegistry.get(ServiceMetricsAspect.METRIC_NAME)
+            .tag("class", "AccountService")
+            .tag("method", "getAccountsbyUserId")
+            .tag("outcome", "SUCCESS")
+            .timer().count());
+    }
+
+    @Test
+    void recordErrorCodeAsOutcome() throws Throwable {
+        //given
+        given(pjp.proceed()).willThrow(new AccountException(ErrorCode.USER_NOT_FOUND));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> aspect.record(pjp));
+
+        //then
+        assertEquals(ErrorCode.USER_NOT_FOUND, exception.getErrorCode());
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.METRIC_NAME)
+            .tag("outcome", "USER_NOT_FOUND")
+            .timer().count());
+        assertTrue(meterRegistry.find(ServiceMetricsAspect.METRIC_NAME)
+            .tag("outcome", "SUCCESS").timers().isEmpty());
+    }
+
+    @Test
+    void recordMonoOnTermination() throws Throwable {
+        //given
+        given(pjp.proceed()).willReturn(Mono.just("result"));
+
+        //when
+        Mono<?> result = (Mono<?>) aspect.record(pjp);
+
+        //then
+        assertTrue(meterRegistry.find(ServiceMetricsAspect.METRIC_NAME).timers().isEmpty());
+        assertEquals("result", result.block());
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.METRIC_NAME)
+            .tag("outcome", "SUCCESS")
+            .timer().count());
+    }
+
+    @Test
+    void recordMonoErrorCodeAsOutcome() throws Throwable {
+        //given
+        given(pjp.proceed()).willReturn(
+            Mono.error(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE)));
+
+        //when
+        Mono<?> result = (Mono<?>) aspect.record(pjp);
+        AccountException exception = assertThrows(AccountException.class, result::block);
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.METRIC_NAME)
+            .tag("outcome", "AMOUNT_EXCEED_BALANCE")
+            .timer().count());
+        assertTrue(meterRegistry.find(ServiceMetricsAspect.METRIC_NAME)
+            .tag("outcome", "SUCCESS").timers().isEmpty());
+    }
+
+    @Test
+    void recordMonoCancel() throws Throwable {
+        //given
+        given(pjp.proceed()).willReturn(Mono.never());
+
+        //when
+        ((Mono<?>) aspect.record(pjp)).subscribe().dispose();
+
+        //then
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.METRIC_NAME)
+            .tag("outcome", "CANCELLED")
+            .timer().count());
+    }
+}
@@ -0,0 +1,169 @@
+package com.zero.account.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 두 H2 (primary / replica) 로 route 확인
+ * 복제는 없으므로 replica 의 heartbeat 는 테스트에서 직접 복사한다.
+ */
+class ReadOnlyRoutingDataSourceTest {
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaLagMonitor replicaLagMonitor;
+    private MeterRegistry meterRegistry;
+    private JdbcTemplate routed;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate writeTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primaryDataSource = h2("routing_primary");
+        DataSource replicaDataSource = h2("routing_replica");
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        for (JdbcTemplate db : new JdbcTemplate[]{primary, replica}) {
+            db.execute("create table route_marker (name varchar(16))");
+        }
+        primary.update("insert into route_marker values ('primary')");
+        replica.update("insert into route_marker values ('replica')");
+
+        meterRegistry = new SimpleMeterRegistry();
+        replicaLagMonitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSource, 1000);
+        replicaLagMonitor.bindTo(meterRegistry);
+        replicaLagMonitor.init();
+
+        ReadOnlyRoutingDataSource routingDataSource = new ReadOnlyRoutingDataSource(
+            primaryDataSource, replicaDataSource, replicaLagMonitor::isReplicaUsable);
+        routingDataSource.bindTo(meterRegistry);
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        routed = new JdbcTemplate(dataSource);
+
+        DataSourceTransactionManager transactionManager =
+            new DataSourceTransactionManager(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.execute("drop all objects");
+        replica.execute("drop all objects");
+    }
+
+    @Test
+    @DisplayName("primary 에 heartbeat 를 쓰고, replica 에 없으면 지연을 모르는 것으로 봄")
+    void heartbeatOnPrimary() {
+        //given
+        //when
+        replicaLagMonitor.beat();
+
+        //then
+        assertNotNull(primary.queryForObject(
+            "select beat_at from replica_heartbeat where id = 1", Long.class));
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+        assertTrue(Double.isNaN(meterRegistry.get("account.datasource.replica.lag").gauge().value()));
+    }
+
+    @Test
+    @DisplayName("replica 에 최근 heartbeat 가 있으면 읽기 전용은 replica")
+    void readOnlyToReplica() {
+        //given
+        replicate(System.currentTimeMillis());
+        replicaLagMonitor.measure();
+
+        //when
+        String route = readOnlyTransaction.execute(status -> marker());
+
+        //then
+        assertEquals("replica", route);
+        assertEquals(1.0, routeCount("replica"));
+        assertTrue(replicaLagMonitor.getLagMs() <= 1000);
+    }
+
+    @Test
+    @DisplayName("replica 에 heartbeat 가 없으면 (지연을 모름) primary 로 대체")
+    void readOnlyFallbackWithoutHeartbeat() {
+        //given
+        replicaLagMonitor.measure();
+
+        //when
+        String route = readOnlyTransaction.execute(status -> marker());
+
+        //then
+        assertEquals("primary", route);
+        assertEquals(1.0, routeCount("fallback"));
+        assertEquals(ReplicaLagMonitor.UNKNOWN, replicaLagMonitor.getLagMs());
+    }
+
+    @Test
+    @DisplayName("replica heartbeat 가 max-replica-lag-ms 보다 오래되면 primary 로 대체")
+    void readOnlyFallbackWhenLagging() {
+        //given
+        replicate(System.currentTimeMillis() - 5000);
+        replicaLagMonitor.measure();
+
+        //when
+        String route = readOnlyTransaction.execute(status -> marker());
+
+        //then
+        assertEquals("primary", route);
+        assertEquals(1.0, routeCount("fallback"));
+        assertTrue(replicaLagMonitor.getLagMs() >= 5000);
+    }
+
+    @Test
+    @DisplayName("쓰기 트랜잭션은 replica 가 최신이어도 primary")
+    void writeToPrimary() {
+        //given
+        replicate(System.currentTimeMillis());
+        replicaLagMonitor.measure();
+
+        //when
+        String route = writeTransaction.execute(status -> {
+            routed.update("insert into route_marker values ('written')");
+            return marker();
+        });
+
+        //then
+        assertEquals("primary", route);
+        assertEquals(0.0, routeCount("replica"));
+        assertEquals(0.0, routeCount("fallback"));
+        assertEquals(2, primary.queryForObject("select count(*) from route_marker", Integer.class));
+        assertEquals(1, replica.queryForObject("select count(*) from route_marker", Integer.class));
+    }
+
+    private String marker() {
+        return routed.queryForObject(
+            "select name from route_marker where name <> 'written'", String.class);
+    }
+
+    private void replicate(long beatAt) {
+        replica.execute("create table if not exists replica_heartbeat"
+            + " (id int primary key, beat_at bigint not null)");
+        replica.update("merge into replica_heartbeat key (id) values (1, ?)", beatAt);
+    }
+
+    private double routeCount(String route) {
+        return meterRegistry.get("account.datasource.route").tag("route", route).functionCounter().count();
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource(
+            "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
@@ -0,0 +1,236 @@
+package com.zero.account.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zero.account.config.TwoLevelCache.EvictMessage;
+import io.netty.buffer.ByteBuf;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.MessageListener;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.handler.State;
+import org.redisson.codec.JsonJacksonCodec;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RMapCache<Object, Object> remote;
+
+    @Mock
+    private RTopic topic;
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        given(redissonClient.getMapCache(anyString(), any(Codec.class))).willReturn(remote);
+        given(redissonClient.getTopic(anyString(), any(Codec.class))).willReturn(topic);
+        given(redissonClient.getAtomicLong(anyString())).willAnswer(invocation -> {
+            AtomicLong version = versions.computeIfAbsent(invocation.getArgument(0),
+                name -> new AtomicLong());
+            return mock(RAtomicLong.class, call -> {
+                switch (call.getMethod().getName()) {
+                    case "get":
+                        return version.get();
+                    case "incrementAndGet":
+                        return version.incrementAndGet();
+                    default:
+                        return call.getMethod().getReturnType() == boolean.class ? true : null;
+                }
+            });
+        });
+        cache = newNode();
+    }
+
+    private TwoLevelCache newNode() {
+        return new TwoLevelCache("accountsByUser", Caffeine.newBuilder().build(),
+            redissonClient, StringCodec.INSTANCE, 60);
+    }
+
+    @Test
+    @DisplayName("같은 키의 동시 miss - 원본은 한 번만 조회")
+    void singleFlightLoad() throws Exception {
+        //given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        //when
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return cache.get(12L, () -> {
+                    loads.incrementAndGet();
+                    Thread.sleep(50);
+                    return "accounts";
+                });
+            }));
+        }
+        start.countDown();
+
+        //then
+        for (Future<String> result : results) {
+            assertEquals("accounts", result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(1, loads.get());
+        verify(remote, times(1)).get(12L);
+        verify(remote, times(1)).fastPut(12L, "accounts", 60, TimeUnit.SECONDS);
+        verify(remote, never()).fastRemove(any());
+    }
+
+    @Test
+    @DisplayName("원본을 읽는 동안 다른 노드가 evict - 읽은 값을 Redis, 로컬에 남기지 않음")
+    void evictWhileLoading() {
+        //given
+        TwoLevelCache otherNode = newNode();
+
+        //when
+        String value = cache.get(12L, () -> {
+            // 커밋 전 값을 읽은 뒤, 커밋한 다른 노드가 evict
+            otherNode.evict(12L);
+            return "stale";
+        });
+
+        //then
+        assertEquals("stale", value);
+        assertNull(cache.getLocalCache().getIfPresent(12L));
+        InOrder inOrder = inOrder(remote);
+        inOrder.verify(remote).fastRemove(eq(12L));
+        inOrder.verify(remote).fastPut(12L, "stale", 60, TimeUnit.SECONDS);
+        inOrder.verify(remote).fastRemove(eq(12L));
+    }
+
+    @Test
+    @DisplayName("로드가 끝난 뒤의 evict 는 다음 로드에 영향 없음")
+    void loadAfterEvict() {
+        //given
+        cache.evict(12L);
+
+        //when
+        String value = cache.get(12L, () -> "accounts");
+
+        //then
+        assertEquals("accounts", value);
+        assertEquals("accounts", cache.getLocalCache().getIfPresent(12L));
+        verify(remote, times(1)).fastRemove(eq(12L));
+        verify(remote, times(1)).fastPut(12L, "accounts", 60, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("자기 노드가 보낸 알림은 무시하고 다른 노드의 알림만 반영")
+    @SuppressWarnings("unchecked")
+    void skipSelfPublished() {
+        //given
+        ArgumentCaptor<MessageListener<EvictMessage>> listener =
+            ArgumentCaptor.forClass(MessageListener.class);
+        verify(topic).addListener(eq(EvictMessage.class), listener.capture());
+        ArgumentCaptor<EvictMessage> published = ArgumentCaptor.forClass(EvictMessage.class);
+
+        //when
+        cache.put(12L, "accounts");
+        verify(topic).publish(published.capture());
+        listener.getValue().onMessage("account-cache:accountsByUser:evict", published.getValue());
+
+        //then
+        assertEquals("accounts", cache.getLocalCache().getIfPresent(12L));
+
+        //when
+        listener.getValue().onMessage("account-cache:accountsByUser:evict",
+            new EvictMessage("other-node", 12L));
+
+        //then
+        assertNull(cache.getLocalCache().getIfPresent(12L));
+    }
+
+    @Test
+    @DisplayName("evict 알림은 Long 키 타입을 유지해 직렬화")
+    void evictMessageCodec() throws Exception {
+        //given
+        JsonJacksonCodec codec = new JsonJacksonCodec();
+        ByteBuf encoded = codec.getValueEncoder().encode(new EvictMessage("node", 12L));
+
+        //when
+        EvictMessage decoded;
+        try {
+            decoded = (EvictMessage) codec.getValueDecoder().decode(encoded, new State());
+        } finally {
+            encoded.release();
+        }
+
+        //then
+        assertEquals("node", decoded.getOrigin());
+        assertEquals(12L, decoded.getKey());
+    }
+
+    @Test
+    @DisplayName("로컬 miss, Redis hit - 원본을 읽지 않음")
+    void remoteHit() {
+        //given
+        given(remote.get(12L)).willReturn("accounts");
+
+        //when
+        String value = cache.get(12L, () -> {
+            throw new IllegalStateException("must not load");
+        });
+
+        //then
+        assertEquals("accounts", value);
+        assertEquals("accounts", cache.get(12L).get());
+        verify(remote, times(1)).get(12L);
+    }
+
+    @Test
+    @DisplayName("evict - 로컬, Redis 모두 비우고 다른 노드에 알림")
+    void evict() {
+        //given
+        cache.getLocalCache().put(12L, "accounts");
+
+        //when
+        cache.evict(12L);
+
+        //then
+        assertNull(cache.getLocalCache().getIfPresent(12L));
+        verify(remote, times(1)).fastRemove(eq(12L));
+        verify(topic, times(1)).publish(argThat(
+            message -> 12L == (Long) ((EvictMessage) message).getKey()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.zero.account.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadPinningMonitorTest {
+    private final Object monitor = new Object();
+
+    private SimpleMeterRegistry meterRegistry;
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pinningMonitor = new VirtualThreadPinningMonitor(meterRegistry, 10, 8);
+        pinningMonitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pinningMonitor.stop();
+    }
+
+    @Test
+    @DisplayName("synchronized 안에서 대기한 virtual thread - pinning 으로 기록")
+    void pinnedInsideSynchronized() throws Exception {
+        //given
+        //when
+        Thread.ofVirtual().start(() -> {
+            synchronized (monitor) {
+                sleep(100);
+            }
+        }).join();
+
+        //then
+        Timer pinned = meterRegistry.get("account.virtual-thread.pinned").timer();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pinned.count() == 0 && System.nanoTime() < deadline) {
+            sleep(100);
+        }
+        assertEquals(1, pinned.count());
+        assertTrue(pinned.totalTime(TimeUnit.MILLISECONDS) >= 50);
+    }
+
+    @Test
+    @DisplayName("synchronized 밖에서 대기 - carrier 를 놓으므로 기록 없음")
+    void notPinnedOutsideSynchronized() throws Exception {
+        //given
+        //when
+        Thread.ofVirtual().start(() -> sleep(100)).join();
+        sleep(2000);
+
+        //then
+        assertEquals(0, meterRegistry.get("account.virtual-thread.pinned").timer().count());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
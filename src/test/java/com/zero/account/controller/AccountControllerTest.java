@@ -1,8 +1,11 @@
 package com.zero.account.controller;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -12,11 +15,15 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zero.account.domain.Account;
+import com.zero.account.dto.AccountDetail;
 import com.zero.account.dto.AccountDto;
 import com.zero.account.dto.CreateAccount;
 import com.zero.account.dto.DeleteAccount;
+import com.zero.account.dto.EnableBalanceSlots;
 import com.zero.account.type.AccountStatus;
+import com.zero.account.service.AccountLedgerService;
 import com.zero.account.service.AccountService;
+import com.zero.account.service.BalanceSlotService;
 import com.zero.account.service.RedisTestService;
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -37,6 +44,12 @@ class AccountControllerTest {
     @MockBean
     private RedisTestService redisTestService;
 
+    @MockBean
+    private BalanceSlotService balanceSlotService;
+
+    @MockBean
+    private AccountLedgerService accountLedgerService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -68,16 +81,37 @@ class AccountControllerTest {
     void successGetAccount() throws Exception {
         //given
         given(accountService.getAccount(anyLong()))
-            .willReturn(Account.builder()
+            .willReturn(AccountDetail.builder()
+                .userId(1L)
                 .accountNumber("3456")
                 .accountStatus(AccountStatus.IN_USE)
+                .balance(1000L)
                 .build());
         //when
         mockMvc.perform(get("/account/876"))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.accountNumber").value("3456"))
             .andExpect(jsonPath("$.accountStatus").value("IN_USE"))
+            .andExpect(jsonPath("$.userId").value(1))
+            .andExpect(jsonPath("$.accountUser").doesNotExist())
+            .andDo(print());
+    }
+
+    @Test
+    void successGetLedgerBalance() throws Exception {
+        //given
+        given(accountLedgerService.getBalanceAt(anyString(), any()))
+            .willReturn(7000L);
+        //when
+        //then
+        mockMvc.perform(get("/account/ledger/balance?account_number=1234567890"
+                + "&at=2026-01-01T10:00:00"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.accountNumber").value("1234567890"))
+            .andExpect(jsonPath("$.balance").value(7000))
             .andDo(print());
+        verify(accountLedgerService).getBalanceAt(
+            "1234567890", LocalDateTime.of(2026, 1, 1, 10, 0));
     }
 
     @Test
@@ -131,4 +165,24 @@ class AccountControllerTest {
 //            .andExpect(jsonPath("$.[2].accountNumber").value("5678901234"));
     }
 
+    @Test
+    void successEnableBalanceSlots() throws Exception {
+        //given
+        given(balanceSlotService.enableSlots(anyString(), anyInt()))
+            .willReturn(Account.builder()
+                .accountNumber("1234567890")
+                .balanceSlotCount(8)
+                .build());
+        //when
+        //then
+        mockMvc.perform(post("/account/balance-slots")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new EnableBalanceSlots.Request("1234567890", 8)
+                )))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.accountNumber").value("1234567890"))
+            .andExpect(jsonPath("$.slotCount").value(8))
+            .andDo(print());
+    }
 }
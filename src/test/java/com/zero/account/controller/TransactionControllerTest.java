@@ -1,33 +1,72 @@
 package com.zero.account.controller;
 
 import static com.zero.account.type.TransactionResultType.S;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zero.account.domain.TransactionDto;
+import com.zero.account.dto.BatchTransaction;
 import com.zero.account.dto.CancelBalance;
+import com.zero.account.dto.TransactionExport;
+import com.zero.account.dto.TransactionHistory;
 import com.zero.account.dto.UseBalance;
+import com.zero.account.exception.AccountException;
+import com.zero.account.service.FailedTransactionJournal;
+import com.zero.account.service.TransactionBatchService;
+import com.zero.account.service.TransactionExportService;
 import com.zero.account.service.TransactionService;
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.TransactionResultType;
+import com.zero.account.type.TransactionType;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.util.NestedServletException;
 
 @WebMvcTest(TransactionController.class)
 class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private TransactionBatchService transactionBatchService;
+
+    @MockBean
+    private TransactionExportService transactionExportService;
+
+    @MockBean
+    private FailedTransactionJournal failedTransactionJournal;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -87,4 +126,108 @@ class TransactionControllerTest {
             .andExpect(jsonPath("$.amount").value(54321L))
             .andExpect(jsonPath("$.transactionId").value("transactionIdForCancel"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void successBatchTransaction() throws Exception {
+        //given
+        given(transactionBatchService.process(anyList()))
+            .willReturn(Arrays.asList(
+                BatchTransaction.ItemResult.builder()
+                    .index(0)
+                    .transactionType(TransactionType.USE)
+                    .accountNumber("1000000000")
+                    .transactionResult(S)
+                    .transactionId("transactionId")
+                    .amount(3000L)
+                    .build(),
+                BatchTransaction.ItemResult.builder()
+                    .index(1)
+                    .transactionType(TransactionType.CANCEL)
+                    .accountNumber("1000000001")
+                    .transactionResult(TransactionResultType.F)
+                    .amount(1000L)
+                    .errorCode(ErrorCode.TRANSACTION_NOT_FOUND)
+                    .build()));
+        //when
+
+        //then
+        mockMvc.perform(post("/transaction/use/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new BatchTransaction.Request(Arrays.asList(
+                        new BatchTransaction.Item(TransactionType.USE,
+                            1L, null, "1000000000", 3000L),
+                        new BatchTransaction.Item(TransactionType.CANCEL,
+                            null, "transactionId", "1000000001", 1000L)))
+                ))
+            ).andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.results[0].transactionResult").value("S"))
+            .andExpect(jsonPath("$.results[0].transactionId").value("transactionId"))
+            .andExpect(jsonPath("$.results[1].transactionResult").value("F"))
+            .andExpect(jsonPath("$.results[1].errorCode").value("TRANSACTION_NOT_FOUND"));
+    }
+
+    @Test
+    void successGetTransactionHistory() throws Exception {
+        //given
+        given(transactionService.getTransactionHistory(
+            anyString(), any(), any(), any(), anyInt()))
+            .willReturn(new TransactionHistory.Response(Collections.singletonList(
+                new TransactionHistory.Item(10L, "transactionId", TransactionType.USE,
+                    TransactionResultType.S, 1000L, 9000L, LocalDateTime.now())),
+                "nextCursor"));
+        //when
+
+        //then
+        mockMvc.perform(get("/transaction?account_number=1000000000&transaction_type=USE"))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.transactions[0].transactionId").value("transactionId"))
+            .andExpect(jsonPath("$.transactions[0].transactionResult").value("S"))
+            .andExpect(jsonPath("$.transactions[0].balanceSnapshot").value(9000L))
+            .andExpect(jsonPath("$.transactions[0].id").doesNotExist())
+            .andExpect(jsonPath("$.nextCursor").value("nextCursor"));
+    }
+
+    @Test
+    void successExportTransactions() throws Exception {
+        //given
+        LocalDateTime from = LocalDateTime.of(2023, 1, 1, 0, 0);
+        willAnswer(invocation -> {
+            invocation.getArgument(3, OutputStream.class)
+                .write("t1,1000000000\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).given(transactionExportService).export(eq(from), eq(from.plusDays(1)),
+            eq(TransactionExport.Format.CSV), any());
+        //when
+        MvcResult result = mockMvc.perform(get("/transaction/export"
+                + "?from=2023-01-01T00:00:00&to=2023-01-02T00:00:00&format=CSV"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(result))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", "text/csv"))
+            .andExpect(header().string("Content-Disposition",
+                "attachment; filename=transactions.csv"))
+            .andExpect(content().string("t1,1000000000\n"));
+    }
+
+    @Test
+    void exportTransactions_InvalidRange() throws Exception {
+        //given
+        //when
+        NestedServletException exception = assertThrows(NestedServletException.class,
+            () -> mockMvc.perform(get("/transaction/export"
+                + "?from=2023-01-02T00:00:00&to=2023-01-01T00:00:00")));
+
+        //then
+        // 본문(StreamingResponseBody)을 만들기 전에 실패해야 200 이 나가지 않는다.
+        assertEquals(ErrorCode.INVALID_REQUEST,
+            ((AccountException) exception.getCause()).getErrorCode());
+        verify(transactionExportService, never()).export(any(), any(), any(), any());
+    }
+}
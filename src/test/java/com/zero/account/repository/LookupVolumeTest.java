@@ -0,0 +1,133 @@
+package com.zero.account.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongConsumer;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 데이터가 늘어나도 계좌/거래 조회 시간이 일정한지 확인
+ * 기본 test 에서는 제외 : ./gradlew volumeTest [-PvolumeRows=2000000]
+ */
+@Tag("volume")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LookupVolumeTest {
+    private static final int SMALL_ROWS = 10_000;
+    private static final int LOOKUPS = 2_000;
+    private static final long VOLUME_USER_ID = 1_000_000L;
+
+    private final int rows = Integer.getInteger("volume.rows", 2_000_000);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("계좌번호/거래 ID 조회는 인덱스를 타고, 데이터가 늘어도 지연 시간이 일정")
+    void lookupLatencyStaysFlat() {
+        //given
+        seed(1, SMALL_ROWS);
+        // JIT 워밍업
+        medianNanos(SMALL_ROWS, id ->
+            accountRepository.findByAccountNumber(accountNumber(id)).get());
+        medianNanos(SMALL_ROWS, id ->
+            transactionRepository.findByTransactionId(transactionId(id)).get());
+        long smallAccount = medianNanos(SMALL_ROWS, id ->
+            accountRepository.findByAccountNumber(accountNumber(id)).get());
+        long smallTransaction = medianNanos(SMALL_ROWS, id ->
+            transactionRepository.findByTransactionId(transactionId(id)).get());
+
+        //when
+        seed(SMALL_ROWS + 1, rows);
+        long largeAccount = medianNanos(rows, id ->
+            accountRepository.findByAccountNumber(accountNumber(id)).get());
+        long largeTransaction = medianNanos(rows, id ->
+            transactionRepository.findByTransactionId(transactionId(id)).get());
+
+        //then
+        assertUsesIndex("select * from account where account_number = '1000000001'",
+            "UK_ACCOUNT_NUMBER");
+        assertUsesIndex("select * from transaction where transaction_id = 'x'",
+            "UK_TRANSACTION_ID");
+        assertUsesIndex("select * from account where account_user_id = 1"
+            + " and account_status = 'IN_USE'", "IDX_ACCOUNT_USER_STATUS");
+        // 계좌 거래 내역 조회 (TransactionRepository.findHistory) 와 같은 정렬
+        assertUsesIndex("select * from transaction where account_id = 1"
+            + " and transacted_at >= current_timestamp - 1"
+            + " order by account_id desc, transacted_at desc, id desc",
+            "IDX_TRANSACTION_ACCOUNT_TRANSACTED");
+
+        // 풀 스캔이면 데이터 양(200 배)에 비례해 늘어난다.
+        assertFlat(smallAccount, largeAccount);
+        assertFlat(smallTransaction, largeTransaction);
+    }
+
+    /**
+     * id 가 from ~ to 인 계좌와 계좌별 거래 1 건을 SQL 로 직접 넣는다.
+     */
+    private void seed(int from, int to) {
+        jdbcTemplate.update("merge into account_user(id, name) key(id) values (?, 'volume')",
+            VOLUME_USER_ID);
+        jdbcTemplate.update("insert into account"
+            + " (id, account_user_id, account_number, account_status, balance, balance_mode, version)"
+            + " select x, ?, 1000000000 + x, 'IN_USE', 10000, 'STANDARD', 0"
+            + " from system_range(?, ?)", VOLUME_USER_ID, from, to);
+        jdbcTemplate.update("insert into transaction"
+            + " (id, account_id, transaction_type, transaction_result_type, amount,"
+            + "  balance_snapshot, transaction_id, transacted_at)"
+            + " select x, x, 'USE', 'S', 100, 9900, 'volume' || lpad(x, 26, '0'),"
+            + "  current_timestamp from system_range(?, ?)", from, to);
+    }
+
+    private long medianNanos(int maxId, LongConsumer lookup) {
+        long[] elapsed = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            long id = ThreadLocalRandom.current().nextLong(1, maxId + 1);
+            long startedAt = System.nanoTime();
+            lookup.accept(id);
+            elapsed[i] = System.nanoTime() - startedAt;
+            entityManager.clear();
+        }
+        Arrays.sort(elapsed);
+        return elapsed[LOOKUPS / 2];
+    }
+
+    private static void assertFlat(long small, long large) {
+        // JIT/GC 잡음을 감안해 3 배 + 1ms 까지 허용
+        assertTrue(large <= small * 3 + 1_000_000,
+            "median lookup " + small + "ns -> " + large + "ns");
+    }
+
+    private void assertUsesIndex(String sql, String index) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class))
+            .toUpperCase();
+        assertTrue(plan.contains(index), plan);
+    }
+
+    private static String accountNumber(long id) {
+        return String.valueOf(1_000_000_000L + id);
+    }
+
+    private static String transactionId(long id) {
+        return String.format("volume%026d", id);
+    }
+}
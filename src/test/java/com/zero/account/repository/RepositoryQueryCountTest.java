@@ -0,0 +1,170 @@
+package com.zero.account.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.zero.account.domain.Account;
+import com.zero.account.domain.AccountBalanceSlot;
+import com.zero.account.domain.AccountUser;
+import com.zero.account.domain.Transaction;
+import com.zero.account.domain.TransactionDto;
+import com.zero.account.dto.AccountDetail;
+import com.zero.account.dto.AccountDto;
+import com.zero.account.support.QueryCounter;
+import com.zero.account.type.AccountStatus;
+import com.zero.account.type.BalanceMode;
+import com.zero.account.type.TransactionResultType;
+import com.zero.account.type.TransactionType;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+/**
+ * 조회 경로별 SQL 수 : 연관 엔티티를 따라가며 추가 조회(N+1)가 나가지 않는지 확인
+ */
+@DataJpaTest(properties = QueryCounter.ENABLED)
+class RepositoryQueryCountTest {
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private QueryCounter queryCounter;
+
+    @BeforeEach
+    void setUp() {
+        AccountUser user = entityManager.find(AccountUser.class, 1L);
+        Account standard = account(user, "1000000001", BalanceMode.STANDARD, 1000L);
+        Account other = account(user, "1000000002", BalanceMode.STANDARD, 2000L);
+        Account slotted = account(user, "1000000003", BalanceMode.SLOTTED, 0L);
+        for (int i = 0; i < 2; i++) {
+            entityManager.persist(AccountBalanceSlot.builder()
+                .account(slotted).slotIndex(i).balance(1500L).build());
+        }
+        for (Account account : Arrays.asList(standard, other, slotted)) {
+            for (int i = 0; i < 2; i++) {
+                entityManager.persist(Transaction.builder()
+                    .transactionType(TransactionType.USE)
+                    .transactionResultType(TransactionResultType.S)
+                    .account(account)
+                    .amount(100L)
+                    .balanceSnapshot(900L)
+                    .transactionId(account.getAccountNumber() + "-" + i)
+                    .transactedAt(LocalDateTime.now())
+                    .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        queryCounter = new QueryCounter(entityManagerFactory);
+        queryCounter.clear();
+    }
+
+    @Test
+    @DisplayName("계좌 목록 - slot 잔액까지 한 번의 조회, 엔티티를 읽지 않음")
+    void accountsByUserInOneQuery() {
+        //given
+        //when
+        List<AccountDto> accounts = accountRepository.findAccountDtosByUserId(1L);
+
+        //then
+        queryCounter.assertStatements(1);
+        queryCounter.assertEntityLoads(0);
+        assertEquals(3, accounts.size());
+        assertEquals(1000L, accounts.get(0).getBalance());
+        assertEquals(2000L, accounts.get(1).getBalance());
+        assertEquals(3000L, accounts.get(2).getBalance());
+        assertEquals(1L, accounts.get(2).getUserId());
+    }
+
+    @Test
+    @DisplayName("계좌 한 건 응답 - 엔티티 없이 한 번의 조회, slot 잔액 합산")
+    void accountDetailInOneQuery() {
+        //given
+        Long id = accountRepository.findByAccountNumber("1000000003").get().getId();
+        entityManager.clear();
+        queryCounter.clear();
+
+        //when
+        AccountDetail account = accountRepository.findDetailById(id).get();
+
+        //then
+        queryCounter.assertStatements(1);
+        queryCounter.assertEntityLoads(0);
+        assertEquals(3000L, account.getBalance());
+        assertEquals(AccountStatus.IN_USE, account.getAccountStatus());
+    }
+
+    @Test
+    @DisplayName("계좌 조회 - 소유주는 읽지 않고 id 만 사용")
+    void accountWithoutAccountUser() {
+        //given
+        //when
+        Account account = accountRepository.findByAccountNumber("1000000001").get();
+        AccountDto accountDto = AccountDto.fromEntity(account);
+
+        //then
+        queryCounter.assertStatements(1);
+        queryCounter.assertEntityLoads(1);
+        assertFalse(Hibernate.isInitialized(account.getAccountUser()));
+        assertEquals(1L, accountDto.getUserId());
+    }
+
+    @Test
+    @DisplayName("취소 대상 거래 IN 조회 - 거래마다 계좌를 읽지 않음")
+    void cancelTargetsWithoutAccounts() {
+        //given
+        //when
+        List<Transaction> transactions = transactionRepository.findByTransactionIdIn(
+            Arrays.asList("1000000001-0", "1000000002-0", "1000000003-0", "1000000003-1"));
+        transactions.forEach(transaction -> assertNotNull(transaction.getAccount().getId()));
+
+        //then
+        queryCounter.assertStatements(1);
+        queryCounter.assertEntityLoads(4);
+    }
+
+    @Test
+    @DisplayName("거래 DTO - 계좌 번호를 위해 계좌만 추가로 읽고 소유주는 읽지 않음")
+    void transactionDtoLoadsAccountOnly() {
+        //given
+        //when
+        Transaction transaction = transactionRepository.findByTransactionId("1000000002-1").get();
+        TransactionDto transactionDto = TransactionDto.fromEntity(transaction);
+
+        //then
+        queryCounter.assertStatements(2);
+        queryCounter.assertEntityLoads(2);
+        assertEquals("1000000002", transactionDto.getAccountNumber());
+        assertFalse(Hibernate.isInitialized(transaction.getAccount().getAccountUser()));
+    }
+
+    private Account account(AccountUser user, String accountNumber, BalanceMode balanceMode,
+        Long balance) {
+        Account account = Account.builder()
+            .accountUser(user)
+            .accountNumber(accountNumber)
+            .accountStatus(AccountStatus.IN_USE)
+            .balanceMode(balanceMode)
+            .balance(balance)
+            .registeredAt(LocalDateTime.now())
+            .build();
+        entityManager.persist(account);
+        return account;
+    }
+}
@@ -0,0 +1,114 @@
+package com.zero.account.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.zero.account.dto.TransactionExport;
+import com.zero.account.service.TransactionExportService;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 거래가 많아도 내보내는 동안 heap 이 늘지 않는지 확인
+ * 기본 test 에서는 제외 : ./gradlew volumeTest [-PvolumeRows=2000000]
+ * 데이터는 커밋해 둔다. (커밋 전 row 를 읽으면 H2 가 버전 정보를 메모리에 만든다)
+ */
+@Tag("volume")
+@DataJpaTest
+@Import({TransactionExportService.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionExportVolumeTest {
+    // 다른 volume 테스트 데이터와 겹치지 않는 id, 기간
+    private static final long USER_ID = 3_000_000L;
+    private static final long ACCOUNT_ID = 60_000_000L;
+    private static final long TRANSACTION_ID_BASE = 60_000_000L;
+    private static final LocalDateTime STARTED_AT = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    private final int rows = Integer.getInteger("volume.rows", 2_000_000);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Test
+    @DisplayName("거래 내보내기 - 건수와 관계없이 heap 사용량이 일정함")
+    void exportKeepsHeapFlat() throws IOException {
+        //given
+        seed();
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream();
+
+        //when
+        long count = transactionExportService.export(STARTED_AT, STARTED_AT.plusYears(1),
+            TransactionExport.Format.NDJSON, out);
+
+        //then
+        assertEquals(rows, count);
+        assertEquals(rows, out.lines);
+        // List 로 모았다면 rows 에 비례해 늘어난다.
+        assertTrue(out.maxGrowth < MAX_HEAP_GROWTH,
+            "heap grew " + out.maxGrowth / 1024 / 1024 + "MB while exporting " + rows + " rows");
+
+        // TransactionRepository.streamForExport 와 같은 형태
+        String plan = String.join("\n", jdbcTemplate.queryForList("explain select t.id,"
+            + " (select a.account_number from account a where a.id = t.account_id)"
+            + " from transaction t where t.transacted_at >= timestamp '2030-01-01 00:00:00'"
+            + " and t.transacted_at < timestamp '2031-01-01 00:00:00'"
+            + " order by t.transacted_at, t.id", String.class)).toUpperCase();
+        // 정렬하려고 기간 전체를 모으지 않음
+        assertTrue(plan.contains("IDX_TRANSACTION_TRANSACTED"), plan);
+        assertTrue(plan.contains("INDEX SORTED"), plan);
+    }
+
+    /**
+     * 한 계좌에 거래 rows 건 (1 초에 1 건)
+     */
+    private void seed() {
+        jdbcTemplate.update("merge into account_user(id, name) key(id) values (?, 'export')",
+            USER_ID);
+        jdbcTemplate.update("insert into account"
+            + " (id, account_user_id, account_number, account_status, balance, balance_mode, version)"
+            + " values (?, ?, '9000000002', 'IN_USE', 10000, 'STANDARD', 0)",
+            ACCOUNT_ID, USER_ID);
+        jdbcTemplate.update("insert into transaction"
+            + " (id, account_id, transaction_type, transaction_result_type, amount,"
+            + "  balance_snapshot, transaction_id, transacted_at)"
+            + " select ? + x, ?, 'USE', 'S', 100, 9900, 'export' || lpad(x, 26, '0'),"
+            + "  dateadd('SECOND', x, timestamp '2030-01-01 00:00:00')"
+            + " from system_range(0, ?)", TRANSACTION_ID_BASE, ACCOUNT_ID, rows - 1);
+    }
+
+    /**
+     * 응답 대신 줄 수만 세고, 10 만 줄마다 GC 후 heap 사용량을 잰다.
+     */
+    private static class HeapSamplingOutputStream extends OutputStream {
+        private final long baseline = usedHeap();
+        private long lines;
+        private long maxGrowth;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines % 100_000 == 0) {
+                maxGrowth = Math.max(maxGrowth, usedHeap() - baseline);
+            }
+        }
+
+        private static long usedHeap() {
+            System.gc();
+            Runtime runtime = Runtime.getRuntime();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+    }
+}
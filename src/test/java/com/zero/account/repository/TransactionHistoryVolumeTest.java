@@ -0,0 +1,124 @@
+package com.zero.account.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.zero.account.dto.TransactionHistory;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 거래가 많은 계좌에서도 뒤 페이지 조회가 첫 페이지만큼 빠른지 확인 (keyset 페이지)
+ * 기본 test 에서는 제외 : ./gradlew volumeTest [-PvolumeRows=2000000]
+ */
+@Tag("volume")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionHistoryVolumeTest {
+    private static final int LOOKUPS = 500;
+    private static final int PAGE_SIZE = 20;
+    // LookupVolumeTest 데이터와 겹치지 않는 id
+    private static final long USER_ID = 2_000_000L;
+    private static final long ACCOUNT_ID = 50_000_000L;
+    private static final long TRANSACTION_ID_BASE = 50_000_000L;
+    private static final LocalDateTime STARTED_AT = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+    private final int rows = Integer.getInteger("volume.rows", 2_000_000);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("거래 내역 - 마지막 근처 페이지도 첫 페이지와 지연 시간이 같음")
+    void deepPageIsAsFastAsFirstPage() {
+        //given
+        seed();
+        // 맨 뒤에서 두 번째 페이지의 기준 : 2 초에 거래 1 건씩 (같은 시각에 2 건)
+        TransactionHistory.Cursor deep = new TransactionHistory.Cursor(
+            STARTED_AT.plusSeconds(PAGE_SIZE), TRANSACTION_ID_BASE + PAGE_SIZE * 2);
+
+        // JIT 워밍업
+        medianNanos(() -> page(TransactionHistory.Cursor.FIRST));
+        medianNanos(() -> page(deep));
+
+        //when
+        long first = medianNanos(() -> page(TransactionHistory.Cursor.FIRST));
+        long last = medianNanos(() -> page(deep));
+
+        //then
+        List<TransactionHistory.Item> firstPage = page(TransactionHistory.Cursor.FIRST);
+        assertEquals(PAGE_SIZE, firstPage.size());
+        assertEquals(TRANSACTION_ID_BASE + rows - 1, firstPage.get(0).getId());
+        List<TransactionHistory.Item> deepPage = page(deep);
+        assertEquals(PAGE_SIZE, deepPage.size());
+        assertEquals(TRANSACTION_ID_BASE + PAGE_SIZE * 2 - 1, deepPage.get(0).getId());
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("explain select id from transaction"
+            + " where account_id = " + ACCOUNT_ID
+            + " and transacted_at <= timestamp '2023-01-01 00:00:20'"
+            + " and (transacted_at < timestamp '2023-01-01 00:00:20' or id < 100)"
+            + " order by account_id desc, transacted_at desc, id desc limit 21", String.class))
+            .toUpperCase();
+        // 정렬 없이 인덱스 순서대로 읽음
+        assertTrue(plan.contains("IDX_TRANSACTION_ACCOUNT_TRANSACTED"), plan);
+        assertTrue(plan.contains("INDEX SORTED"), plan);
+
+        // OFFSET 이었다면 건너뛰는 row 수(rows)에 비례해 늘어나고,
+        // 인덱스 순서로 읽지 못하면 첫 페이지가 계좌 전체를 정렬한다.
+        assertTrue(Math.max(first, last) <= Math.min(first, last) * 3 + 1_000_000,
+            "median page " + first + "ns -> " + last + "ns");
+    }
+
+    /**
+     * 한 계좌에 거래 rows 건 (2 건씩 같은 시각)
+     */
+    private void seed() {
+        jdbcTemplate.update("merge into account_user(id, name) key(id) values (?, 'history')",
+            USER_ID);
+        jdbcTemplate.update("insert into account"
+            + " (id, account_user_id, account_number, account_status, balance, balance_mode, version)"
+            + " values (?, ?, '9000000001', 'IN_USE', 10000, 'STANDARD', 0)",
+            ACCOUNT_ID, USER_ID);
+        jdbcTemplate.update("insert into transaction"
+            + " (id, account_id, transaction_type, transaction_result_type, amount,"
+            + "  balance_snapshot, transaction_id, transacted_at)"
+            + " select ? + x, ?, 'USE', 'S', 100, 9900, 'history' || lpad(x, 25, '0'),"
+            + "  dateadd('SECOND', x / 2, timestamp '2023-01-01 00:00:00')"
+            + " from system_range(0, ?)", TRANSACTION_ID_BASE, ACCOUNT_ID, rows - 1);
+    }
+
+    private List<TransactionHistory.Item> page(TransactionHistory.Cursor cursor) {
+        return transactionRepository.findHistory(ACCOUNT_ID, cursor.getTransactedAt(),
+            cursor.getId(), null, null, PageRequest.of(0, PAGE_SIZE + 1))
+            .subList(0, PAGE_SIZE);
+    }
+
+    private long medianNanos(Supplier<?> lookup) {
+        long[] elapsed = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            long startedAt = System.nanoTime();
+            lookup.get();
+            elapsed[i] = System.nanoTime() - startedAt;
+            entityManager.clear();
+        }
+        Arrays.sort(elapsed);
+        return elapsed[LOOKUPS / 2];
+    }
+}
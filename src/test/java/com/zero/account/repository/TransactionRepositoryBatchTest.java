@@ -0,0 +1,85 @@
+package com.zero.account.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.zero.account.domain.Account;
+import com.zero.account.domain.AccountUser;
+import com.zero.account.domain.Transaction;
+import com.zero.account.type.AccountStatus;
+import com.zero.account.type.TransactionResultType;
+import com.zero.account.type.TransactionType;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TransactionRepositoryBatchTest {
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("거래 100 건 저장이 batch insert 와 sequence 2 회 조회로 묶임")
+    void saveAllTransactionsInBatches() {
+        //given
+        AccountUser user = accountUserRepository.findById(1L).get();
+        Account account = accountRepository.save(Account.builder()
+            .accountUser(user)
+            .accountNumber("1000000000")
+            .accountStatus(AccountStatus.IN_USE)
+            .balance(10000L)
+            .build());
+        entityManager.flush();
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            transactions.add(Transaction.builder()
+                .transactionType(TransactionType.USE)
+                .transactionResultType(TransactionResultType.S)
+                .account(account)
+                .amount(100L)
+                .balanceSnapshot(10000L - 100L * (i + 1))
+                .transactionId("transaction" + i)
+                .transactedAt(LocalDateTime.now())
+                .build());
+        }
+        statistics.clear();
+
+        //when
+        transactionRepository.saveAll(transactions);
+        entityManager.flush();
+
+        //then
+        assertEquals(100, statistics.getEntityInsertCount());
+        // sequence 조회 (allocationSize 50 -> 2~3 회) + insert batch 2 회
+        assertTrue(statistics.getPrepareStatementCount() <= 5,
+            "prepared statements : " + statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,34 @@
+package com.zero.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AccountHotnessTrackerTest {
+    private final AccountHotnessTracker tracker =
+        new AccountHotnessTracker(10_000, 0.2, 10, 100);
+
+    @Test
+    @DisplayName("충돌 비율이 기준을 넘으면 hot")
+    void becomesHot() {
+        for (int i = 0; i < 5; i++) {
+            tracker.record("1000000000", 0);
+            tracker.record("1000000000", 1);
+        }
+
+        assertTrue(tracker.isHot("1000000000"));
+        assertFalse(tracker.isHot("1000000001"));
+    }
+
+    @Test
+    @DisplayName("충돌이 드물면 hot 아님")
+    void staysCold() {
+        tracker.record("1000000000", 1);
+        for (int i = 0; i < 50; i++) {
+            tracker.record("1000000000", 0);
+        }
+
+        assertFalse(tracker.isHot("1000000000"));
+    }
+}
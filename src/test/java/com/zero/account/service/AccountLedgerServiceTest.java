@@ -0,0 +1,224 @@
+package com.zero.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.zero.account.domain.Account;
+import com.zero.account.domain.AccountBalanceSnapshot;
+import com.zero.account.domain.AccountLedgerEntry;
+import com.zero.account.exception.AccountException;
+import com.zero.account.repository.AccountBalanceSnapshotRepository;
+import com.zero.account.repository.AccountLedgerEntryRepository;
+import com.zero.account.repository.AccountRepository;
+import com.zero.account.type.AccountStatus;
+import com.zero.account.type.BalanceMode;
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.TransactionType;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AccountLedgerServiceTest {
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountLedgerEntryRepository accountLedgerEntryRepository;
+
+    @Mock
+    private AccountBalanceSnapshotRepository accountBalanceSnapshotRepository;
+
+    private AccountLedgerService accountLedgerService;
+
+    @BeforeEach
+    void setUp() {
+        accountLedgerService = new AccountLedgerService(accountRepository,
+            accountLedgerEntryRepository, accountBalanceSnapshotRepository, 3);
+    }
+
+    private Account ledgerAccount() {
+        return Account.builder()
+            .id(1L)
+            .accountStatus(AccountStatus.IN_USE)
+            .balanceMode(BalanceMode.LEDGER)
+            .balance(10000L)
+            .ledgerEntryNo(5L)
+            .accountNumber("1000000012").build();
+    }
+
+    @Test
+    @DisplayName("원장 방식으로 전환 - 현재 잔액이 첫 snapshot")
+    void successEnableLedger() {
+        //given
+        given(accountRepository.findByAccountNumber(anyString()))
+            .willReturn(Optional.of(Account.builder()
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000012").build()));
+        ArgumentCaptor<AccountBalanceSnapshot> captor =
+            ArgumentCaptor.forClass(AccountBalanceSnapshot.class);
+
+        //when
+        Account account = accountLedgerService.enableLedger("1000000012");
+
+        //then
+        verify(accountBalanceSnapshotRepository).save(captor.capture());
+        assertEquals(0L, captor.getValue().getEntryNo());
+        assertEquals(10000L, captor.getValue().getBalance());
+        assertEquals(BalanceMode.LEDGER, account.getBalanceMode());
+        assertEquals(0L, account.getLedgerEntryNo());
+    }
+
+    @Test
+    @DisplayName("원장 방식으로 전환 - 이미 slot 계좌면 실패")
+    void enableLedger_BalanceModeAlreadyChanged() {
+        //given
+        given(accountRepository.findByAccountNumber(anyString()))
+            .willReturn(Optional.of(Account.builder()
+                .accountStatus(AccountStatus.IN_USE)
+                .balanceMode(BalanceMode.SLOTTED)
+                .accountNumber("1000000012").build()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> accountLedgerService.enableLedger("1000000012"));
+
+        //then
+        assertEquals(ErrorCode.BALANCE_MODE_ALREADY_CHANGED, exception.getErrorCode());
+        verify(accountBalanceSnapshotRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("차감 - snapshot 잔액 + 이후 원장으로 확인하고 다음 번호로 원장 추가")
+    void successDebit() {
+        //given
+        Account account = ledgerAccount();
+        given(accountLedgerEntryRepository.sumAfter(1L, 5L)).willReturn(-3000L);
+        given(accountLedgerEntryRepository.findLastEntryNo(1L)).willReturn(8L);
+        ArgumentCaptor<AccountLedgerEntry> captor =
+            ArgumentCaptor.forClass(AccountLedgerEntry.class);
+
+        //when
+        long balance = accountLedgerService.debit(account, 2000L);
+
+        //then
+        verify(accountRepository).findByIdForUpdate(1L);
+        verify(accountLedgerEntryRepository).save(captor.capture());
+        assertEquals(5000L, balance);
+        assertEquals(9L, captor.getValue().getEntryNo());
+        assertEquals(-2000L, captor.getValue().getAmount());
+        assertEquals(TransactionType.USE, captor.getValue().getEntryType());
+        assertEquals(10000L, account.getBalance());
+    }
+
+    @Test
+    @DisplayName("차감 - 잔액 부족이면 원장을 추가하지 않음")
+    void debit_AmountExceedBalance() {
+        //given
+        given(accountLedgerEntryRepository.sumAfter(1L, 5L)).willReturn(-9000L);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> accountLedgerService.debit(ledgerAccount(), 2000L));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        verify(accountLedgerEntryRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("snapshot - 쌓인 원장이 기준보다 적으면 그대로")
+    void snapshot_NotEnoughEntries() {
+        //given
+        Account account = ledgerAccount();
+        given(accountRepository.findByAccountNumber(anyString()))
+            .willReturn(Optional.of(account));
+        given(accountLedgerEntryRepository.findLastEntryNo(1L)).willReturn(7L);
+
+        //when
+        accountLedgerService.snapshot("1000000012");
+
+        //then
+        verify(accountBalanceSnapshotRepository, never()).save(any());
+        assertEquals(5L, account.getLedgerEntryNo());
+    }
+
+    @Test
+    @DisplayName("snapshot - 마지막 원장까지의 잔액을 계좌에 접어 둠")
+    void successSnapshot() {
+        //given
+        Account account = ledgerAccount();
+        LocalDateTime lastTransactedAt = LocalDateTime.now().minusMinutes(1);
+        given(accountRepository.findByAccountNumber(anyString()))
+            .willReturn(Optional.of(account));
+        given(accountLedgerEntryRepository.sumAfter(1L, 5L)).willReturn(-4000L);
+        given(accountLedgerEntryRepository.findLastEntryNo(1L)).willReturn(8L);
+        given(accountLedgerEntryRepository.findTransactedAt(1L, 8L))
+            .willReturn(Optional.of(lastTransactedAt));
+        ArgumentCaptor<AccountBalanceSnapshot> captor =
+            ArgumentCaptor.forClass(AccountBalanceSnapshot.class);
+
+        //when
+        accountLedgerService.snapshot("1000000012");
+
+        //then
+        verify(accountBalanceSnapshotRepository).save(captor.capture());
+        assertEquals(8L, captor.getValue().getEntryNo());
+        assertEquals(6000L, captor.getValue().getBalance());
+        assertEquals(lastTransactedAt, captor.getValue().getTransactedAt());
+        assertEquals(6000L, account.getBalance());
+        assertEquals(8L, account.getLedgerEntryNo());
+    }
+
+    @Test
+    @DisplayName("특정 시점 잔액 - 그 시점 이전 snapshot + 그 시점까지의 원장")
+    void successGetBalanceAt() {
+        //given
+        Account account = ledgerAccount();
+        LocalDateTime at = LocalDateTime.now().minusHours(1);
+        given(accountRepository.findByAccountNumber(anyString()))
+            .willReturn(Optional.of(account));
+        given(accountBalanceSnapshotRepository
+            .findFirstByAccountAndTransactedAtLessThanEqualOrderByEntryNoDesc(account, at))
+            .willReturn(Optional.of(AccountBalanceSnapshot.builder()
+                .account(account)
+                .entryNo(2L)
+                .balance(12000L)
+                .build()));
+        given(accountLedgerEntryRepository.sumAfterUntil(1L, 2L, at)).willReturn(-1500L);
+
+        //when
+        long balance = accountLedgerService.getBalanceAt("1000000012", at);
+
+        //then
+        assertEquals(10500L, balance);
+    }
+
+    @Test
+    @DisplayName("특정 시점 잔액 - 원장 계좌가 아니면 실패")
+    void getBalanceAt_BalanceNotLedger() {
+        //given
+        given(accountRepository.findByAccountNumber(anyString()))
+            .willReturn(Optional.of(Account.builder()
+                .accountStatus(AccountStatus.IN_USE)
+                .accountNumber("1000000012").build()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> accountLedgerService.getBalanceAt("1000000012", LocalDateTime.now()));
+
+        //then
+        assertEquals(ErrorCode.BALANCE_NOT_LEDGER, exception.getErrorCode());
+    }
+}
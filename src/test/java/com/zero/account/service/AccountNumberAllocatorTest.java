@@ -0,0 +1,180 @@
+package com.zero.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.zero.account.domain.Account;
+import com.zero.account.repository.AccountRepository;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class AccountNumberAllocatorTest {
+    @Mock
+    private AccountNumberBlockReserver accountNumberBlockReserver;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @BeforeEach
+    void setUp() {
+        accountNumberAllocator = new AccountNumberAllocator(accountNumberBlockReserver, accountRepository);
+        ReflectionTestUtils.setField(accountNumberAllocator, "blockSize", 10);
+    }
+
+    /**
+     * 블록 선점을 DB 대신 메모리 high-water mark 로 흉내낸다.
+     */
+    private void givenHighWaterMark() {
+        AtomicLong highWaterMark = new AtomicLong(-1);
+        given(accountNumberBlockReserver.reserve(anyString(), anyInt(), any()))
+            .willAnswer(invocation -> {
+                int blockSize = invocation.getArgument(1);
+                LongSupplier initialValue = invocation.getArgument(2);
+                if (highWaterMark.get() < 0) {
+                    highWaterMark.set(initialValue.getAsLong());
+                }
+                return highWaterMark.getAndAdd(blockSize);
+            });
+    }
+
+    @Test
+    @DisplayName("다른 노드가 시퀀스를 먼저 만들었으면 다시 선점")
+    void retryWhenSequenceCreatedConcurrently() {
+        //given
+        given(accountNumberBlockReserver.reserve(anyString(), anyInt(), any()))
+            .willThrow(new DataIntegrityViolationException("duplicate sequence"))
+            .willReturn(1_000_000_000L);
+
+        //when
+        String accountNumber = accountNumberAllocator.nextAccountNumber();
+
+        //then
+        assertEquals("1000000000", accountNumber);
+        verify(accountNumberBlockReserver, times(2)).reserve(anyString(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("첫 계좌 번호는 1000000000")
+    void firstAccountNumber() {
+        givenHighWaterMark();
+        given(accountRepository.findFirstByOrderByIdDesc())
+            .willReturn(Optional.empty());
+
+        assertEquals("1000000000", accountNumberAllocator.nextAccountNumber());
+        assertEquals("1000000001", accountNumberAllocator.nextAccountNumber());
+    }
+
+    @Test
+    @DisplayName("기존 계좌가 있으면 마지막 번호 다음부터 발급")
+    void continueFromLastAccountNumber() {
+        givenHighWaterMark();
+        given(accountRepository.findFirstByOrderByIdDesc())
+            .willReturn(Optional.of(Account.builder()
+                .accountNumber("1000000012").build()));
+
+        assertEquals("1000000013", accountNumberAllocator.nextAccountNumber());
+    }
+
+    @Test
+    @DisplayName("블록 안에서는 추가 조회 없이 발급")
+    void reserveOncePerBlock() {
+        givenHighWaterMark();
+        given(accountRepository.findFirstByOrderByIdDesc())
+            .willReturn(Optional.empty());
+
+        for (int i = 0; i < 25; i++) {
+            accountNumberAllocator.nextAccountNumber();
+        }
+
+        verify(accountNumberBlockReserver, times(3)).reserve(anyString(), anyInt(), any());
+        verify(accountRepository, times(1)).findFirstByOrderByIdDesc();
+    }
+
+    @Test
+    @DisplayName("동시 발급 시 계좌 번호 중복 없음")
+    void uniqueUnderParallelLoad() throws Exception {
+        givenHighWaterMark();
+        given(accountRepository.findFirstByOrderByIdDesc())
+            .willReturn(Optional.empty());
+        int threads = 8;
+        int perThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Set<String> accountNumbers = ConcurrentHashMap.newKeySet();
+
+        try {
+            List<Callable<Void>> tasks = IntStream.range(0, threads)
+                .mapToObj(i -> (Callable<Void>) () -> {
+                    for (int j = 0; j < perThread; j++) {
+                        accountNumbers.add(accountNumberAllocator.nextAccountNumber());
+                    }
+                    return null;
+                })
+                .collect(Collectors.toList());
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(threads * perThread, accountNumbers.size());
+    }
+
+    @Test
+    @DisplayName("체크 디지트 사용 시 10자리 Luhn 번호 발급")
+    void checkDigit() {
+        ReflectionTestUtils.setField(accountNumberAllocator, "checkDigitEnabled", true);
+        givenHighWaterMark();
+        given(accountRepository.findFirstByOrderByIdDesc())
+            .willReturn(Optional.empty());
+
+        String accountNumber = accountNumberAllocator.nextAccountNumber();
+
+        assertEquals(10, accountNumber.length());
+        assertEquals("1000000008", accountNumber);
+        assertTrue(isLuhnValid(accountNumber));
+    }
+
+    private boolean isLuhnValid(String number) {
+        int sum = 0;
+        boolean doubleDigit = false;
+        for (int i = number.length() - 1; i >= 0; i--) {
+            int digit = number.charAt(i) - '0';
+            if (doubleDigit) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleDigit = !doubleDigit;
+        }
+        return sum % 10 == 0;
+    }
+}
@@ -5,17 +5,20 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.zero.account.domain.Account;
 import com.zero.account.domain.AccountUser;
+import com.zero.account.dto.AccountDetail;
 import com.zero.account.dto.AccountDto;
 import com.zero.account.exception.AccountException;
 import com.zero.account.repository.AccountUserRepository;
 import com.zero.account.type.AccountStatus;
 import com.zero.account.repository.AccountRepository;
 import com.zero.account.type.ErrorCode;
+import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +30,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.annotation.Transactional;
 
 
 //@SpringBootTest // 스프링부트 테스트를 위한 자동 주입 설정 - Junit
@@ -42,6 +46,9 @@ class AccountServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private AccountNumberAllocator accountNumberAllocator;
+
     //@Autowired // 스프링부트 테스트를 위한 자동 주입 설정 - Junit
     @InjectMocks
     private AccountService accountService;
@@ -54,10 +61,8 @@ class AccountServiceTest {
         //given : Mock 데이터 작성 목적
         given(accountUserRepository.findById(anyLong()))
             .willReturn(Optional.of(user));
-        given(accountRepository.findFirstByOrderByIdDesc())
-            .willReturn(Optional.of(Account.builder()
-                .accountUser(user)
-                .accountNumber("1000000012").build()));
+        given(accountNumberAllocator.nextAccountNumber())
+            .willReturn("1000000013");
         // save logic에 대한 Mocking
         given(accountRepository.save(any()))
             .willReturn(Account.builder()
@@ -70,6 +75,7 @@ class AccountServiceTest {
 
         //then
         verify(accountRepository,times(1)).save(captor.capture());
+        assertEquals("1000000013", captor.getValue().getAccountNumber());
         assertEquals(12L, accountDto.getUserId());
         assertEquals("100000013", accountDto.getAccountNumber());
     }
@@ -86,9 +92,9 @@ class AccountServiceTest {
         given(accountUserRepository.findById(anyLong()))
             .willReturn(Optional.of(user));
 
-        // 계좌를 처음 생성한다고 가정 (기존 생성 계좌가 없다고 가정)
-        given(accountRepository.findFirstByOrderByIdDesc())
-            .willReturn(Optional.empty());
+        // 계좌를 처음 생성한다고 가정 (발급기의 첫 번호)
+        given(accountNumberAllocator.nextAccountNumber())
+            .willReturn("1000000000");
 
         // save logic에 대한 Mocking
         given(accountRepository.save(any()))
@@ -104,6 +110,7 @@ class AccountServiceTest {
 
         //then
         verify(accountRepository,times(1)).save(captor.capture());
+        assertEquals("1000000000", captor.getValue().getAccountNumber());
         assertEquals(15L, accountDto.getUserId());
         assertEquals("1000000000", accountDto.getAccountNumber());
     }
@@ -260,19 +267,19 @@ class AccountServiceTest {
         AccountUser pobi = AccountUser.builder()
             .id(12L)
             .name("Pobi").build();
-        List<Account> accounts = Arrays.asList(
-            Account.builder()
-                .accountUser(pobi)
+        List<AccountDto> accounts = Arrays.asList(
+            AccountDto.builder()
+                .userId(12L)
                 .accountNumber("1234567890")
                 .balance(1000L)
                 .build(),
-            Account.builder()
-                .accountUser(pobi)
+            AccountDto.builder()
+                .userId(12L)
                 .accountNumber("3456789012")
                 .balance(2000L)
                 .build(),
-            Account.builder()
-                .accountUser(pobi)
+            AccountDto.builder()
+                .userId(12L)
                 .accountNumber("5678901234")
                 .balance(3000L)
                 .build()
@@ -280,7 +287,7 @@ class AccountServiceTest {
         given(accountUserRepository.findById(anyLong()))
             .willReturn(Optional.of(pobi));
 
-        given(accountRepository.findByAccountUser(any()))
+        given(accountRepository.findAccountDtosByUserId(1L))
             .willReturn(accounts);
         //when
         List<AccountDto> accountDtos = accountService.getAccountsbyUserId(1L);
@@ -295,6 +302,19 @@ class AccountServiceTest {
         assertEquals(3000, accountDtos.get(2).getBalance());
     }
 
+    @Test
+    @DisplayName("캐시되는 계좌 목록은 replica 가 아닌 primary 에서 조회")
+    void getAccountsReadsPrimary() throws Exception {
+        //given
+        Method method = AccountService.class.getMethod("getAccountsbyUserId", Long.class);
+
+        //when
+        Transactional transactional = method.getAnnotation(Transactional.class);
+
+        //then
+        assertFalse(transactional.readOnly());
+    }
+
     @Test
     @DisplayName("유저가 없는 유저인 경우")
     void faliedToGetAccounts() {
@@ -307,4 +327,49 @@ class AccountServiceTest {
         //then
         assertEquals(ErrorCode.USER_NOT_FOUND, accountException.getErrorCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void successGetAccount() {
+        //given
+        given(accountRepository.findDetailById(876L))
+            .willReturn(Optional.of(AccountDetail.builder()
+                .userId(12L)
+                .accountNumber("1000000012")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(1000L)
+                .build()));
+        //when
+        AccountDetail account = accountService.getAccount(876L);
+
+        //then
+        assertEquals("1000000012", account.getAccountNumber());
+        assertEquals(1000L, account.getBalance());
+    }
+
+    @Test
+    @DisplayName("계좌 id 가 잘못됨 - 조회하지 않고 실패")
+    void getAccount_invalidId() {
+        //given
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+            () -> accountService.getAccount(-1L));
+
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST, accountException.getErrorCode());
+        verify(accountRepository, never()).findDetailById(anyLong());
+    }
+
+    @Test
+    @DisplayName("계좌 없음 - 계좌 조회 실패")
+    void getAccount_AccountNotFound() {
+        //given
+        given(accountRepository.findDetailById(anyLong()))
+            .willReturn(Optional.empty());
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+            () -> accountService.getAccount(876L));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, accountException.getErrorCode());
+    }
+}
@@ -0,0 +1,83 @@
+package com.zero.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.zero.account.config.CacheConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class AccountUserCacheEvictorTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RTopic topic;
+
+    private Cache cache;
+
+    private AccountUserCacheEvictor evictor;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentMapCacheManager cacheManager =
+            new ConcurrentMapCacheManager(CacheConfig.ACCOUNT_USER);
+        cache = cacheManager.getCache(CacheConfig.ACCOUNT_USER);
+        cache.put(12L, "user");
+        given(redissonClient.getTopic(AccountUserCacheEvictor.TOPIC)).willReturn(topic);
+        evictor = new AccountUserCacheEvictor(cacheManager, redissonClient, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖 - 바로 비우고 다른 노드에 알림")
+    void evictWithoutTransaction() {
+        //given
+        //when
+        evictor.evictAfterCommit(12L);
+
+        //then
+        assertNull(cache.get(12L));
+        verify(topic, times(1)).publish(12L);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안 - 커밋 이후에 비움")
+    void evictAfterCommit() {
+        //given
+        TransactionSynchronizationManager.initSynchronization();
+
+        //when
+        evictor.evictAfterCommit(12L);
+
+        //then
+        assertNotNull(cache.get(12L));
+        verify(topic, never()).publish(12L);
+
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(TransactionSynchronization::afterCommit);
+        assertNull(cache.get(12L));
+        verify(topic, times(1)).publish(12L);
+    }
+}
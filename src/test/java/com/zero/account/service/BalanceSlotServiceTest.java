@@ -0,0 +1,175 @@
+package com.zero.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.zero.account.domain.Account;
+import com.zero.account.domain.AccountBalanceSlot;
+import com.zero.account.exception.AccountException;
+import com.zero.account.repository.AccountBalanceSlotRepository;
+import com.zero.account.repository.AccountRepository;
+import com.zero.account.type.AccountStatus;
+import com.zero.account.type.BalanceMode;
+import com.zero.account.type.ErrorCode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceSlotServiceTest {
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountBalanceSlotRepository accountBalanceSlotRepository;
+
+    @InjectMocks
+    private BalanceSlotService balanceSlotService;
+
+    private Account slottedAccount() {
+        return Account.builder()
+            .id(1L)
+            .accountStatus(AccountStatus.IN_USE)
+            .balanceMode(BalanceMode.SLOTTED)
+            .balanceSlotCount(4)
+            .balance(0L)
+            .accountNumber("1000000012").build();
+    }
+
+    @Test
+    @DisplayName("잔액을 slot 에 고르게 나눔")
+    void successEnableSlots() {
+        //given
+        given(accountRepository.findByAccountNumber(anyString()))
+            .willReturn(Optional.of(Account.builder()
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10003L)
+                .accountNumber("1000000012").build()));
+        ArgumentCaptor<List<AccountBalanceSlot>> captor = ArgumentCaptor.forClass(List.class);
+
+        //when
+        Account account = balanceSlotService.enableSlots("1000000012", 4);
+
+        //then
+        verify(accountBalanceSlotRepository, times(1)).saveAll(captor.capture());
+        assertEquals(Arrays.asList(2501L, 2501L, 2501L, 2500L),
+            captor.getValue().stream().map(AccountBalanceSlot::getBalance)
+                .collect(java.util.stream.Collectors.toList()));
+        assertEquals(BalanceMode.SLOTTED, account.getBalanceMode());
+        assertEquals(0L, account.getBalance());
+        assertTrue(balanceSlotService.isSlotted("1000000012"));
+    }
+
+    @Test
+    @DisplayName("이미 slot 계좌면 실패")
+    void enableSlots_alreadySlotted() {
+        //given
+        given(accountRepository.findByAccountNumber(anyString()))
+            .willReturn(Optional.of(slottedAccount()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> balanceSlotService.enableSlots("1000000012", 4));
+
+        //then
+        assertEquals(ErrorCode.BALANCE_ALREADY_SLOTTED, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("slot 하나에서 차감 성공")
+    void debitSingleSlot() {
+        //given
+        given(accountBalanceSlotRepository.debit(eq(1L), anyInt(), eq(1000L), any()))
+            .willReturn(1);
+        given(accountBalanceSlotRepository.sumBalance(1L))
+            .willReturn(9000L);
+
+        //when
+        long balance = balanceSlotService.debit(slottedAccount(), 1000L);
+
+        //then
+        assertEquals(9000L, balance);
+        verify(accountBalanceSlotRepository, never()).findByAccountOrderBySlotIndex(any());
+    }
+
+    @Test
+    @DisplayName("slot 하나로 부족하면 여러 slot 에서 차감")
+    void debitAcrossSlots() {
+        //given
+        Account account = slottedAccount();
+        List<AccountBalanceSlot> slots = Arrays.asList(
+            AccountBalanceSlot.builder().slotIndex(0).balance(300L).build(),
+            AccountBalanceSlot.builder().slotIndex(1).balance(500L).build(),
+            AccountBalanceSlot.builder().slotIndex(2).balance(100L).build(),
+            AccountBalanceSlot.builder().slotIndex(3).balance(400L).build());
+        given(accountBalanceSlotRepository.debit(anyLong(), anyInt(), anyLong(), any()))
+            .willReturn(0);
+        given(accountBalanceSlotRepository.findByAccountOrderBySlotIndex(account))
+            .willReturn(slots);
+
+        //when
+        long balance = balanceSlotService.debit(account, 1000L);
+
+        //then
+        assertEquals(300L, balance);
+        assertEquals(0L, slots.get(1).getBalance());
+        assertEquals(0L, slots.get(3).getBalance());
+        assertEquals(200L, slots.get(0).getBalance());
+        assertEquals(100L, slots.get(2).getBalance());
+    }
+
+    @Test
+    @DisplayName("slot 합계가 부족하면 실패")
+    void debit_exceedBalance() {
+        //given
+        Account account = slottedAccount();
+        given(accountBalanceSlotRepository.debit(anyLong(), anyInt(), anyLong(), any()))
+            .willReturn(0);
+        given(accountBalanceSlotRepository.findByAccountOrderBySlotIndex(account))
+            .willReturn(Arrays.asList(
+                AccountBalanceSlot.builder().slotIndex(0).balance(300L).build(),
+                AccountBalanceSlot.builder().slotIndex(1).balance(500L).build()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> balanceSlotService.debit(account, 1000L));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+    }
+
+    @Test
+    void successRebalance() {
+        //given
+        Account account = slottedAccount();
+        List<AccountBalanceSlot> slots = Arrays.asList(
+            AccountBalanceSlot.builder().slotIndex(0).balance(0L).build(),
+            AccountBalanceSlot.builder().slotIndex(1).balance(1000L).build());
+        given(accountRepository.findByAccountNumber(anyString()))
+            .willReturn(Optional.of(account));
+        given(accountBalanceSlotRepository.findByAccountOrderBySlotIndex(account))
+            .willReturn(slots);
+
+        //when
+        balanceSlotService.rebalance("1000000012");
+
+        //then
+        assertEquals(500L, slots.get(0).getBalance());
+        assertEquals(500L, slots.get(1).getBalance());
+    }
+}
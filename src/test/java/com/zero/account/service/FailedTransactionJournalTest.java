@@ -0,0 +1,219 @@
+package com.zero.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.zero.account.dto.FailedTransactionRecord;
+import com.zero.account.type.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@ExtendWith(MockitoExtension.class)
+class FailedTransactionJournalTest {
+    @Mock
+    private TransactionService transactionService;
+
+    @TempDir
+    Path tempDir;
+
+    private FailedTransactionJournal journal(Path spillFile) {
+        return new FailedTransactionJournal(transactionService, new SimpleMeterRegistry(),
+            100, 10, 20, 1000, spillFile.toString());
+    }
+
+    private static FailedTransactionRecord record(TransactionType transactionType, long amount) {
+        return FailedTransactionRecord.builder()
+            .transactionType(transactionType)
+            .accountNumber("1000000012")
+            .amount(amount)
+            .transactedAt(LocalDateTime.now())
+            .build();
+    }
+
+    @Test
+    @DisplayName("큐에 쌓인 실패 거래를 모아서 저장")
+    void successFlush() {
+        //given
+        FailedTransactionJournal journal = journal(tempDir.resolve("failed.spill"));
+        List<FailedTransactionRecord> saved = new ArrayList<>();
+        given(transactionService.saveFailedTransactions(anyList()))
+            .willAnswer(invocation -> {
+                List<FailedTransactionRecord> records = invocation.getArgument(0);
+                saved.addAll(records);
+                return records.size();
+            });
+
+        //when
+        journal.start();
+        journal.record(TransactionType.USE, "1000000012", 100L);
+        journal.record(TransactionType.CANCEL, "1000000012", 200L);
+        journal.stop();
+
+        //then
+        assertEquals(2, saved.size());
+        assertEquals(TransactionType.USE, saved.get(0).getTransactionType());
+        assertEquals(200L, saved.get(1).getAmount());
+        assertFalse(Files.exists(tempDir.resolve("failed.spill")));
+    }
+
+    @Test
+    @DisplayName("저장 실패 시 spill 파일에 남기고 다음 기동 시 다시 저장")
+    void spillAndReplay() throws Exception {
+        //given
+        Path spillFile = tempDir.resolve("failed.spill");
+        FailedTransactionJournal journal = journal(spillFile);
+        given(transactionService.saveFailedTransactions(anyList()))
+            .willThrow(new IllegalStateException("db down"))
+            .willReturn(1);
+
+        //when
+        journal.start();
+        journal.record(TransactionType.USE, "1000000012", 100L);
+        journal.stop();
+        List<String> spilled = Files.readAllLines(spillFile);
+
+        FailedTransactionJournal restarted = journal(spillFile);
+        restarted.start();
+        restarted.stop();
+
+        //then
+        assertEquals(1, spilled.size());
+        assertTrue(spilled.get(0).startsWith("USE,1000000012,100,"));
+        ArgumentCaptor<List<FailedTransactionRecord>> captor =
+            ArgumentCaptor.forClass(List.class);
+        verify(transactionService, times(2)).saveFailedTransactions(captor.capture());
+        assertEquals("1000000012", captor.getAllValues().get(1).get(0).getAccountNumber());
+        assertFalse(Files.exists(spillFile));
+    }
+
+    @Test
+    @DisplayName("batch 저장 실패 시 한 건씩 다시 저장하고 거부된 기록만 spill")
+    void spillOnlyRejectedRecord() throws Exception {
+        //given
+        Path spillFile = tempDir.resolve("failed.spill");
+        FailedTransactionJournal journal = journal(spillFile);
+        List<FailedTransactionRecord> saved = new ArrayList<>();
+        given(transactionService.saveFailedTransactions(anyList()))
+            .willAnswer(invocation -> {
+                List<FailedTransactionRecord> records = invocation.getArgument(0);
+                if (records.stream().anyMatch(record -> record.getAmount() == 200L)) {
+                    throw new DataIntegrityViolationException("rejected");
+                }
+                saved.addAll(records);
+                return records.size();
+            });
+
+        Files.write(spillFile, Arrays.asList(
+            record(TransactionType.USE, 100L).toLine(),
+            record(TransactionType.USE, 200L).toLine(),
+            record(TransactionType.CANCEL, 300L).toLine()));
+
+        //when
+        journal.start();
+        journal.stop();
+
+        //then
+        assertEquals(2, saved.size());
+        assertEquals(100L, saved.get(0).getAmount());
+        assertEquals(300L, saved.get(1).getAmount());
+        List<String> spilled = Files.readAllLines(spillFile);
+        assertEquals(1, spilled.size());
+        assertTrue(spilled.get(0).startsWith("USE,1000000012,200,"));
+    }
+
+    @Test
+    @DisplayName("종료 이후 기록은 spill 파일에 남김")
+    void spillAfterStop() throws Exception {
+        //given
+        Path spillFile = tempDir.resolve("failed.spill");
+        FailedTransactionJournal journal = journal(spillFile);
+        journal.start();
+        journal.stop();
+
+        //when
+        journal.record(TransactionType.USE, "1000000012", 100L);
+
+        //then
+        List<String> spilled = Files.readAllLines(spillFile);
+        assertEquals(1, spilled.size());
+        assertTrue(spilled.get(0).startsWith("USE,1000000012,100,"));
+        verify(transactionService, never()).saveFailedTransactions(anyList());
+    }
+
+    @Test
+    @DisplayName("중간에 멈춘 replay 파일을 먼저 저장하고 새 spill 파일도 저장")
+    void replayLeftoverBeforeNewSpill() throws Exception {
+        //given
+        Path spillFile = tempDir.resolve("failed.spill");
+        Path replaying = tempDir.resolve("failed.spill.replaying");
+        Files.write(replaying, Arrays.asList(record(TransactionType.USE, 100L).toLine()));
+        Files.write(spillFile, Arrays.asList(record(TransactionType.CANCEL, 200L).toLine()));
+        List<FailedTransactionRecord> saved = new ArrayList<>();
+        given(transactionService.saveFailedTransactions(anyList()))
+            .willAnswer(invocation -> {
+                List<FailedTransactionRecord> records = invocation.getArgument(0);
+                saved.addAll(records);
+                return records.size();
+            });
+
+        //when
+        FailedTransactionJournal journal = journal(spillFile);
+        journal.start();
+        journal.stop();
+
+        //then
+        assertEquals(2, saved.size());
+        assertEquals(100L, saved.get(0).getAmount());
+        assertEquals(200L, saved.get(1).getAmount());
+        assertFalse(Files.exists(replaying));
+        assertFalse(Files.exists(spillFile));
+    }
+
+    @Test
+    @DisplayName("replay 중 batch 를 저장할 때마다 남은 기록만 파일에 남김")
+    void recordReplayProgress() throws Exception {
+        //given
+        Path spillFile = tempDir.resolve("failed.spill");
+        Path replaying = tempDir.resolve("failed.spill.replaying");
+        FailedTransactionJournal journal = new FailedTransactionJournal(transactionService,
+            new SimpleMeterRegistry(), 100, 2, 20, 1000, spillFile.toString());
+        Files.write(spillFile, Arrays.asList(
+            record(TransactionType.USE, 100L).toLine(),
+            record(TransactionType.USE, 200L).toLine(),
+            record(TransactionType.USE, 300L).toLine()));
+        List<List<String>> pendingAtFlush = new ArrayList<>();
+        given(transactionService.saveFailedTransactions(anyList()))
+            .willAnswer(invocation -> {
+                pendingAtFlush.add(Files.readAllLines(replaying));
+                return ((List<?>) invocation.getArgument(0)).size();
+            });
+
+        //when
+        journal.start();
+        journal.stop();
+
+        //then
+        assertEquals(2, pendingAtFlush.size());
+        assertEquals(3, pendingAtFlush.get(0).size());
+        assertEquals(1, pendingAtFlush.get(1).size());
+        assertTrue(pendingAtFlush.get(1).get(0).startsWith("USE,1000000012,300,"));
+        assertFalse(Files.exists(replaying));
+    }
+}
@@ -0,0 +1,62 @@
+package com.zero.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.zero.account.dto.TransactionEvent;
+import com.zero.account.type.TransactionType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileTransactionEventPublisherTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("이벤트를 한 줄에 하나씩 JSON 으로 이어 씀")
+    void successPublish() throws Exception {
+        //given
+        ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        Path file = tempDir.resolve("events.log");
+        FileTransactionEventPublisher publisher =
+            new FileTransactionEventPublisher(objectMapper, file.toString());
+        LocalDateTime transactedAt = LocalDateTime.of(2026, 1, 1, 10, 0);
+
+        //when
+        publisher.publish(Arrays.asList(
+            event("first", transactedAt), event("second", transactedAt)));
+        publisher.publish(Collections.singletonList(event("third", transactedAt)));
+
+        //then
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        TransactionEvent first = objectMapper.readValue(lines.get(0), TransactionEvent.class);
+        assertEquals("first", first.getTransactionId());
+        assertEquals(transactedAt, first.getTransactedAt());
+        assertEquals("third",
+            objectMapper.readValue(lines.get(2), TransactionEvent.class).getTransactionId());
+    }
+
+    private TransactionEvent event(String transactionId, LocalDateTime transactedAt) {
+        return TransactionEvent.builder()
+            .transactionId(transactionId)
+            .accountNumber("1000000012")
+            .transactionType(TransactionType.USE)
+            .amount(1000L)
+            .balanceSnapshot(9000L)
+            .transactedAt(transactedAt)
+            .build();
+    }
+}
@@ -0,0 +1,285 @@
+package com.zero.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zero.account.dto.IdempotencyRecord;
+import com.zero.account.dto.UseBalance;
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.IdempotencyStatus;
+import com.zero.account.type.TransactionResultType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyKeyStoreTest {
+    private static final String KEY = "useBalance:1000000012:retry-1";
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RBucket<String> bucket;
+
+    @Mock
+    private RScript script;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private IdempotencyKeyStore idempotencyKeyStore;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyKeyStore = new IdempotencyKeyStore(redissonClient, objectMapper,
+            new SimpleMeterRegistry(), 86400, 15000, 100, 5, 100, 60);
+        given(redissonClient.<String>getBucket(eq(IdempotencyKeyStore.KEY_PREFIX + KEY),
+            any(Codec.class))).willReturn(bucket);
+    }
+
+    private static UseBalance.Response response(String transactionId) {
+        return UseBalance.Response.builder()
+            .accountNumber("1000000012")
+            .transactionResult(TransactionResultType.S)
+            .transactionId(transactionId)
+            .amount(1000L)
+            .transactedAt(LocalDateTime.now())
+            .build();
+    }
+
+    private String completed(String fingerprint, UseBalance.Response response) throws Exception {
+        return objectMapper.writeValueAsString(IdempotencyRecord.builder()
+            .status(IdempotencyStatus.COMPLETED)
+            .fingerprint(fingerprint)
+            .response(objectMapper.writeValueAsString(response))
+            .build());
+    }
+
+    @Test
+    @DisplayName("저장된 결과가 있으면 실행하지 않고 첫 응답을 돌려줌")
+    void replayStoredResponse() throws Throwable {
+        //given
+        given(bucket.trySet(anyString(), anyLong(), any())).willReturn(false);
+        given(bucket.get()).willReturn(completed("fp", response("first")));
+
+        //when
+        Object replayed = idempotencyKeyStore.execute(KEY, "fp", UseBalance.Response.class,
+            () -> fail("must not execute"));
+
+        //then
+        assertEquals("first", ((UseBalance.Response) replayed).getTransactionId());
+        verify(bucket, never()).set(anyString(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("같은 키로 본문이 다른 요청 - 실패")
+    void keyReusedWithOtherRequest() throws Exception {
+        //given
+        given(bucket.trySet(anyString(), anyLong(), any())).willReturn(false);
+        given(bucket.get()).willReturn(completed("fp", response("first")));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> idempotencyKeyStore.execute(KEY, "other", UseBalance.Response.class,
+                () -> fail("must not execute")));
+
+        //then
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_REUSED, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("거래 실패는 저장하고 같은 키의 재시도는 같은 실패")
+    void storeFailedTransaction() {
+        //given
+        given(bucket.trySet(anyString(), anyLong(), any())).willReturn(true);
+        AtomicInteger executed = new AtomicInteger();
+
+        //when
+        AccountException first = assertThrows(AccountException.class,
+            () -> idempotencyKeyStore.execute(KEY, "fp", UseBalance.Response.class, () -> {
+                executed.incrementAndGet();
+                throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+            }));
+        AccountException retried = assertThrows(AccountException.class,
+            () -> idempotencyKeyStore.execute(KEY, "fp", UseBalance.Response.class, () -> {
+                executed.incrementAndGet();
+                return response("second");
+            }));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, first.getErrorCode());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, retried.getErrorCode());
+        assertEquals(1, executed.get());
+        verify(bucket).set(contains(ErrorCode.AMOUNT_EXCEED_BALANCE.name()),
+            eq(86400L), eq(TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("계좌 락 대기 실패는 저장하지 않고 처리 중 표시만 지움")
+    void releaseRetryableFailure() {
+        //given
+        given(bucket.trySet(anyString(), anyLong(), any())).willReturn(true);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> idempotencyKeyStore.execute(KEY, "fp", UseBalance.Response.class, () -> {
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(bucket).compareAndSet(contains(IdempotencyStatus.IN_PROGRESS.name()), isNull());
+        verify(bucket, never()).set(anyString(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("다른 노드가 처리 중이면 기다리다 시간 초과 - 실패")
+    void inProgressOnOtherNode() throws Exception {
+        //given
+        given(bucket.trySet(anyString(), anyLong(), any())).willReturn(false);
+        given(bucket.get()).willReturn(objectMapper.writeValueAsString(IdempotencyRecord.builder()
+            .status(IdempotencyStatus.IN_PROGRESS)
+            .fingerprint("fp")
+            .owner("other-node")
+            .build()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> idempotencyKeyStore.execute(KEY, "fp", UseBalance.Response.class,
+                () -> fail("must not execute")));
+
+        //then
+        assertEquals(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("같은 노드의 동시 요청은 한 번만 실행하고 같은 응답")
+    void collapseConcurrentRequests() throws Exception {
+        //given
+        idempotencyKeyStore = new IdempotencyKeyStore(redissonClient, objectMapper,
+            new SimpleMeterRegistry(), 86400, 15000, 5000, 5, 100, 60);
+        given(bucket.trySet(anyString(), anyLong(), any())).willReturn(true);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        //when
+        Future<Object> first;
+        Future<Object> second;
+        try {
+            first = executorService.submit(() -> {
+                try {
+                    return idempotencyKeyStore.execute(KEY, "fp", UseBalance.Response.class,
+                        () -> {
+                            executed.incrementAndGet();
+                            started.countDown();
+                            release.await();
+                            return response("first");
+                        });
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            second = executorService.submit(() -> {
+                try {
+                    return idempotencyKeyStore.execute(KEY, "fp", UseBalance.Response.class,
+                        () -> {
+                            executed.incrementAndGet();
+                            return response("second");
+                        });
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            release.countDown();
+
+            //then
+            assertEquals("first",
+                ((UseBalance.Response) first.get(1, TimeUnit.SECONDS)).getTransactionId());
+            assertEquals("first",
+                ((UseBalance.Response) second.get(1, TimeUnit.SECONDS)).getTransactionId());
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertEquals(1, executed.get());
+        verify(bucket, times(1)).trySet(anyString(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("실행이 처리 중 표시 만료보다 길면 표시를 연장")
+    void keepMarkerWhileExecuting() throws Throwable {
+        //given
+        idempotencyKeyStore = new IdempotencyKeyStore(redissonClient, objectMapper,
+            new SimpleMeterRegistry(), 86400, 30, 100, 5, 100, 60);
+        given(bucket.trySet(anyString(), anyLong(), any())).willReturn(true);
+        given(redissonClient.getScript(any(Codec.class))).willReturn(script);
+        given(script.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class),
+            anyList(), any())).willReturn(1L);
+
+        //when
+        Object response = idempotencyKeyStore.execute(KEY, "fp", UseBalance.Response.class,
+            () -> {
+                Thread.sleep(100);
+                return response("first");
+            });
+
+        //then
+        assertEquals("first", ((UseBalance.Response) response).getTransactionId());
+        verify(script, atLeastOnce()).eval(eq(RScript.Mode.READ_WRITE), anyString(),
+            eq(RScript.ReturnType.INTEGER), anyList(),
+            contains(IdempotencyStatus.IN_PROGRESS.name()), eq("30"));
+    }
+
+    @Test
+    @DisplayName("결과를 저장하지 못하면 처리 중 표시를 ttl 동안 남김")
+    void keepMarkerWhenStoreFailed() throws Throwable {
+        //given
+        given(bucket.trySet(anyString(), anyLong(), any())).willReturn(true);
+        willThrow(new IllegalStateException("redis down"))
+            .given(bucket).set(anyString(), anyLong(), any());
+        given(redissonClient.getScript(any(Codec.class))).willReturn(script);
+        given(script.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class),
+            anyList(), any())).willReturn(1L);
+
+        //when
+        Object response = idempotencyKeyStore.execute(KEY, "fp", UseBalance.Response.class,
+            () -> response("first"));
+
+        //then
+        assertEquals("first", ((UseBalance.Response) response).getTransactionId());
+        verify(script).eval(eq(RScript.Mode.READ_WRITE), anyString(),
+            eq(RScript.ReturnType.INTEGER), anyList(),
+            contains(IdempotencyStatus.IN_PROGRESS.name()), eq("86400000"));
+    }
+}
@@ -0,0 +1,107 @@
+package com.zero.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+
+@ExtendWith(MockitoExtension.class)
+class LockServiceTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RLock rLock;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LockService lockService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lockService = new LockService(redissonClient, meterRegistry, 16, 100, 1000);
+    }
+
+    @Test
+    void successGetLock() throws InterruptedException {
+        //given
+        given(redissonClient.getLock(anyString()))
+            .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), eq(TimeUnit.MILLISECONDS)))
+            .willReturn(true);
+        given(rLock.isHeldByCurrentThread())
+            .willReturn(true);
+
+        //when
+        lockService.lock("1000000000");
+        lockService.unlock("1000000000");
+
+        //then
+        verify(redissonClient, times(2)).getLock("ACLK:1000000000");
+        verify(rLock, times(1)).unlock();
+        assertEquals(1, meterRegistry.get("account.lock.wait").timer().count());
+        assertEquals(1, meterRegistry.get("account.lock.hold").timer().count());
+    }
+
+    @Test
+    @DisplayName("Redis 락 취득 실패 시 로컬 락도 해제")
+    void failGetLock() throws Exception {
+        //given
+        given(redissonClient.getLock(anyString()))
+            .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), eq(TimeUnit.MILLISECONDS)))
+            .willReturn(false);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> lockService.lock("1000000000"));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        assertEquals(1.0, meterRegistry.get("account.lock.failures")
+            .tag("reason", "timeout").counter().count());
+        // 다른 스레드에서 같은 계좌의 로컬 락을 바로 잡을 수 있어야 한다
+        given(rLock.tryLock(anyLong(), anyLong(), eq(TimeUnit.MILLISECONDS)))
+            .willReturn(true);
+        CompletableFuture.runAsync(() -> lockService.lock("1000000000")).get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("같은 노드에서 경합 중이면 Redis 까지 가지 않고 대기 후 실패")
+    void localContentionTimeout() throws Exception {
+        //given
+        given(redissonClient.getLock(anyString()))
+            .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), eq(TimeUnit.MILLISECONDS)))
+            .willReturn(true);
+        lockService.lock("1000000000");
+
+        //when
+        CompletableFuture<Void> other = CompletableFuture.runAsync(
+            () -> lockService.lock("1000000000"));
+
+        //then
+        Exception exception = assertThrows(Exception.class,
+            () -> other.get(1, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof AccountException);
+        verify(rLock, times(1)).tryLock(anyLong(), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+}
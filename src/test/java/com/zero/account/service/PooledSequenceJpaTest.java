@@ -0,0 +1,120 @@
+package com.zero.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.zero.account.domain.Account;
+import com.zero.account.domain.AccountUser;
+import com.zero.account.domain.Transaction;
+import com.zero.account.repository.AccountRepository;
+import com.zero.account.repository.AccountUserRepository;
+import com.zero.account.repository.TransactionRepository;
+import com.zero.account.type.AccountStatus;
+import com.zero.account.type.TransactionResultType;
+import com.zero.account.type.TransactionType;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import reactor.core.publisher.Mono;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.zero.account.service.PooledSequenceJpaTest$SequenceFetchHook")
+class PooledSequenceJpaTest {
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void tearDown() {
+        SequenceFetchHook.beforeFetch = null;
+    }
+
+    @Test
+    @DisplayName("Hibernate 가 sequence 를 받는 사이에 R2DBC 쪽이 값을 받아도 id 가 겹치지 않음")
+    void interleaveWithHibernate() {
+        //given
+        AccountUser user = accountUserRepository.findById(1L).get();
+        Account account = accountRepository.save(Account.builder()
+            .accountUser(user)
+            .accountNumber("1000000000")
+            .accountStatus(AccountStatus.IN_USE)
+            .balance(10000L)
+            .build());
+        // R2DBC 와 같이 JPA 트랜잭션 밖의 다른 커넥션에서 sequence 를 받는다.
+        PooledSequence sequence = new PooledSequence(() -> Mono.fromCallable(() -> {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(
+                     "select next value for transaction_seq")) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }), ReactiveTransactionService.TRANSACTION_ALLOCATION_SIZE);
+        Set<Long> reactiveIds = new HashSet<>();
+        AtomicInteger hibernateFetches = new AtomicInteger();
+        SequenceFetchHook.beforeFetch = () -> {
+            // Hibernate 의 첫 번째와 두 번째 sequence 조회 사이
+            if (hibernateFetches.incrementAndGet() == 2) {
+                reactiveIds.add(sequence.next().block());
+            }
+        };
+
+        //when
+        Set<Long> jpaIds = new HashSet<>();
+        for (int i = 0; i < 120; i++) {
+            jpaIds.add(transactionRepository.save(transaction(account, i)).getId());
+        }
+        while (reactiveIds.size() < 120) {
+            reactiveIds.add(sequence.next().block());
+        }
+
+        //then
+        assertTrue(hibernateFetches.get() >= 2);
+        assertEquals(120, jpaIds.size());
+        reactiveIds.retainAll(jpaIds);
+        assertTrue(reactiveIds.isEmpty(), "duplicated ids : " + reactiveIds);
+    }
+
+    private static Transaction transaction(Account account, int i) {
+        return Transaction.builder()
+            .transactionType(TransactionType.USE)
+            .transactionResultType(TransactionResultType.S)
+            .account(account)
+            .amount(100L)
+            .balanceSnapshot(10000L - 100L * (i + 1))
+            .transactionId("transaction" + i)
+            .transactedAt(LocalDateTime.now())
+            .build();
+    }
+
+    public static class SequenceFetchHook implements StatementInspector {
+        private static volatile Runnable beforeFetch;
+
+        @Override
+        public String inspect(String sql) {
+            Runnable hook = beforeFetch;
+            if (hook != null && sql.contains("transaction_seq")) {
+                hook.run();
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.zero.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class PooledSequenceTest {
+    @Test
+    @DisplayName("sequence 값 하나로 [v, v + 50) 구간을 나눠 주고, 다 쓰면 다음 값을 받음")
+    void allocatesBlockPerSequenceValue() {
+        //given
+        Iterator<Long> values = Arrays.asList(101L, 201L).iterator();
+        PooledSequence sequence = new PooledSequence(() -> Mono.just(values.next()), 50);
+
+        //when
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 51; i++) {
+            ids.add(sequence.next().block());
+        }
+
+        //then
+        assertEquals(101L, ids.get(0));
+        assertEquals(150L, ids.get(49));
+        assertEquals(201L, ids.get(50));
+    }
+
+    @Test
+    @DisplayName("첫 값(1)도 다른 값과 같이 [1, 50] 구간으로 씀")
+    void usesInitialValue() {
+        //given
+        Iterator<Long> values = Arrays.asList(1L, 51L).iterator();
+        PooledSequence sequence = new PooledSequence(() -> Mono.just(values.next()), 50);
+
+        //when
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 51; i++) {
+            ids.add(sequence.next().block());
+        }
+
+        //then
+        assertEquals(1L, ids.get(0));
+        assertEquals(50L, ids.get(49));
+        assertEquals(51L, ids.get(50));
+    }
+}
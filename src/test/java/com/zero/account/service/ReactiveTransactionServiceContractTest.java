@@ -0,0 +1,228 @@
+package com.zero.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.zero.account.controller.TransactionController;
+import com.zero.account.domain.TransactionDto;
+import com.zero.account.dto.UseBalance;
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.TransactionResultType;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.netty.DisposableServer;
+
+/**
+ * 잔액 사용/취소 규칙 - R2DBC 구현
+ * 추가로 Netty 서버의 HTTP 응답과, JPA 쪽과 같은 DB/계좌 락을 쓰는지 확인한다.
+ */
+class ReactiveTransactionServiceContractTest extends TransactionServiceContract {
+    @Autowired
+    private ReactiveTransactionService reactiveTransactionService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private LockService lockService;
+
+    @Autowired
+    private TransactionController transactionController;
+
+    @Autowired
+    private DisposableServer reactiveTransactionServer;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToServer()
+            .baseUrl("http://localhost:" + reactiveTransactionServer.port())
+            .build();
+    }
+
+    @Override
+    protected TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
+        return reactiveTransactionService.useBalance(userId, accountNumber, amount).block();
+    }
+
+    @Override
+    protected TransactionDto cancelBalance(String transactionId, String accountNumber, Long amount) {
+        return reactiveTransactionService.cancelBalance(transactionId, accountNumber, amount)
+            .block();
+    }
+
+    @Test
+    @DisplayName("JPA 로 사용한 거래를 reactive 로 취소")
+    void cancelTransactionUsedByOtherStack() {
+        //given
+        Long userId = createUser();
+        String accountNumber = createAccount(userId, 10000L);
+        TransactionDto used = transactionService.useBalance(userId, accountNumber, 1000L);
+
+        //when
+        TransactionDto transactionDto =
+            cancelBalance(used.getTransactionId(), accountNumber, 1000L);
+
+        //then
+        assertEquals(10000L, transactionDto.getBalanceSnapshot());
+        assertEquals(10000L, balance(accountNumber));
+    }
+
+    @Test
+    @DisplayName("HTTP 잔액 사용 성공")
+    void useBalanceOverHttp() {
+        //given
+        Long userId = createUser();
+        String accountNumber = createAccount(userId, 10000L);
+
+        //when
+        //then
+        webTestClient.post().uri("/transaction/use")
+            .bodyValue(useRequest(userId, accountNumber, 1000L))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.accountNumber").isEqualTo(accountNumber)
+            .jsonPath("$.transactionResult").isEqualTo(TransactionResultType.S.name())
+            .jsonPath("$.amount").isEqualTo(1000)
+            .jsonPath("$.transactionId").isNotEmpty();
+        assertEquals(9000L, balance(accountNumber));
+    }
+
+    @Test
+    @DisplayName("HTTP 잔액 사용 - 요청 검증 실패는 400")
+    void useBalanceOverHttp_InvalidRequest() {
+        //given
+        //when
+        //then
+        webTestClient.post().uri("/transaction/use")
+            .bodyValue(useRequest(1L, "123", 1L))
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody()
+            .jsonPath("$.errorCode").isEqualTo(ErrorCode.INVALID_REQUEST.name());
+    }
+
+    @Test
+    @DisplayName("HTTP 잔액 사용 - 다른 스택이 계좌 락을 잡고 있으면 대기 후 실패")
+    void useBalanceOverHttp_LockedByOtherStack() {
+        //given
+        Long userId = createUser();
+        String accountNumber = createAccount(userId, 10000L);
+        lockService.lock(accountNumber);
+
+        //when
+        //then
+        try {
+            webTestClient.post().uri("/transaction/use")
+                .bodyValue(useRequest(userId, accountNumber, 1000L))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo(ErrorCode.ACCOUNT_TRANSACTION_LOCK.name());
+        } finally {
+            lockService.unlock(accountNumber);
+        }
+        assertEquals(10000L, balance(accountNumber));
+    }
+
+    @Test
+    @DisplayName("HTTP 잔액 사용 - 같은 Idempotency-Key 의 재시도는 한 번만 사용")
+    void useBalanceOverHttp_IdempotencyKey() {
+        //given
+        Long userId = createUser();
+        String accountNumber = createAccount(userId, 10000L);
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        //when
+        UseBalance.Response first = useBalanceOverHttp(
+            idempotencyKey, useRequest(userId, accountNumber, 1000L));
+        UseBalance.Response retried = useBalanceOverHttp(
+            idempotencyKey, useRequest(userId, accountNumber, 1000L));
+
+        //then
+        assertEquals(first.getTransactionId(), retried.getTransactionId());
+        assertEquals(9000L, balance(accountNumber));
+        assertEquals(1, outboxCount(accountNumber));
+    }
+
+    @Test
+    @DisplayName("HTTP 잔액 사용 - 같은 Idempotency-Key 로 다른 요청은 실패")
+    void useBalanceOverHttp_IdempotencyKeyReused() {
+        //given
+        Long userId = createUser();
+        String accountNumber = createAccount(userId, 10000L);
+        String idempotencyKey = UUID.randomUUID().toString();
+        useBalanceOverHttp(idempotencyKey, useRequest(userId, accountNumber, 1000L));
+
+        //when
+        //then
+        webTestClient.post().uri("/transaction/use")
+            .header("Idempotency-Key", idempotencyKey)
+            .bodyValue(useRequest(userId, accountNumber, 2000L))
+            .exchange()
+            .expectStatus().isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR)
+            .expectBody()
+            .jsonPath("$.errorCode").isEqualTo(ErrorCode.IDEMPOTENCY_KEY_REUSED.name());
+        assertEquals(9000L, balance(accountNumber));
+    }
+
+    @Test
+    @DisplayName("servlet 으로 사용한 Idempotency-Key 를 reactive 로 재시도하면 첫 응답")
+    void useBalanceIdempotencyKeyUsedByOtherStack() {
+        //given
+        Long userId = createUser();
+        String accountNumber = createAccount(userId, 10000L);
+        String idempotencyKey = UUID.randomUUID().toString();
+        UseBalance.Request request = new UseBalance.Request(userId, accountNumber, 1000L);
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+        servletRequest.addHeader("Idempotency-Key", idempotencyKey);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(servletRequest));
+        UseBalance.Response first;
+        try {
+            first = transactionController.useBalance(request);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        //when
+        UseBalance.Response retried = useBalanceOverHttp(
+            idempotencyKey, useRequest(userId, accountNumber, 1000L));
+
+        //then
+        assertEquals(first.getTransactionId(), retried.getTransactionId());
+        assertEquals(9000L, balance(accountNumber));
+    }
+
+    private UseBalance.Response useBalanceOverHttp(
+        String idempotencyKey,
+        Map<String, Object> request
+    ) {
+        return webTestClient.post().uri("/transaction/use")
+            .header("Idempotency-Key", idempotencyKey)
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(UseBalance.Response.class)
+            .returnResult()
+            .getResponseBody();
+    }
+
+    private static Map<String, Object> useRequest(Long userId, String accountNumber, Long amount) {
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("userId", userId);
+        request.put("accountNumber", accountNumber);
+        request.put("amount", amount);
+        return request;
+    }
+}
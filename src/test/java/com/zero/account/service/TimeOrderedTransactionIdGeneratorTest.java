@@ -0,0 +1,72 @@
+package com.zero.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedTransactionIdGeneratorTest {
+    private final TimeOrderedTransactionIdGenerator generator =
+        new TimeOrderedTransactionIdGenerator(0x1234);
+
+    @Test
+    @DisplayName("32 자리 16진수, 노드 ID 포함")
+    void idFormat() {
+        //given
+        //when
+        String id = generator.nextId();
+
+        //then
+        assertEquals(32, id.length());
+        assertTrue(id.matches("[0-9a-f]{32}"));
+        assertEquals("1234", id.substring(12, 16));
+    }
+
+    @Test
+    @DisplayName("나중에 발급한 ID 가 사전순으로 뒤")
+    void timeOrdered() throws Exception {
+        //given
+        String first = generator.nextId();
+        Thread.sleep(2);
+
+        //when
+        String second = generator.nextId();
+
+        //then
+        assertTrue(first.compareTo(second) < 0);
+    }
+
+    @Test
+    @DisplayName("여러 스레드에서 발급해도 중복 없음")
+    void uniqueAcrossThreads() throws Exception {
+        //given
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    ids.add(generator.nextId());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+
+        //then
+        assertEquals(80_000, ids.size());
+    }
+}
@@ -0,0 +1,134 @@
+package com.zero.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.BDDMockito.willThrow;
+
+import com.zero.account.dto.BatchTransaction;
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.TransactionResultType;
+import com.zero.account.type.TransactionType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBatchServiceTest {
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private LockService lockService;
+
+    @Mock
+    private BalanceSlotService balanceSlotService;
+
+    @Mock
+    private FailedTransactionJournal failedTransactionJournal;
+
+    @InjectMocks
+    private TransactionBatchService transactionBatchService;
+
+    private static BatchTransaction.Item use(String accountNumber, long amount) {
+        return new BatchTransaction.Item(TransactionType.USE, 1L, null, accountNumber, amount);
+    }
+
+    private static BatchTransaction.ItemResult success(int index, BatchTransaction.Item item) {
+        return BatchTransaction.ItemResult.builder()
+            .index(index)
+            .accountNumber(item.getAccountNumber())
+            .transactionResult(TransactionResultType.S)
+            .build();
+    }
+
+    @Test
+    @DisplayName("계좌별로 락을 한 번만 잡고 요청 순서대로 결과 반환")
+    void successProcess() {
+        //given
+        List<BatchTransaction.Item> items = Arrays.asList(
+            use("1000000000", 100L),
+            use("2000000000", 200L),
+            use("1000000000", 300L));
+        given(transactionService.applyBatch(anyString(), anyMap()))
+            .willAnswer(invocation -> {
+                Map<Integer, BatchTransaction.Item> group = invocation.getArgument(1);
+                return group.entrySet().stream()
+                    .map(entry -> success(entry.getKey(), entry.getValue()))
+                    .collect(Collectors.toList());
+            });
+
+        //when
+        List<BatchTransaction.ItemResult> results = transactionBatchService.process(items);
+
+        //then
+        verify(lockService, times(1)).lock("1000000000");
+        verify(lockService, times(1)).unlock("1000000000");
+        verify(lockService, times(1)).lock("2000000000");
+        verify(transactionService, times(2)).applyBatch(anyString(), anyMap());
+        assertEquals(Arrays.asList(0, 1, 2), results.stream()
+            .map(BatchTransaction.ItemResult::getIndex).collect(Collectors.toList()));
+        assertEquals("2000000000", results.get(1).getAccountNumber());
+    }
+
+    @Test
+    @DisplayName("락 획득 실패한 계좌의 항목만 실패")
+    void process_lockFailed() {
+        //given
+        List<BatchTransaction.Item> items = Arrays.asList(
+            use("1000000000", 100L),
+            use("2000000000", 200L));
+        willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK))
+            .given(lockService).lock("1000000000");
+        given(transactionService.applyBatch(eq("2000000000"), anyMap()))
+            .willReturn(Collections.singletonList(success(1, items.get(1))));
+
+        //when
+        List<BatchTransaction.ItemResult> results = transactionBatchService.process(items);
+
+        //then
+        verify(transactionService, never()).applyBatch(eq("1000000000"), anyMap());
+        verify(lockService, never()).unlock("1000000000");
+        verify(failedTransactionJournal).record(TransactionType.USE, "1000000000", 100L);
+        verify(failedTransactionJournal, never())
+            .record(TransactionType.USE, "2000000000", 200L);
+        assertEquals(TransactionResultType.F, results.get(0).getTransactionResult());
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, results.get(0).getErrorCode());
+        assertEquals(TransactionResultType.S, results.get(1).getTransactionResult());
+    }
+
+    @Test
+    @DisplayName("예상 못한 오류로 계좌 처리가 실패하면 항목마다 실패 거래 기록")
+    void process_unexpectedError() {
+        //given
+        List<BatchTransaction.Item> items = Arrays.asList(
+            use("1000000000", 100L),
+            use("1000000000", 300L));
+        given(transactionService.applyBatch(eq("1000000000"), anyMap()))
+            .willThrow(new IllegalStateException("db down"));
+
+        //when
+        List<BatchTransaction.ItemResult> results = transactionBatchService.process(items);
+
+        //then
+        verify(lockService).unlock("1000000000");
+        verify(failedTransactionJournal).record(TransactionType.USE, "1000000000", 100L);
+        verify(failedTransactionJournal).record(TransactionType.USE, "1000000000", 300L);
+        assertEquals(ErrorCode.INTERNAL_SERVER_ERROR, results.get(0).getErrorCode());
+        assertEquals(ErrorCode.INTERNAL_SERVER_ERROR, results.get(1).getErrorCode());
+    }
+}
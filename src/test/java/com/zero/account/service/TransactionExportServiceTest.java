@@ -0,0 +1,109 @@
+package com.zero.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zero.account.dto.TransactionExport;
+import com.zero.account.exception.AccountException;
+import com.zero.account.repository.TransactionRepository;
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.TransactionResultType;
+import com.zero.account.type.TransactionType;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionExportServiceTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final LocalDateTime TO = FROM.plusDays(1);
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private TransactionExportService transactionExportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        transactionExportService = new TransactionExportService(
+            transactionRepository, objectMapper, 1, 16);
+    }
+
+    @Test
+    @DisplayName("NDJSON - 한 줄에 거래 하나, 다 쓰면 Stream 을 닫음")
+    void exportNdjson() throws Exception {
+        //given
+        AtomicBoolean closed = new AtomicBoolean();
+        given(transactionRepository.streamForExport(FROM, TO))
+            .willReturn(Stream.of(row("t1", 1000L), row("t2", null))
+                .onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        long count = transactionExportService.export(
+            FROM, TO, TransactionExport.Format.NDJSON, out);
+
+        //then
+        assertEquals(2, count);
+        assertTrue(closed.get());
+        String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"transactionId\":\"t1\",\"accountNumber\":\"1000000012\","
+            + "\"transactionType\":\"USE\",\"transactionResult\":\"S\",\"amount\":1000,"
+            + "\"balanceSnapshot\":9000,\"transactedAt\":\"2023-01-01T09:30:00\"}", lines[0]);
+        assertTrue(lines[1].contains("\"amount\":null"));
+    }
+
+    @Test
+    @DisplayName("CSV - 헤더 다음 거래 한 건씩, null 은 빈 값")
+    void exportCsv() throws Exception {
+        //given
+        given(transactionRepository.streamForExport(FROM, TO))
+            .willReturn(Stream.of(row("t1", 1000L), row("t2", null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        long count = transactionExportService.export(
+            FROM, TO, TransactionExport.Format.CSV, out);
+
+        //then
+        assertEquals(2, count);
+        assertEquals(TransactionExportService.CSV_HEADER + "\n"
+                + "t1,1000000012,USE,S,1000,9000,2023-01-01T09:30\n"
+                + "t2,1000000012,USE,S,,9000,2023-01-01T09:30\n",
+            out.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @Test
+    @DisplayName("기간이 잘못됨 - 조회하지 않고 실패")
+    void exportInvalidRange() {
+        //given
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> transactionExportService.export(
+                TO, FROM, TransactionExport.Format.NDJSON, new ByteArrayOutputStream()));
+
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+        verify(transactionRepository, never()).streamForExport(TO, FROM);
+    }
+
+    private TransactionExport.Row row(String transactionId, Long amount) {
+        return new TransactionExport.Row(transactionId, "1000000012", TransactionType.USE,
+            TransactionResultType.S, amount, 9000L, FROM.plusHours(9).plusMinutes(30));
+    }
+}
@@ -0,0 +1,126 @@
+package com.zero.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.zero.account.domain.TransactionOutbox;
+import com.zero.account.dto.TransactionEvent;
+import com.zero.account.repository.TransactionOutboxRepository;
+import com.zero.account.type.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.domain.PageRequest;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionOutboxRelayTest {
+    @Mock
+    private TransactionOutboxRepository transactionOutboxRepository;
+
+    @Mock
+    private TransactionEventPublisher transactionEventPublisher;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TransactionOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new TransactionOutboxRelay(transactionOutboxRepository,
+            transactionEventPublisher, redissonClient, meterRegistry, 10, 20, 1000);
+    }
+
+    private TransactionOutbox outbox(long id, String transactionId, LocalDateTime createdAt) {
+        return TransactionOutbox.builder()
+            .id(id)
+            .accountId(1L)
+            .accountNumber("1000000012")
+            .transactionId(transactionId)
+            .transactionType(TransactionType.USE)
+            .amount(1000L)
+            .balanceSnapshot(9000L)
+            .transactedAt(createdAt)
+            .createdAt(createdAt)
+            .build();
+    }
+
+    @Test
+    @DisplayName("오래된 순으로 발행하고 발행한 이벤트만 삭제")
+    void successRelay() {
+        //given
+        LocalDateTime createdAt = LocalDateTime.now().minusSeconds(3);
+        given(transactionOutboxRepository.findOldest(PageRequest.of(0, 10)))
+            .willReturn(Arrays.asList(
+                outbox(3L, "first", createdAt),
+                outbox(7L, "second", createdAt)));
+        ArgumentCaptor<List<TransactionEvent>> captor = ArgumentCaptor.forClass(List.class);
+
+        //when
+        int relayed = relay.relayOnce();
+
+        //then
+        verify(transactionEventPublisher).publish(captor.capture());
+        verify(transactionOutboxRepository).deleteAllByIdInBatch(Arrays.asList(3L, 7L));
+        assertEquals(2, relayed);
+        assertEquals(Arrays.asList("first", "second"), captor.getValue().stream()
+            .map(TransactionEvent::getTransactionId)
+            .collect(Collectors.toList()));
+        assertEquals(2.0, meterRegistry.get("account.outbox.published").counter().count());
+        assertTrue(meterRegistry.get("account.outbox.lag").timeGauge()
+            .value(TimeUnit.SECONDS) >= 3);
+    }
+
+    @Test
+    @DisplayName("발행에 실패하면 삭제하지 않음 (다음에 같은 batch 를 다시 발행)")
+    void relay_PublishFailed() {
+        //given
+        given(transactionOutboxRepository.findOldest(any()))
+            .willReturn(Collections.singletonList(outbox(3L, "first", LocalDateTime.now())));
+        willThrow(new IllegalStateException("broker down"))
+            .given(transactionEventPublisher).publish(anyList());
+
+        //when
+        assertThrows(IllegalStateException.class, () -> relay.relayOnce());
+
+        //then
+        verify(transactionOutboxRepository, never()).deleteAllByIdInBatch(any());
+        assertEquals(0.0, meterRegistry.get("account.outbox.published").counter().count());
+    }
+
+    @Test
+    @DisplayName("발행할 이벤트가 없으면 지연 0")
+    void relay_Empty() {
+        //given
+        given(transactionOutboxRepository.findOldest(any()))
+            .willReturn(Collections.emptyList());
+
+        //when
+        int relayed = relay.relayOnce();
+
+        //then
+        assertEquals(0, relayed);
+        verify(transactionEventPublisher, never()).publish(anyList());
+        assertEquals(0.0, meterRegistry.get("account.outbox.lag").timeGauge()
+            .value(TimeUnit.MILLISECONDS));
+    }
+}
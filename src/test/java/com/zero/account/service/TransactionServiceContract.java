@@ -0,0 +1,397 @@
+package com.zero.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.zero.account.domain.AccountUser;
+import com.zero.account.domain.TransactionDto;
+import com.zero.account.exception.AccountException;
+import com.zero.account.repository.AccountUserRepository;
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.TransactionResultType;
+import com.zero.account.type.TransactionType;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 잔액 사용/취소 규칙 : JPA(TransactionService), R2DBC(ReactiveTransactionService) 가 같은 테스트를 통과해야 한다.
+ * 두 구현 테스트가 같은 컨텍스트(같은 DB)를 쓰므로 테스트마다 새 사용자/계좌를 만든다.
+ */
+@SpringBootTest(properties = {
+    "account.reactive.enabled=true",
+    "account.reactive.port=0",
+    "account.lock.wait-time-ms=1000",
+    // outbox 에 남은 이벤트를 확인하므로 relay 는 끈다.
+    "account.outbox.relay.enabled=false",
+    // 기본 설정 컨텍스트(내장 Redis 6379)와 함께 떠 있을 수 있으므로 다른 포트
+    "spring.redis.port=16379"
+})
+abstract class TransactionServiceContract {
+    @Autowired
+    protected AccountService accountService;
+
+    @Autowired
+    protected BalanceSlotService balanceSlotService;
+
+    @Autowired
+    protected AccountLedgerService accountLedgerService;
+
+    @Autowired
+    protected AccountUserRepository accountUserRepository;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    protected abstract TransactionDto useBalance(Long userId, String accountNumber, Long amount);
+
+    protected abstract TransactionDto cancelBalance(
+        String transactionId, String accountNumber, Long amount);
+
+    @Test
+    @DisplayName("잔액 사용 성공")
+    void successUseBalance() {
+        //given
+        Long userId = createUser();
+        String accountNumber = createAccount(userId, 10000L);
+
+        //when
+        TransactionDto transactionDto = useBalance(userId, accountNumber, 1000L);
+
+        //then
+        assertEquals(accountNumber, transactionDto.getAccountNumber());
+        assertEquals(TransactionType.USE, transactionDto.getTransactionType());
+        assertEquals(TransactionResultType.S, transactionDto.getTransactionResultType());
+        assertEquals(1000L, transactionDto.getAmount());
+        assertEquals(9000L, transactionDto.getBalanceSnapshot());
+        assertEquals(9000L, balance(accountNumber));
+        assertEquals(9000L, savedBalanceSnapshot(transactionDto.getTransactionId()));
+        assertEquals(9000L, outboxBalanceSnapshot(transactionDto.getTransactionId()));
+    }
+
+    @Test
+    @DisplayName("잔액 사용 - 사용자 없음")
+    void useBalance_UserNotFound() {
+        //given
+        String accountNumber = createAccount(createUser(), 10000L);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> useBalance(Long.MAX_VALUE, accountNumber, 1000L));
+
+        //then
+        assertEquals(ErrorCode.USER_NOT_FOUND, exception.getErrorCode());
+        assertEquals(10000L, balance(accountNumber));
+    }
+
+    @Test
+    @DisplayName("잔액 사용 - 사용자, 계좌 모두 없으면 사용자부터 확인")
+    void useBalance_UserCheckedBeforeAccount() {
+        //given
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> useBalance(Long.MAX_VALUE, "0000000000", 1000L));
+
+        //then
+        assertEquals(ErrorCode.USER_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 - 계좌 없음")
+    void useBalance_AccountNotFound() {
+        //given
+        Long userId = createUser();
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> useBalance(userId, "0000000000", 1000L));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 - 계좌 소유주 다름")
+    void useBalance_UserAccountUnMatch() {
+        //given
+        String accountNumber = createAccount(createUser(), 10000L);
+        Long otherUserId = createUser();
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> useBalance(otherUserId, accountNumber, 1000L));
+
+        //then
+        assertEquals(ErrorCode.USER_ACCOUNT_UN_MATCH, exception.getErrorCode());
+        assertEquals(10000L, balance(accountNumber));
+    }
+
+    @Test
+    @DisplayName("잔액 사용 - 해지된 계좌")
+    void useBalance_AccountAlreadyUnregistered() {
+        //given
+        Long userId = createUser();
+        String accountNumber = createAccount(userId, 0L);
+        accountService.deleteAccount(userId, accountNumber);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> useBalance(userId, accountNumber, 1000L));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 - 잔액 부족")
+    void useBalance_AmountExceedBalance() {
+        //given
+        Long userId = createUser();
+        String accountNumber = createAccount(userId, 100L);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> useBalance(userId, accountNumber, 1000L));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        assertEquals(100L, balance(accountNumber));
+        assertEquals(0, outboxCount(accountNumber));
+    }
+
+    @Test
+    @DisplayName("slot 계좌 잔액 사용 - slot 하나로 부족하면 여러 slot 에서 차감, 합계도 부족하면 실패")
+    void useBalance_Slotted() {
+        //given
+        Long userId = createUser();
+        String accountNumber = createAccount(userId, 10000L);
+        balanceSlotService.enableSlots(accountNumber, 4);
+
+        //when
+        TransactionDto single = useBalance(userId, accountNumber, 1000L);
+        TransactionDto across = useBalance(userId, accountNumber, 3000L);
+        AccountException exception = assertThrows(AccountException.class,
+            () -> useBalance(userId, accountNumber, 7000L));
+
+        //then
+        assertEquals(9000L, single.getBalanceSnapshot());
+        assertEquals(6000L, across.getBalanceSnapshot());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        assertEquals(6000L, slotBalance(accountNumber));
+    }
+
+    @Test
+    @DisplayName("원장 계좌 잔액 사용 - 계좌 잔액은 그대로, 원장 합계로 확인")
+    void useBalance_Ledger() {
+        //given
+        Long userId = createUser();
+        String accountNumber = createAccount(userId, 10000L);
+        accountLedgerService.enableLedger(accountNumber);
+
+        //when
+        TransactionDto first = useBalance(userId, accountNumber, 1000L);
+        TransactionDto second = useBalance(userId, accountNumber, 3000L);
+        AccountException exception = assertThrows(AccountException.class,
+            () -> useBalance(userId, accountNumber, 7000L));
+
+        //then
+        assertEquals(9000L, first.getBalanceSnapshot());
+        assertEquals(6000L, second.getBalanceSnapshot());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        assertEquals(10000L, balance(accountNumber));
+        assertEquals(6000L, accountService.getAccountsbyUserId(userId).get(0).getBalance());
+        assertEquals(2L, lastLedgerEntryNo(accountNumber));
+    }
+
+    @Test
+    @DisplayName("잔액 사용 취소 성공")
+    void successCancelBalance() {
+        //given
+        Long userId = createUser();
+        String accountNumber = createAccount(userId, 10000L);
+        TransactionDto used = useBalance(userId, accountNumber, 1000L);
+
+        //when
+        TransactionDto transactionDto =
+            cancelBalance(used.getTransactionId(), accountNumber, 1000L);
+
+        //then
+        assertEquals(TransactionType.CANCEL, transactionDto.getTransactionType());
+        assertEquals(TransactionResultType.S, transactionDto.getTransactionResultType());
+        assertEquals(1000L, transactionDto.getAmount());
+        assertEquals(10000L, transactionDto.getBalanceSnapshot());
+        assertEquals(10000L, balance(accountNumber));
+        assertNotEquals(used.getTransactionId(), transactionDto.getTransactionId());
+        assertEquals(10000L, outboxBalanceSnapshot(transactionDto.getTransactionId()));
+    }
+
+    @Test
+    @DisplayName("잔액 사용 취소 - 거래 없음")
+    void cancelBalance_TransactionNotFound() {
+        //given
+        String accountNumber = createAccount(createUser(), 10000L);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> cancelBalance("no-such-transaction", accountNumber, 1000L));
+
+        //then
+        assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 취소 - 계좌 없음")
+    void cancelBalance_AccountNotFound() {
+        //given
+        Long userId = createUser();
+        String accountNumber = createAccount(userId, 10000L);
+        TransactionDto used = useBalance(userId, accountNumber, 1000L);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> cancelBalance(used.getTransactionId(), "0000000000", 1000L));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 취소 - 다른 계좌의 거래")
+    void cancelBalance_TransactionAccountUnMatch() {
+        //given
+        Long userId = createUser();
+        String accountNumber = createAccount(userId, 10000L);
+        String otherAccountNumber = createAccount(userId, 10000L);
+        TransactionDto used = useBalance(userId, accountNumber, 1000L);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> cancelBalance(used.getTransactionId(), otherAccountNumber, 1000L));
+
+        //then
+        assertEquals(ErrorCode.TRANSACTION_ACCOUNT_UN_MATCH, exception.getErrorCode());
+        assertEquals(10000L, balance(otherAccountNumber));
+    }
+
+    @Test
+    @DisplayName("잔액 사용 취소 - 부분 취소 불가")
+    void cancelBalance_CancelMustFully() {
+        //given
+        Long userId = createUser();
+        String accountNumber = createAccount(userId, 10000L);
+        TransactionDto used = useBalance(userId, accountNumber, 1000L);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> cancelBalance(used.getTransactionId(), accountNumber, 500L));
+
+        //then
+        assertEquals(ErrorCode.CANCEL_MUST_FULLY, exception.getErrorCode());
+        assertEquals(9000L, balance(accountNumber));
+    }
+
+    @Test
+    @DisplayName("잔액 사용 취소 - 1년이 지난 거래")
+    void cancelBalance_TooOldOrder() {
+        //given
+        Long userId = createUser();
+        String accountNumber = createAccount(userId, 10000L);
+        TransactionDto used = useBalance(userId, accountNumber, 1000L);
+        jdbcTemplate.update("update transaction set transacted_at = ? where transaction_id = ?",
+            LocalDateTime.now().minusYears(1).minusDays(1), used.getTransactionId());
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> cancelBalance(used.getTransactionId(), accountNumber, 1000L));
+
+        //then
+        assertEquals(ErrorCode.TOO_OLD_ORDER_TO_CANCEL, exception.getErrorCode());
+        assertEquals(9000L, balance(accountNumber));
+    }
+
+    @Test
+    @DisplayName("slot 계좌 잔액 사용 취소 - slot 하나에 가산")
+    void cancelBalance_Slotted() {
+        //given
+        Long userId = createUser();
+        String accountNumber = createAccount(userId, 10000L);
+        balanceSlotService.enableSlots(accountNumber, 4);
+        TransactionDto used = useBalance(userId, accountNumber, 1000L);
+
+        //when
+        TransactionDto transactionDto =
+            cancelBalance(used.getTransactionId(), accountNumber, 1000L);
+
+        //then
+        assertEquals(10000L, transactionDto.getBalanceSnapshot());
+        assertEquals(10000L, slotBalance(accountNumber));
+    }
+
+    @Test
+    @DisplayName("원장 계좌 잔액 사용 취소 - 원장에 가산")
+    void cancelBalance_Ledger() {
+        //given
+        Long userId = createUser();
+        String accountNumber = createAccount(userId, 10000L);
+        accountLedgerService.enableLedger(accountNumber);
+        TransactionDto used = useBalance(userId, accountNumber, 1000L);
+
+        //when
+        TransactionDto transactionDto =
+            cancelBalance(used.getTransactionId(), accountNumber, 1000L);
+
+        //then
+        assertEquals(10000L, transactionDto.getBalanceSnapshot());
+        assertEquals(10000L,
+            accountLedgerService.getBalanceAt(accountNumber, LocalDateTime.now()));
+        assertEquals(2L, lastLedgerEntryNo(accountNumber));
+    }
+
+    protected Long createUser() {
+        return accountUserRepository.save(AccountUser.builder().name("contract").build())
+            .getId();
+    }
+
+    protected String createAccount(Long userId, Long initialBalance) {
+        return accountService.creatAccount(userId, initialBalance).getAccountNumber();
+    }
+
+    protected long balance(String accountNumber) {
+        return jdbcTemplate.queryForObject(
+            "select balance from account where account_number = ?", Long.class, accountNumber);
+    }
+
+    private long slotBalance(String accountNumber) {
+        return jdbcTemplate.queryForObject(
+            "select sum(s.balance) from account_balance_slot s"
+                + " join account a on a.id = s.account_id where a.account_number = ?",
+            Long.class, accountNumber);
+    }
+
+    private long lastLedgerEntryNo(String accountNumber) {
+        return jdbcTemplate.queryForObject(
+            "select max(e.entry_no) from account_ledger_entry e"
+                + " join account a on a.id = e.account_id where a.account_number = ?",
+            Long.class, accountNumber);
+    }
+
+    private long outboxBalanceSnapshot(String transactionId) {
+        return jdbcTemplate.queryForObject(
+            "select balance_snapshot from transaction_outbox where transaction_id = ?",
+            Long.class, transactionId);
+    }
+
+    protected int outboxCount(String accountNumber) {
+        return jdbcTemplate.queryForObject(
+            "select count(*) from transaction_outbox where account_number = ?",
+            Integer.class, accountNumber);
+    }
+
+    private long savedBalanceSnapshot(String transactionId) {
+        return jdbcTemplate.queryForObject(
+            "select balance_snapshot from transaction where transaction_id = ?",
+            Long.class, transactionId);
+    }
+}
@@ -0,0 +1,22 @@
+package com.zero.account.service;
+
+import com.zero.account.domain.TransactionDto;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * 잔액 사용/취소 규칙 - JPA 구현
+ */
+class TransactionServiceContractTest extends TransactionServiceContract {
+    @Autowired
+    private TransactionService transactionService;
+
+    @Override
+    protected TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
+        return transactionService.useBalance(userId, accountNumber, amount);
+    }
+
+    @Override
+    protected TransactionDto cancelBalance(String transactionId, String accountNumber, Long amount) {
+        return transactionService.cancelBalance(transactionId, accountNumber, amount);
+    }
+}
@@ -4,7 +4,10 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -12,15 +15,26 @@ import com.zero.account.domain.Account;
 import com.zero.account.domain.AccountUser;
 import com.zero.account.domain.Transaction;
 import com.zero.account.domain.TransactionDto;
+import com.zero.account.domain.TransactionOutbox;
+import com.zero.account.dto.BatchTransaction;
+import com.zero.account.dto.FailedTransactionRecord;
+import com.zero.account.dto.TransactionHistory;
 import com.zero.account.exception.AccountException;
 import com.zero.account.repository.AccountRepository;
 import com.zero.account.repository.AccountUserRepository;
+import com.zero.account.repository.TransactionOutboxRepository;
 import com.zero.account.repository.TransactionRepository;
 import com.zero.account.type.AccountStatus;
+import com.zero.account.type.BalanceMode;
 import com.zero.account.type.ErrorCode;
 import com.zero.account.type.TransactionResultType;
 import com.zero.account.type.TransactionType;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -29,17 +43,29 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 @ExtendWith(MockitoExtension.class)
 class TransactionServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
     @Mock
+    private TransactionOutboxRepository transactionOutboxRepository;
+    @Mock
     private AccountRepository accountRepository;
 
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private BalanceSlotService balanceSlotService;
+
+    @Mock
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @Mock
+    private AccountListCacheEvictor accountListCacheEvictor;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -50,15 +76,16 @@ class TransactionServiceTest {
                 .id(12L)
                 .name("Pobi").build();
 
+            // 차감 UPDATE 이후의 계좌 (10000 - 1000)
             Account account =  Account.builder()
                 .accountUser(user)
                 .accountStatus(AccountStatus.IN_USE)
-                .balance(10000L)
+                .balance(9000L)
                 .accountNumber("1000000012").build();
 
             //given : Mock 데이터 작성 목적
-            given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+            given(accountRepository.debitBalance(anyString(), anyLong(), anyLong(), any()))
+                .willReturn(1);
 
             given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
@@ -80,6 +107,14 @@ class TransactionServiceTest {
 
             //then
             verify(transactionRepository, times(1)).save(captor.capture());
+            verify(accountUserRepository, never()).findById(anyLong());
+            verify(accountListCacheEvictor, times(1)).evict(12L);
+            ArgumentCaptor<TransactionOutbox> outboxCaptor =
+                ArgumentCaptor.forClass(TransactionOutbox.class);
+            verify(transactionOutboxRepository, times(1)).save(outboxCaptor.capture());
+            assertEquals("transactionId", outboxCaptor.getValue().getTransactionId());
+            assertEquals("1000000012", outboxCaptor.getValue().getAccountNumber());
+            assertEquals(9000L, outboxCaptor.getValue().getBalanceSnapshot());
             assertEquals(1000L, captor.getValue().getAmount());
             assertEquals(9000L, captor.getValue().getBalanceSnapshot());
             assertEquals(TransactionResultType.S, transactionDto.getTransactionResultType());
@@ -201,41 +236,68 @@ class TransactionServiceTest {
 
 
     @Test
-    @DisplayName("실패 트랜잭션 저장 성공")
-    void saveFailedUseTransaction() {
+    @DisplayName("검증은 통과했지만 차감 시점에 잔액이 부족한 경우")
+    void failUseBalance_balanceChangedConcurrently() {
         //given
         AccountUser user = AccountUser.builder()
             .id(12L)
             .name("Pobi").build();
 
-        Account account =  Account.builder()
+        given(accountUserRepository.findById(anyLong()))
+            .willReturn(Optional.of(user));
+
+        given(accountRepository.findByAccountNumber(anyString()))
+            .willReturn(Optional.of(Account.builder()
+                .accountUser(user)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000012").build()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> transactionService.useBalance(12L, "1000000012", 1000L));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        verify(transactionRepository, times(0)).save(any());
+    }
+
+    @Test
+    @DisplayName("slot 계좌 결제는 slot 에서 차감")
+    void successUseSlottedBalance() {
+        //given
+        AccountUser user = AccountUser.builder()
+            .id(12L)
+            .name("Pobi").build();
+
+        Account account = Account.builder()
             .accountUser(user)
             .accountStatus(AccountStatus.IN_USE)
-            .balance(10000L)
+            .balanceMode(BalanceMode.SLOTTED)
+            .balanceSlotCount(4)
+            .balance(0L)
             .accountNumber("1000000012").build();
 
+        given(balanceSlotService.isSlotted("1000000012"))
+            .willReturn(true);
+        given(accountUserRepository.findById(anyLong()))
+            .willReturn(Optional.of(user));
         given(accountRepository.findByAccountNumber(anyString()))
             .willReturn(Optional.of(account));
-
+        given(balanceSlotService.debit(account, 1000L))
+            .willReturn(99000L);
         given(transactionRepository.save(any()))
-            .willReturn(Transaction.builder()
-                .account(account)
-                .transactionResultType(TransactionResultType.S)
-                .transactionType(TransactionType.USE)
-                .transactionId("transactionId")
-                .transactedAt(LocalDateTime.now())
-                .amount(1000L)
-                .balanceSnapshot(9000L)
-                .build());
-        ArgumentCaptor<Transaction> captor =  ArgumentCaptor.forClass(Transaction.class);
+            .willAnswer(invocation -> invocation.getArgument(0));
+
         //when
-        transactionService.saveFailedUseTransaction("1000000012", 1000L);
+        TransactionDto transactionDto = transactionService.useBalance(
+            12L, "1000000012", 1000L);
 
         //then
-        verify(transactionRepository, times(1)).save(captor.capture());
-        assertEquals(1000L, captor.getValue().getAmount());
-        assertEquals(10000L, captor.getValue().getBalanceSnapshot());
-        assertEquals(TransactionResultType.F, captor.getValue().getTransactionResultType());
+        assertEquals(99000L, transactionDto.getBalanceSnapshot());
+        assertEquals(TransactionResultType.S, transactionDto.getTransactionResultType());
+        verify(accountRepository, never())
+            .debitBalance(anyString(), anyLong(), anyLong(), any());
     }
 
     @Test
@@ -335,4 +397,131 @@ class TransactionServiceTest {
         assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, exception.getErrorCode());
     }
 
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("일괄 처리 - 실패 항목이 있어도 나머지는 처리하고 한 번에 저장")
+    void successApplyBatch() {
+        //given
+        AccountUser user = AccountUser.builder()
+            .id(12L)
+            .name("Pobi").build();
+        Account account = Account.builder()
+            .id(1L)
+            .accountUser(user)
+            .accountStatus(AccountStatus.IN_USE)
+            .balance(10000L)
+            .accountNumber("1000000012").build();
+        given(accountRepository.findByAccountNumber(anyString()))
+            .willReturn(Optional.of(account));
+        given(accountUserRepository.findAllById(any()))
+            .willReturn(Collections.singletonList(user));
+        given(transactionRepository.findByTransactionIdIn(any()))
+            .willReturn(Collections.emptyList());
+        Map<Integer, BatchTransaction.Item> items = new LinkedHashMap<>();
+        items.put(0, new BatchTransaction.Item(
+            TransactionType.USE, 12L, null, "1000000012", 3000L));
+        items.put(2, new BatchTransaction.Item(
+            TransactionType.USE, 12L, null, "1000000012", 8000L));
+        items.put(5, new BatchTransaction.Item(
+            TransactionType.USE, 12L, null, "1000000012", 2000L));
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+
+        //when
+        List<BatchTransaction.ItemResult> results =
+            transactionService.applyBatch("1000000012", items);
+
+        //then
+        verify(transactionRepository, times(1)).saveAll(captor.capture());
+        verify(transactionRepository, never()).save(any());
+        assertEquals(3, captor.getValue().size());
+        assertEquals(5000L, account.getBalance());
+        assertEquals(0, results.get(0).getIndex());
+        assertEquals(TransactionResultType.S, results.get(0).getTransactionResult());
+        assertEquals(2, results.get(1).getIndex());
+        assertEquals(TransactionResultType.F, results.get(1).getTransactionResult());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, results.get(1).getErrorCode());
+        assertEquals(5, results.get(2).getIndex());
+        assertEquals(TransactionResultType.S, results.get(2).getTransactionResult());
+        assertEquals(5000L, captor.getValue().get(2).getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("실패 거래 일괄 저장 - 없는 계좌의 기록은 제외")
+    void saveFailedTransactions() {
+        //given
+        Account account = Account.builder()
+            .id(1L)
+            .accountStatus(AccountStatus.IN_USE)
+            .balance(10000L)
+            .accountNumber("1000000012").build();
+        given(accountRepository.findByAccountNumberIn(any()))
+            .willReturn(Collections.singletonList(account));
+        LocalDateTime failedAt = LocalDateTime.now().minusSeconds(1);
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+
+        //when
+        int saved = transactionService.saveFailedTransactions(Arrays.asList(
+            new FailedTransactionRecord(TransactionType.USE, "1000000012", 200L, failedAt),
+            new FailedTransactionRecord(TransactionType.CANCEL, "9999999999", 300L, failedAt),
+            new FailedTransactionRecord(TransactionType.CANCEL, "1000000012", 400L, failedAt)));
+
+        //then
+        verify(transactionRepository, times(1)).saveAll(captor.capture());
+        assertEquals(2, saved);
+        assertEquals(2, captor.getValue().size());
+        Transaction cancel = captor.getValue().get(1);
+        assertEquals(TransactionType.CANCEL, cancel.getTransactionType());
+        assertEquals(TransactionResultType.F, cancel.getTransactionResultType());
+        assertEquals(400L, cancel.getAmount());
+        assertEquals(10000L, cancel.getBalanceSnapshot());
+        assertEquals(failedAt, cancel.getTransactedAt());
+    }
+
+    @Test
+    @DisplayName("거래 내역 - size + 1 건이면 다음 cursor 를 넘김")
+    void getTransactionHistory() {
+        //given
+        Account account = Account.builder()
+            .id(7L)
+            .accountNumber("1000000012").build();
+        given(accountRepository.findByAccountNumber(anyString()))
+            .willReturn(Optional.of(account));
+        LocalDateTime transactedAt = LocalDateTime.of(2023, 5, 1, 12, 0, 0);
+        given(transactionRepository.findHistory(anyLong(), any(), anyLong(), any(), any(), any()))
+            .willReturn(Arrays.asList(
+                new TransactionHistory.Item(30L, "t3", TransactionType.USE,
+                    TransactionResultType.S, 100L, 900L, transactedAt),
+                new TransactionHistory.Item(20L, "t2", TransactionType.USE,
+                    TransactionResultType.S, 100L, 1000L, transactedAt),
+                new TransactionHistory.Item(10L, "t1", TransactionType.USE,
+                    TransactionResultType.S, 100L, 1100L, transactedAt.minusMinutes(1))));
+        ArgumentCaptor<Pageable> pageCaptor = ArgumentCaptor.forClass(Pageable.class);
+
+        //when
+        TransactionHistory.Response response = transactionService.getTransactionHistory(
+            "1000000012", TransactionType.USE, null, null, 2);
+
+        //then
+        verify(transactionRepository, times(1)).findHistory(eq(7L),
+            eq(TransactionHistory.Cursor.FIRST.getTransactedAt()), eq(Long.MAX_VALUE),
+            eq(TransactionType.USE), isNull(), pageCaptor.capture());
+        assertEquals(3, pageCaptor.getValue().getPageSize());
+        assertEquals(2, response.getTransactions().size());
+        TransactionHistory.Cursor next = TransactionHistory.Cursor.decode(response.getNextCursor());
+        assertEquals(transactedAt, next.getTransactedAt());
+        assertEquals(20L, next.getId());
+    }
+
+    @Test
+    @DisplayName("거래 내역 - 잘못된 cursor")
+    void getTransactionHistory_invalidCursor() {
+        //given
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> transactionService.getTransactionHistory(
+                "1000000012", null, null, "not-a-cursor", 20));
+
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+    }
+}
@@ -0,0 +1,43 @@
+package com.zero.account.support;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * 테스트에서 Hibernate 가 실행한 SQL 수와 읽어 들인 엔티티 수를 확인 (N+1, 과다 조회 방지)
+ * Hibernate 통계가 켜져 있어야 한다 : @DataJpaTest(properties = QueryCounter.ENABLED)
+ */
+public class QueryCounter {
+    public static final String ENABLED = "spring.jpa.properties.hibernate.generate_statistics=true";
+
+    private final Statistics statistics;
+
+    public QueryCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertTrue(statistics.isStatisticsEnabled(), "Hibernate statistics are disabled");
+    }
+
+    public void clear() {
+        statistics.clear();
+    }
+
+    /**
+     * 실행한 SQL 수 (lazy 로딩으로 나간 조회 포함)
+     */
+    public void assertStatements(long expected) {
+        assertEquals(expected, statistics.getPrepareStatementCount(),
+            "statements, queries : " + Arrays.toString(statistics.getQueries()));
+    }
+
+    /**
+     * 영속성 컨텍스트에 읽어 들인 엔티티 수 (DTO 조회는 0)
+     */
+    public void assertEntityLoads(long expected) {
+        assertEquals(expected, statistics.getEntityLoadCount(),
+            "entity loads, queries : " + Arrays.toString(statistics.getQueries()));
+    }
+}